@@ -0,0 +1,51 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Node-local {@link ConcurrentMapCache} that stops admitting new keys once it holds {@code maxEntries};
+ * existing keys are still replaced. Meant for caches cleared on every write, so no eviction order is kept.
+ */
+public class BoundedConcurrentMapCache extends ConcurrentMapCache {
+
+    private final int maxEntries;
+
+    public BoundedConcurrentMapCache(String name, int maxEntries) {
+        super(name, new ConcurrentHashMap<>(), false);
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (admits(key)) {
+            super.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (admits(key)) {
+            return super.putIfAbsent(key, value);
+        }
+        return null;
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (admits(key)) {
+            return super.get(key, valueLoader);
+        }
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private boolean admits(Object key) {
+        return getNativeCache().size() < maxEntries || getNativeCache().containsKey(key);
+    }
+}
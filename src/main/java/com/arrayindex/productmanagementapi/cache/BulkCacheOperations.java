@@ -0,0 +1,156 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-key reads and writes against a Spring {@link Cache}.
+ * Redis caches are served with a single MGET and a pipelined SET, any other cache falls back to per-key calls,
+ * which is already cheap for local caches.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BulkCacheOperations {
+
+    private final CacheManager cacheManager;
+    private final RedisConnectionFactory redisConnectionFactory;
+
+    public <K, V> Map<K, V> getAll(String cacheName, Collection<K> keys, Class<V> type) {
+        Map<K, V> hits = new HashMap<>();
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || keys.isEmpty()) {
+            return hits;
+        }
+        try {
+            if (cache instanceof FailoverCacheManager.FailoverCache failover) {
+                // Runs on the active tier, so Redis failures and latency count towards the circuit breaker
+                return failover.execute(active -> getAll(active, keys, type));
+            }
+            return getAll(cache, keys, type);
+        } catch (Exception e) {
+            // A cache failure only turns hits into misses
+            log.warn("Bulk get on cache {} failed: {}", cacheName, e.getMessage());
+        }
+        return hits;
+    }
+
+    public <K, V> void putAll(String cacheName, Map<K, V> entries) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null || entries.isEmpty()) {
+            return;
+        }
+        try {
+            if (cache instanceof FailoverCacheManager.FailoverCache failover) {
+                failover.execute(active -> {
+                    putAll(active, entries);
+                    return null;
+                });
+            } else {
+                putAll(cache, entries);
+            }
+        } catch (Exception e) {
+            log.warn("Bulk put on cache {} failed: {}", cacheName, e.getMessage());
+        }
+    }
+
+    private <K, V> Map<K, V> getAll(Cache cache, Collection<K> keys, Class<V> type) {
+        Map<K, V> hits = new HashMap<>();
+        if (cache instanceof RedisCache redisCache) {
+            redisGetAll(redisCache, keys, type, hits);
+        } else {
+            for (K key : keys) {
+                V value = cache.get(key, type);
+                if (value != null) {
+                    hits.put(key, value);
+                }
+            }
+        }
+        return hits;
+    }
+
+    private <K, V> void putAll(Cache cache, Map<K, V> entries) {
+        if (cache instanceof RedisCache redisCache) {
+            redisPutAll(redisCache, entries);
+        } else {
+            entries.forEach(cache::put);
+        }
+    }
+
+    private <K, V> void redisGetAll(RedisCache cache, Collection<K> keys, Class<V> type, Map<K, V> hits) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        List<K> orderedKeys = new ArrayList<>(keys);
+        byte[][] rawKeys = new byte[orderedKeys.size()][];
+        for (int i = 0; i < orderedKeys.size(); i++) {
+            rawKeys[i] = redisKey(cache, orderedKeys.get(i));
+        }
+
+        List<byte[]> rawValues;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            rawValues = connection.stringCommands().mGet(rawKeys);
+        }
+        if (rawValues == null) {
+            return;
+        }
+
+        for (int i = 0; i < rawValues.size(); i++) {
+            byte[] raw = rawValues.get(i);
+            if (raw == null) {
+                continue;
+            }
+            Object value = config.getValueSerializationPair().read(ByteBuffer.wrap(raw));
+            if (value != null && !(value instanceof NullValue) && type.isInstance(value)) {
+                hits.put(orderedKeys.get(i), type.cast(value));
+            }
+        }
+    }
+
+    private <K, V> void redisPutAll(RedisCache cache, Map<K, V> entries) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                entries.forEach((key, value) -> {
+                    Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+                    Expiration expiration = ttl == null || ttl.isZero() || ttl.isNegative()
+                            ? Expiration.persistent() : Expiration.from(ttl);
+                    connection.stringCommands().set(redisKey(cache, key), toBytes(config.getValueSerializationPair().write(value)),
+                            expiration, RedisStringCommands.SetOption.upsert());
+                });
+            } finally {
+                connection.closePipeline();
+            }
+        }
+    }
+
+    // Mirrors RedisCache's own key layout: "<prefix><key>", e.g. "productById::42"
+    private byte[] redisKey(RedisCache cache, Object key) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        String cacheKey = config.usePrefix() ? config.getKeyPrefixFor(cache.getName()) + key : String.valueOf(key);
+        return toBytes(config.getKeySerializationPair().write(cacheKey));
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,207 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import com.arrayindex.productmanagementapi.dto.CacheInvalidationEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Propagates cache evictions to every node through a Kafka topic, so per-node caches
+ * (the in-memory fallback or the off-heap tier) do not keep serving stale entries after
+ * another node writes.
+ * <p>
+ * Invalidations are applied locally once the writing transaction commits, whether or not
+ * the bus is enabled. When it is, they are also buffered and the buffer is published as
+ * one message per coalescing window. A clear of a cache absorbs any key evictions for it
+ * in the same window. Each node consumes the topic in its own consumer group and skips
+ * messages it published itself.
+ */
+@Slf4j
+@Component
+public class CacheInvalidationBus {
+
+    private final CacheManager cacheManager;
+    private final KafkaTemplate<String, CacheInvalidationEvent> kafkaTemplate;
+    private final boolean enabled;
+    private final String topic;
+    private final String nodeId;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Counter published;
+    private final Counter coalesced;
+    private final Counter applied;
+
+    // Guarded by this
+    private Set<String> pendingClears = new HashSet<>();
+    private Map<String, Set<Object>> pendingKeys = new HashMap<>();
+    private int pendingRequests;
+
+    public CacheInvalidationBus(CacheManager cacheManager,
+                                @Qualifier("cacheInvalidationKafkaTemplate") KafkaTemplate<String, CacheInvalidationEvent> kafkaTemplate,
+                                MeterRegistry meterRegistry,
+                                @Value("${product.cache.invalidation.enabled:false}") boolean enabled,
+                                @Value("${product.cache.invalidation.topic:product-cache-invalidation}") String topic,
+                                @Value("${product.cache.invalidation.node-id:}") String nodeId) {
+        this.cacheManager = cacheManager;
+        this.kafkaTemplate = kafkaTemplate;
+        this.enabled = enabled;
+        this.topic = topic;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+        this.published = meterRegistry.counter("cache.invalidation.published");
+        this.coalesced = meterRegistry.counter("cache.invalidation.coalesced");
+        this.applied = meterRegistry.counter("cache.invalidation.applied");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public String getGroupId() {
+        return "product-cache-invalidation-" + nodeId;
+    }
+
+    /**
+     * Evicts {@code key} from {@code cacheName} after the current transaction commits: on this node always,
+     * on every other node when the bus is enabled.
+     */
+    public void evict(String cacheName, Object key) {
+        if (key == null) {
+            return;
+        }
+        afterCommit(() -> {
+            evictLocally(cacheName, key);
+            if (enabled) {
+                synchronized (this) {
+                    pendingRequests++;
+                    if (!pendingClears.contains(cacheName)) {
+                        pendingKeys.computeIfAbsent(cacheName, name -> new LinkedHashSet<>()).add(key);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Clears {@code cacheName} after the current transaction commits: on this node always, on every other
+     * node when the bus is enabled.
+     */
+    public void clear(String cacheName) {
+        afterCommit(() -> {
+            clearLocally(cacheName);
+            if (enabled) {
+                synchronized (this) {
+                    pendingRequests++;
+                    pendingClears.add(cacheName);
+                    pendingKeys.remove(cacheName);
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${product.cache.invalidation.coalesce-window-ms:50}")
+    public void flush() {
+        Set<String> clears;
+        Map<String, Set<Object>> keys;
+        int requests;
+        synchronized (this) {
+            if (pendingRequests == 0) {
+                return;
+            }
+            clears = pendingClears;
+            keys = pendingKeys;
+            requests = pendingRequests;
+            pendingClears = new HashSet<>();
+            pendingKeys = new HashMap<>();
+            pendingRequests = 0;
+        }
+
+        Map<String, List<Object>> evictedKeys = new HashMap<>();
+        keys.forEach((cacheName, cacheKeys) -> evictedKeys.put(cacheName, new ArrayList<>(cacheKeys)));
+        CacheInvalidationEvent event = new CacheInvalidationEvent(nodeId, sequence.incrementAndGet(), clears, evictedKeys);
+        try {
+            kafkaTemplate.send(topic, nodeId, event).whenComplete((result, failure) -> {
+                if (failure != null) {
+                    log.error("Failed to publish cache invalidation {}: {}", event.getSequence(), failure.getMessage());
+                }
+            });
+            published.increment();
+            coalesced.increment(requests - 1);
+        } catch (Exception e) {
+            // Other nodes keep their entries until TTL or the next invalidation of the same cache
+            log.error("Could not publish cache invalidation {}: {}", event.getSequence(), e.getMessage());
+        }
+    }
+
+    @KafkaListener(topics = "#{__listener.topic}", groupId = "#{__listener.groupId}",
+                   containerFactory = "cacheInvalidationListenerContainerFactory",
+                   autoStartup = "#{__listener.enabled}")
+    public void onInvalidation(CacheInvalidationEvent event) {
+        if (nodeId.equals(event.getOrigin())) {
+            return;
+        }
+        log.debug("Applying cache invalidation {} from {}", event.getSequence(), event.getOrigin());
+        if (event.getClearedCaches() != null) {
+            event.getClearedCaches().forEach(this::clearLocally);
+        }
+        if (event.getEvictedKeys() != null) {
+            event.getEvictedKeys().forEach((cacheName, keys) -> keys.forEach(key -> evictLocally(cacheName, key)));
+        }
+        applied.increment();
+    }
+
+    private void evictLocally(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(normalizeKey(key));
+        }
+    }
+
+    private void clearLocally(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    // JSON turns Long ids into Integers; all numeric cache keys in this service are Long ids
+    private static Object normalizeKey(Object key) {
+        return key instanceof Integer value ? Long.valueOf(value) : key;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
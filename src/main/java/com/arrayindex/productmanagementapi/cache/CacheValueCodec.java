@@ -0,0 +1,18 @@
+package com.arrayindex.productmanagementapi.cache;
+
+/**
+ * Turns cache values into bytes and back. Framing, compression and versioning
+ * are handled by {@link CompressingCodecRedisSerializer}, so implementations only deal with the payload.
+ */
+public interface CacheValueCodec {
+
+    /**
+     * Payload format version, written in front of every encoded value.
+     * Values written with a different version are treated as cache misses.
+     */
+    byte version();
+
+    byte[] encode(Object value);
+
+    Object decode(byte[] payload);
+}
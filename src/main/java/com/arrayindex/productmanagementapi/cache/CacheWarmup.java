@@ -0,0 +1,283 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves the node-local cache tiers to a {@link CacheWarmupSnapshot} file and loads it back on start-up,
+ * so a restarted node does not send every first read to the database.
+ * <p>
+ * Snapshots are written every {@code snapshot-interval-ms} and on shutdown, stamped with the catalog
+ * {@link CacheWarmupSnapshot.Watermark watermark}. At start-up, before the web server accepts requests (and so
+ * before the readiness probe can pass), a snapshot taken at the current watermark is loaded as-is. If the catalog
+ * has changed since, the cached values may be stale and only the snapshot's product ids are reused: those
+ * products are reloaded from the database in chunks. Redis holds its own entries across restarts and is skipped.
+ */
+@Slf4j
+@Component
+public class CacheWarmup implements SmartLifecycle {
+
+    private static final String PRODUCT_BY_ID = "productById";
+
+    private final CacheManager cacheManager;
+    private final ConcurrentMapCacheManager localCacheManager;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transaction;
+    private final ProductBinaryCodec codec = new ProductBinaryCodec();
+    private final boolean enabled;
+    private final Path file;
+    private final List<String> cacheNames;
+    private final int maxEntries;
+    private final int reloadChunkSize;
+
+    private final Counter loaded;
+    private final Counter reloaded;
+    private final Timer snapshotTimer;
+
+    private volatile boolean running = false;
+
+    public CacheWarmup(CacheManager cacheManager,
+                       ConcurrentMapCacheManager localCacheManager,
+                       ProductRepository productRepository,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${product.cache.warmup.enabled:true}") boolean enabled,
+                       @Value("${product.cache.warmup.file:data/cache-warmup.bin}") String file,
+                       @Value("${product.cache.warmup.caches:productById,products,activeProducts,productsByCategory}") List<String> cacheNames,
+                       @Value("${product.cache.warmup.max-entries:100000}") int maxEntries,
+                       @Value("${product.cache.warmup.reload-chunk-size:500}") int reloadChunkSize) {
+        this.cacheManager = cacheManager;
+        this.localCacheManager = localCacheManager;
+        this.productRepository = productRepository;
+        // Not readOnly: a lagging replica would report an old watermark
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.file = Paths.get(file);
+        this.cacheNames = cacheNames;
+        this.maxEntries = maxEntries;
+        this.reloadChunkSize = reloadChunkSize;
+        this.loaded = meterRegistry.counter("cache.warmup.entries", "source", "snapshot");
+        this.reloaded = meterRegistry.counter("cache.warmup.entries", "source", "database");
+        this.snapshotTimer = meterRegistry.timer("cache.warmup.snapshot");
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        try {
+            warmUp();
+        } catch (IOException | RuntimeException e) {
+            // A cold cache is slower, not wrong
+            log.warn("Cache warm-up from {} failed, starting cold: {}", file, e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        saveQuietly();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Before the web server (Integer.MAX_VALUE - 2048) starts, and stopped after it has drained
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 4096;
+    }
+
+    @Scheduled(initialDelayString = "${product.cache.warmup.snapshot-interval-ms:300000}",
+            fixedDelayString = "${product.cache.warmup.snapshot-interval-ms:300000}")
+    public void scheduledSnapshot() {
+        if (running) {
+            saveQuietly();
+        }
+    }
+
+    /**
+     * Loads the snapshot file into the caches. Returns the number of entries put.
+     */
+    int warmUp() throws IOException {
+        long started = System.nanoTime();
+        CacheWarmupSnapshot.Contents snapshot;
+        try {
+            snapshot = CacheWarmupSnapshot.read(file);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        if (snapshot == null) {
+            log.info("No cache warm-up snapshot at {}, starting cold", file);
+            return 0;
+        }
+
+        CacheWarmupSnapshot.Watermark watermark = watermark();
+        int count;
+        String source;
+        if (watermark.equals(snapshot.watermark())) {
+            count = load(snapshot.entries());
+            if (!watermark().equals(watermark)) {
+                // A write landed while loading and its eviction may have run before our put
+                clearCaches();
+                log.info("Catalog changed during cache warm-up, caches cleared");
+                return 0;
+            }
+            loaded.increment(count);
+            source = "snapshot";
+        } else {
+            count = reload(snapshot.entries());
+            reloaded.increment(count);
+            source = "database (catalog changed since the snapshot)";
+        }
+        log.info("Warmed caches with {} entries from {} in {} ms", count, source,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return count;
+    }
+
+    /**
+     * Writes the current contents of the node-local cache tiers to the snapshot file.
+     * Returns the number of entries written; nothing is written while the local tiers are empty.
+     */
+    synchronized int save() throws IOException {
+        long started = System.nanoTime();
+        // Taken before the entries: a write racing with the copy moves the catalog past this watermark
+        CacheWarmupSnapshot.Watermark watermark = watermark();
+        List<CacheWarmupSnapshot.Entry> entries = collect();
+        if (entries.isEmpty()) {
+            log.debug("Local caches are empty, keeping the previous warm-up snapshot");
+            return 0;
+        }
+        CacheWarmupSnapshot.write(file, watermark, entries);
+        snapshotTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        log.debug("Cache warm-up snapshot written: {} entries", entries.size());
+        return entries.size();
+    }
+
+    private void saveQuietly() {
+        try {
+            save();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write cache warm-up snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    private List<CacheWarmupSnapshot.Entry> collect() {
+        List<CacheWarmupSnapshot.Entry> entries = new ArrayList<>();
+        for (String name : cacheNames) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache instanceof OffHeapProductCache offHeap) {
+                offHeap.forEachEncoded((payload, id) -> {
+                    if (entries.size() < maxEntries) {
+                        // Copied out of the arena, which is reused once the lock is released
+                        ByteBuffer copy = ByteBuffer.allocate(payload.remaining()).put(payload).flip();
+                        entries.add(new CacheWarmupSnapshot.Entry(name, id, copy));
+                    }
+                });
+                continue;
+            }
+            // Failover caches keep their local tier in the in-memory manager
+            Cache local = cache instanceof FailoverCacheManager.FailoverCache ? localCacheManager.getCache(name) : cache;
+            if (!(local instanceof ConcurrentMapCache map)) {
+                continue;
+            }
+            for (Map.Entry<Object, Object> entry : map.getNativeCache().entrySet()) {
+                if (entries.size() >= maxEntries) {
+                    return entries;
+                }
+                if (!CacheWarmupSnapshot.supportsKey(entry.getKey())) {
+                    continue;
+                }
+                try {
+                    entries.add(new CacheWarmupSnapshot.Entry(name, entry.getKey(),
+                            ByteBuffer.wrap(codec.encode(entry.getValue()))));
+                } catch (SerializationException e) {
+                    log.debug("Skipping {} entry {} in warm-up snapshot: {}", name, entry.getKey(), e.getMessage());
+                }
+            }
+        }
+        return entries;
+    }
+
+    private int load(List<CacheWarmupSnapshot.Entry> entries) {
+        int count = 0;
+        for (CacheWarmupSnapshot.Entry entry : entries) {
+            Cache cache = cacheManager.getCache(entry.cacheName());
+            if (cache != null && cacheNames.contains(entry.cacheName())) {
+                cache.put(entry.key(), codec.decode(entry.payload()));
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private int reload(List<CacheWarmupSnapshot.Entry> entries) {
+        Cache cache = cacheManager.getCache(PRODUCT_BY_ID);
+        if (cache == null || !cacheNames.contains(PRODUCT_BY_ID)) {
+            return 0;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (CacheWarmupSnapshot.Entry entry : entries) {
+            if (PRODUCT_BY_ID.equals(entry.cacheName()) && entry.key() instanceof Long id) {
+                ids.add(id);
+            }
+        }
+        int count = 0;
+        for (int from = 0; from < ids.size(); from += reloadChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + reloadChunkSize));
+            List<Product> products = transaction.execute(status -> productRepository.findAllById(chunk));
+            for (Product product : products) {
+                cache.put(product.getId(), product);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private void clearCaches() {
+        for (String name : cacheNames) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    private CacheWarmupSnapshot.Watermark watermark() {
+        ProductRepository.CatalogWatermark watermark = transaction.execute(status -> productRepository.findCatalogWatermark());
+        return new CacheWarmupSnapshot.Watermark(watermark.getProductCount(), watermark.getLastUpdatedAt());
+    }
+}
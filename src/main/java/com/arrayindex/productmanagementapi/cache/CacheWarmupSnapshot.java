@@ -0,0 +1,202 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Memory-mapped file of encoded cache entries, written by {@link CacheWarmup} and read back at start-up.
+ * <p>
+ * Layout: {@code [magic][format][codec version][watermark][entry count][crc32]} followed by entries of
+ * {@code [cache name][key][payload length][payload]}. Payloads are {@link ProductBinaryCodec} encodings;
+ * on read they are slices of the mapping, so decoding copies each entry once, straight into its object.
+ * The file is written next to its final name and moved into place, so a reader sees a whole file or none.
+ */
+public final class CacheWarmupSnapshot {
+
+    private static final int MAGIC = 0x50435753; // "PCWS"
+    private static final byte FORMAT = 1;
+    private static final int HEADER = Integer.BYTES + 2 + Long.BYTES * 2 + Integer.BYTES * 2 + Long.BYTES;
+    private static final long NO_UPDATES = Long.MIN_VALUE;
+
+    private static final byte KEY_LONG = 0;
+    private static final byte KEY_STRING = 1;
+    private static final byte KEY_EMPTY = 2;
+
+    private CacheWarmupSnapshot() {
+    }
+
+    /**
+     * Whether {@code key} can be stored: the product id, string and no-argument keys used by ProductService.
+     */
+    public static boolean supportsKey(Object key) {
+        return key instanceof Long || key instanceof String || SimpleKey.EMPTY.equals(key);
+    }
+
+    public static void write(Path file, Watermark watermark, List<Entry> entries) throws IOException {
+        List<byte[]> names = new ArrayList<>(entries.size());
+        List<byte[]> stringKeys = new ArrayList<>(entries.size());
+        long size = HEADER;
+        for (Entry entry : entries) {
+            byte[] name = entry.cacheName().getBytes(StandardCharsets.UTF_8);
+            byte[] key = entry.key() instanceof String string ? string.getBytes(StandardCharsets.UTF_8) : null;
+            names.add(name);
+            stringKeys.add(key);
+            size += Short.BYTES + name.length + 1 + keySize(entry.key(), key) + Integer.BYTES + entry.payload().remaining();
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Cache snapshot of " + size + " bytes is too large to map");
+        }
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.READ, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+                buffer.position(HEADER);
+                for (int i = 0; i < entries.size(); i++) {
+                    Entry entry = entries.get(i);
+                    buffer.putShort((short) names.get(i).length).put(names.get(i));
+                    putKey(buffer, entry.key(), stringKeys.get(i));
+                    ByteBuffer payload = entry.payload().duplicate();
+                    buffer.putInt(payload.remaining()).put(payload);
+                }
+                CRC32 crc = new CRC32();
+                crc.update(buffer.slice(HEADER, (int) size - HEADER));
+                buffer.position(0);
+                buffer.putInt(MAGIC).put(FORMAT).put(ProductBinaryCodec.VERSION);
+                buffer.putLong(watermark.productCount());
+                buffer.putLong(watermark.lastUpdatedAt() != null
+                        ? watermark.lastUpdatedAt().toEpochSecond(ZoneOffset.UTC) : NO_UPDATES);
+                buffer.putInt(watermark.lastUpdatedAt() != null ? watermark.lastUpdatedAt().getNano() : 0);
+                buffer.putInt(entries.size());
+                buffer.putLong(crc.getValue());
+                buffer.force();
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Maps {@code file} and returns its watermark and entries, or null if there is no file.
+     *
+     * @throws IOException if the file is truncated, corrupt or written by another format or codec version
+     */
+    public static Contents read(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER || channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Cache snapshot " + file + " has an invalid size of " + channel.size() + " bytes");
+            }
+            // The mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt() != MAGIC || buffer.get() != FORMAT) {
+            throw new IOException("Cache snapshot " + file + " is not in format " + FORMAT);
+        }
+        byte codecVersion = buffer.get();
+        if (codecVersion != ProductBinaryCodec.VERSION) {
+            throw new IOException("Cache snapshot " + file + " uses codec version " + codecVersion);
+        }
+        long productCount = buffer.getLong();
+        long epochSecond = buffer.getLong();
+        int nano = buffer.getInt();
+        int count = buffer.getInt();
+        long checksum = buffer.getLong();
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER, buffer.capacity() - HEADER));
+        if (crc.getValue() != checksum) {
+            throw new IOException("Cache snapshot " + file + " failed its checksum");
+        }
+
+        LocalDateTime lastUpdatedAt = epochSecond == NO_UPDATES ? null
+                : LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+        List<Entry> entries = new ArrayList<>(count);
+        try {
+            for (int i = 0; i < count; i++) {
+                String cacheName = getString(buffer, Short.toUnsignedInt(buffer.getShort()));
+                Object key = getKey(buffer);
+                int length = buffer.getInt();
+                entries.add(new Entry(cacheName, key, buffer.slice(buffer.position(), length)));
+                buffer.position(buffer.position() + length);
+            }
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Cache snapshot " + file + " is truncated", e);
+        }
+        return new Contents(new Watermark(productCount, lastUpdatedAt), entries);
+    }
+
+    private static int keySize(Object key, byte[] stringKey) {
+        if (key instanceof Long) {
+            return Long.BYTES;
+        }
+        if (stringKey != null) {
+            return Integer.BYTES + stringKey.length;
+        }
+        if (SimpleKey.EMPTY.equals(key)) {
+            return 0;
+        }
+        throw new IllegalArgumentException("Unsupported cache key type " + key.getClass().getName());
+    }
+
+    private static void putKey(ByteBuffer buffer, Object key, byte[] stringKey) {
+        if (key instanceof Long id) {
+            buffer.put(KEY_LONG).putLong(id);
+        } else if (stringKey != null) {
+            buffer.put(KEY_STRING).putInt(stringKey.length).put(stringKey);
+        } else {
+            buffer.put(KEY_EMPTY);
+        }
+    }
+
+    private static Object getKey(ByteBuffer buffer) throws IOException {
+        byte type = buffer.get();
+        return switch (type) {
+            case KEY_LONG -> buffer.getLong();
+            case KEY_STRING -> getString(buffer, buffer.getInt());
+            case KEY_EMPTY -> SimpleKey.EMPTY;
+            default -> throw new IOException("Unknown cache key type " + type);
+        };
+    }
+
+    private static String getString(ByteBuffer buffer, int length) {
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Catalog version a snapshot was taken at: any insert, update or delete changes the count or the latest update time.
+     */
+    public record Watermark(long productCount, LocalDateTime lastUpdatedAt) {
+    }
+
+    /**
+     * One cache entry: the cache it belongs to, its key and the encoded value.
+     */
+    public record Entry(String cacheName, Object key, ByteBuffer payload) {
+    }
+
+    public record Contents(Watermark watermark, List<Entry> entries) {
+    }
+}
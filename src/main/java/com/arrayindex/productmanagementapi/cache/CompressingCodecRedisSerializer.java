@@ -0,0 +1,93 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis value serializer that frames a {@link CacheValueCodec} payload as
+ * {@code [version][flags][original length if compressed][payload]} and LZ4-compresses
+ * payloads above a size threshold. Encoded size and encode/decode time are recorded per cache.
+ */
+@Slf4j
+public class CompressingCodecRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte FLAG_LZ4 = 1;
+    private static final int HEADER_SIZE = 2;
+
+    private final CacheValueCodec codec;
+    private final int compressionThreshold;
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+    private final Timer encodeTimer;
+    private final Timer decodeTimer;
+    private final DistributionSummary encodedSize;
+
+    public CompressingCodecRedisSerializer(String cacheName, CacheValueCodec codec, int compressionThreshold,
+                                           MeterRegistry meterRegistry) {
+        this.codec = codec;
+        this.compressionThreshold = compressionThreshold;
+        this.encodeTimer = Timer.builder("cache.codec.encode").tag("cache", cacheName).register(meterRegistry);
+        this.decodeTimer = Timer.builder("cache.codec.decode").tag("cache", cacheName).register(meterRegistry);
+        this.encodedSize = DistributionSummary.builder("cache.codec.encoded.size")
+                .baseUnit("bytes").tag("cache", cacheName).register(meterRegistry);
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        long start = System.nanoTime();
+        byte[] payload = codec.encode(value);
+        byte[] framed;
+        if (payload.length >= compressionThreshold) {
+            byte[] compressed = compressor.compress(payload);
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + Integer.BYTES + compressed.length);
+            buffer.put(codec.version()).put(FLAG_LZ4).putInt(payload.length).put(compressed);
+            framed = buffer.array();
+        } else {
+            framed = new byte[HEADER_SIZE + payload.length];
+            framed[0] = codec.version();
+            System.arraycopy(payload, 0, framed, HEADER_SIZE, payload.length);
+        }
+        encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        encodedSize.record(framed.length);
+        return framed;
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length < HEADER_SIZE) {
+            return null;
+        }
+        if (bytes[0] != codec.version()) {
+            // Written by another schema version: report a miss so the value is reloaded and rewritten
+            log.debug("Ignoring cache value with codec version {}, expected {}", bytes[0], codec.version());
+            return null;
+        }
+        long start = System.nanoTime();
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+        byte[] payload;
+        if ((bytes[1] & FLAG_LZ4) != 0) {
+            int originalLength = buffer.getInt();
+            payload = decompressor.decompress(bytes, buffer.position(), originalLength);
+        } else {
+            payload = new byte[buffer.remaining()];
+            buffer.get(payload);
+        }
+        Object value = codec.decode(payload);
+        decodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return value;
+    }
+}
@@ -0,0 +1,155 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serves read-mostly list endpoints from JSON that was encoded once, instead of loading and
+ * re-serializing the product list on every request.
+ * <p>
+ * Entries hold the JSON bytes, a gzipped copy for large bodies and an ETag, in the node-local
+ * {@value #CACHE_NAME} cache. That cache is cleared by the same write events as the entity caches,
+ * so a hit never outlives the list it was encoded from.
+ */
+@Slf4j
+@Component
+public class EncodedResponseCache {
+
+    public static final String CACHE_NAME = "productResponses";
+
+    private static final String GZIP = "gzip";
+
+    private final Cache cache;
+    private final ObjectMapper objectMapper;
+    private final boolean gzipEnabled;
+    private final int gzipMinBytes;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter notModified;
+
+    public EncodedResponseCache(CacheManager cacheManager,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${product.cache.responses.gzip:true}") boolean gzipEnabled,
+                                @Value("${product.cache.responses.gzip-min-bytes:1024}") int gzipMinBytes) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.objectMapper = objectMapper;
+        this.gzipEnabled = gzipEnabled;
+        this.gzipMinBytes = gzipMinBytes;
+        this.hits = meterRegistry.counter("cache.responses.requests", "result", "hit");
+        this.misses = meterRegistry.counter("cache.responses.requests", "result", "miss");
+        this.notModified = meterRegistry.counter("cache.responses.not-modified");
+    }
+
+    /**
+     * Writes the cached encoding of {@code key}, loading and encoding the body on a miss.
+     * Answers 304 when If-None-Match carries the current ETag, and the gzipped copy when the client accepts it.
+     */
+    public ResponseEntity<byte[]> respond(String key, HttpHeaders requestHeaders, Supplier<?> loader) {
+        EncodedResponse response = cache != null ? cache.get(key, EncodedResponse.class) : null;
+        if (response == null) {
+            misses.increment();
+            response = encode(loader.get());
+            log.debug("Encoded {} response: {} bytes, {} gzipped", key, response.json().length,
+                    response.gzipped() != null ? response.gzipped().length : "not");
+            if (cache != null) {
+                cache.put(key, response);
+            }
+        } else {
+            hits.increment();
+        }
+
+        boolean gzip = response.gzipped() != null && acceptsGzip(requestHeaders.getFirst(HttpHeaders.ACCEPT_ENCODING));
+        String etag = gzip ? response.gzipEtag() : response.etag();
+        if (matches(requestHeaders.getIfNoneMatch(), response)) {
+            notModified.increment();
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, GZIP).body(response.gzipped());
+        }
+        return builder.body(response.json());
+    }
+
+    EncodedResponse encode(Object body) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode response body", e);
+        }
+        String hash = DigestUtils.md5DigestAsHex(json);
+        byte[] gzipped = gzipEnabled && json.length >= gzipMinBytes ? gzip(json) : null;
+        return new EncodedResponse(json, gzipped, "\"" + hash + "\"", "\"" + hash + "-gzip\"");
+    }
+
+    // Either representation's tag counts: both stand for the same JSON
+    private static boolean matches(List<String> ifNoneMatch, EncodedResponse response) {
+        for (String tag : ifNoneMatch) {
+            String candidate = tag.trim();
+            if (candidate.startsWith("W/")) {
+                candidate = candidate.substring(2);
+            }
+            if (candidate.equals("*") || candidate.equals(response.etag()) || candidate.equals(response.gzipEtag())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (GZIP.equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * JSON body, its gzipped copy (null when the body is small or gzip is off) and the ETag of each.
+     */
+    public record EncodedResponse(byte[] json, byte[] gzipped, String etag, String gzipEtag) {
+    }
+}
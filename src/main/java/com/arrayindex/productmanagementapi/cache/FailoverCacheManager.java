@@ -0,0 +1,320 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Serves caches from Redis while it is healthy and from a local in-memory tier otherwise, without
+ * blocking start-up on Redis.
+ * <p>
+ * A background probe PINGs Redis every probe interval. The manager starts on the local tier and
+ * switches to Redis once a probe answers within the latency budget. On Redis, calls that fail with a
+ * {@link DataAccessException} or take longer than the budget count towards a circuit breaker: after
+ * {@code failureThreshold} consecutive bad calls, or a single failed eviction, the breaker opens and
+ * caches fall back to the local tier until a probe sees Redis healthy again.
+ * <p>
+ * Evictions always reach the local tier too. Redis misses every eviction made while the breaker is
+ * open, so its caches are cleared before they are used again; the local tier is cleared on each switch.
+ */
+@Slf4j
+public class FailoverCacheManager implements CacheManager {
+
+    public enum Tier { REDIS, LOCAL }
+
+    private final CacheManager redis;
+    private final CacheManager local;
+    private final RedisConnectionFactory connectionFactory;
+    private final long latencyBudgetNanos;
+    private final int failureThreshold;
+    private final long probeIntervalMs;
+
+    private final ConcurrentMap<String, FailoverCache> caches = new ConcurrentHashMap<>();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile Tier tier = Tier.LOCAL;
+    private ScheduledExecutorService prober;
+
+    private final Counter errors;
+    private final Counter slowCalls;
+    private final Counter toRedis;
+    private final Counter toLocal;
+
+    public FailoverCacheManager(CacheManager redis, CacheManager local, RedisConnectionFactory connectionFactory,
+                                MeterRegistry meterRegistry, Duration latencyBudget, int failureThreshold,
+                                Duration probeInterval) {
+        this.redis = redis;
+        this.local = local;
+        this.connectionFactory = connectionFactory;
+        this.latencyBudgetNanos = latencyBudget.toNanos();
+        this.failureThreshold = failureThreshold;
+        this.probeIntervalMs = probeInterval.toMillis();
+        this.errors = meterRegistry.counter("cache.redis.failures", "kind", "error");
+        this.slowCalls = meterRegistry.counter("cache.redis.failures", "kind", "slow");
+        this.toRedis = meterRegistry.counter("cache.redis.circuit.transitions", "tier", "redis");
+        this.toLocal = meterRegistry.counter("cache.redis.circuit.transitions", "tier", "local");
+        meterRegistry.gauge("cache.redis.available", this, manager -> manager.tier == Tier.REDIS ? 1 : 0);
+    }
+
+    /**
+     * Starts the background probe; the first one runs immediately.
+     */
+    public void start() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("CacheRedisProbe-");
+        threadFactory.setDaemon(true);
+        prober = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        prober.scheduleWithFixedDelay(this::probe, 0, probeIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Caches start on the local tier until Redis answers a probe within {} ms",
+                TimeUnit.NANOSECONDS.toMillis(latencyBudgetNanos));
+    }
+
+    public void stop() {
+        if (prober != null) {
+            prober.shutdownNow();
+        }
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, FailoverCache::new);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    public Tier getTier() {
+        return tier;
+    }
+
+    void probe() {
+        long start = System.nanoTime();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.ping();
+        } catch (RuntimeException e) {
+            if (tier == Tier.REDIS) {
+                recordFailure(e);
+            } else {
+                log.debug("Redis probe failed: {}", e.getMessage());
+            }
+            return;
+        }
+        long latency = System.nanoTime() - start;
+        if (tier == Tier.REDIS) {
+            recordLatency(latency);
+        } else if (latency <= latencyBudgetNanos) {
+            switchToRedis();
+        } else {
+            log.debug("Redis probe answered in {} ms, over budget", TimeUnit.NANOSECONDS.toMillis(latency));
+        }
+    }
+
+    private void recordLatency(long nanos) {
+        if (nanos > latencyBudgetNanos) {
+            slowCalls.increment();
+            countFailure("call took " + TimeUnit.NANOSECONDS.toMillis(nanos) + " ms");
+        } else {
+            consecutiveFailures.set(0);
+        }
+    }
+
+    private void recordFailure(RuntimeException e) {
+        errors.increment();
+        countFailure(e.getMessage());
+    }
+
+    private void countFailure(String reason) {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            switchToLocal(reason);
+        }
+    }
+
+    private synchronized void switchToLocal(String reason) {
+        if (tier == Tier.LOCAL) {
+            return;
+        }
+        // Drop entries left over from Redis failures that fell through to the local tier
+        clearAll(local);
+        tier = Tier.LOCAL;
+        consecutiveFailures.set(0);
+        toLocal.increment();
+        log.warn("Redis circuit opened ({}), serving caches from the local tier", reason);
+    }
+
+    private synchronized void switchToRedis() {
+        if (tier == Tier.REDIS) {
+            return;
+        }
+        try {
+            clearAll(redis);
+        } catch (DataAccessException e) {
+            log.debug("Redis cache clear failed, staying on the local tier: {}", e.getMessage());
+            return;
+        }
+        tier = Tier.REDIS;
+        consecutiveFailures.set(0);
+        toRedis.increment();
+        clearAll(local);
+        log.info("Redis is healthy, serving caches from Redis");
+    }
+
+    private void clearAll(CacheManager cacheManager) {
+        Set<String> names = new LinkedHashSet<>(caches.keySet());
+        names.addAll(cacheManager.getCacheNames());
+        for (String name : names) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    /**
+     * A named cache that routes every call to the tier that is active when the call starts.
+     */
+    public final class FailoverCache implements Cache {
+
+        private final String name;
+
+        private FailoverCache(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return this;
+        }
+
+        /**
+         * Runs the operation on the active tier, falling back to the local tier if Redis fails.
+         */
+        public <T> T execute(Function<Cache, T> operation) {
+            if (tier == Tier.REDIS) {
+                long start = System.nanoTime();
+                try {
+                    T result = operation.apply(redis.getCache(name));
+                    recordLatency(System.nanoTime() - start);
+                    return result;
+                } catch (DataAccessException e) {
+                    recordFailure(e);
+                }
+            }
+            return operation.apply(local.getCache(name));
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            return execute(cache -> cache.get(key));
+        }
+
+        @Override
+        public <T> T get(Object key, Class<T> type) {
+            return execute(cache -> cache.get(key, type));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            // Loaded outside the timed Redis call so a slow loader is not blamed on Redis
+            ValueWrapper cached = get(key);
+            if (cached != null) {
+                return (T) cached.get();
+            }
+            T value;
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+            put(key, value);
+            return value;
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            execute(cache -> {
+                cache.put(key, value);
+                return null;
+            });
+        }
+
+        @Override
+        public ValueWrapper putIfAbsent(Object key, Object value) {
+            return execute(cache -> cache.putIfAbsent(key, value));
+        }
+
+        @Override
+        public void evict(Object key) {
+            local.getCache(name).evict(key);
+            evictFromRedis(cache -> {
+                cache.evict(key);
+                return true;
+            });
+        }
+
+        @Override
+        public boolean evictIfPresent(Object key) {
+            boolean evicted = local.getCache(name).evictIfPresent(key);
+            Boolean evictedFromRedis = evictFromRedis(cache -> cache.evictIfPresent(key));
+            return evictedFromRedis != null ? evictedFromRedis : evicted;
+        }
+
+        @Override
+        public void clear() {
+            local.getCache(name).clear();
+            evictFromRedis(cache -> {
+                cache.clear();
+                return true;
+            });
+        }
+
+        @Override
+        public boolean invalidate() {
+            boolean invalidated = local.getCache(name).invalidate();
+            Boolean invalidatedInRedis = evictFromRedis(Cache::invalidate);
+            return invalidatedInRedis != null ? invalidatedInRedis : invalidated;
+        }
+
+        private Boolean evictFromRedis(Function<Cache, Boolean> eviction) {
+            if (tier != Tier.REDIS) {
+                return null;
+            }
+            long start = System.nanoTime();
+            try {
+                Boolean result = eviction.apply(redis.getCache(name));
+                recordLatency(System.nanoTime() - start);
+                return result;
+            } catch (DataAccessException e) {
+                // A missed eviction leaves a stale entry in Redis: open now so it is cleared before reuse
+                errors.increment();
+                switchToLocal("eviction failed: " + e.getMessage());
+                return null;
+            }
+        }
+    }
+}
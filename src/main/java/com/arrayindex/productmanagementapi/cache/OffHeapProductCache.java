@@ -0,0 +1,284 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} keyed by product id that keeps encoded products in a
+ * direct {@link ByteBuffer} instead of on the Java heap.
+ * <p>
+ * Records ({@code [id][length][payload]}) are appended to a circular arena and evicted oldest-first when the
+ * arena or the entry limit is full. An open-addressing {@code long -> offset} index with primitive arrays
+ * locates records, so the only per-entry heap cost is twelve bytes of index slots.
+ */
+@Slf4j
+public class OffHeapProductCache extends AbstractValueAdaptingCache {
+
+    private static final int RECORD_HEADER = Long.BYTES + Integer.BYTES;
+    private static final int EMPTY = -1;
+
+    private final String name;
+    private final ProductBinaryCodec codec = new ProductBinaryCodec();
+    private final ByteBuffer arena;
+    private final int maxEntries;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Index: linear probing with backward-shift deletion
+    private final long[] keys;
+    private final int[] offsets;
+    private final int mask;
+    private int size;
+
+    // Circular log: [head, tail) when not wrapped, [head, wrapEnd) + [0, tail) when wrapped
+    private int head;
+    private int tail;
+    private int wrapEnd;
+    private boolean wrapped;
+    private int recordCount;
+    private long evictions;
+
+    public OffHeapProductCache(String name, int capacityBytes, int maxEntries) {
+        super(false);
+        this.name = name;
+        this.arena = ByteBuffer.allocateDirect(capacityBytes);
+        this.maxEntries = maxEntries;
+        int slots = Integer.highestOneBit(Math.max(2, maxEntries) * 2 - 1) << 1;
+        this.keys = new long[slots];
+        this.offsets = new int[slots];
+        this.mask = slots - 1;
+        Arrays.fill(offsets, EMPTY);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        if (!(key instanceof Long id)) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            int offset = indexGet(id);
+            if (offset == EMPTY) {
+                return null;
+            }
+            int length = arena.getInt(offset + Long.BYTES);
+            ByteBuffer payload = arena.slice(offset + RECORD_HEADER, length);
+            return codec.decode(payload);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        try {
+            T value = valueLoader.call();
+            put(key, value);
+            return value;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!(key instanceof Long id) || value == null) {
+            return;
+        }
+        byte[] payload = codec.encode(toStoreValue(value));
+        int recordSize = RECORD_HEADER + payload.length;
+        if (recordSize > arena.capacity()) {
+            log.warn("Product {} ({} bytes) does not fit in off-heap cache {}", id, recordSize, name);
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            indexRemove(id);
+            while (size >= maxEntries) {
+                evictOldest();
+            }
+            int offset = allocate(recordSize);
+            arena.putLong(offset, id);
+            arena.putInt(offset + Long.BYTES, payload.length);
+            arena.put(offset + RECORD_HEADER, payload);
+            tail = offset + recordSize;
+            recordCount++;
+            indexPut(id, offset);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        if (!(key instanceof Long id)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            // The record stays in the arena as dead space until the head passes over it
+            indexRemove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(offsets, EMPTY);
+            size = 0;
+            head = 0;
+            tail = 0;
+            wrapped = false;
+            recordCount = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Passes every live entry's encoded payload and id to {@code action} under the read lock.
+     * The payload is a read-only view into the arena and must be consumed before {@code action} returns.
+     */
+    public void forEachEncoded(ObjLongConsumer<ByteBuffer> action) {
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < offsets.length; i++) {
+                int offset = offsets[i];
+                if (offset != EMPTY) {
+                    int length = arena.getInt(offset + Long.BYTES);
+                    action.accept(arena.slice(offset + RECORD_HEADER, length).asReadOnlyBuffer(), keys[i]);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getEvictions() {
+        lock.readLock().lock();
+        try {
+            return evictions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int allocate(int recordSize) {
+        while (true) {
+            if (recordCount == 0) {
+                head = 0;
+                tail = 0;
+                wrapped = false;
+            }
+            if (!wrapped) {
+                if (tail + recordSize <= arena.capacity()) {
+                    return tail;
+                }
+                wrapEnd = tail;
+                tail = 0;
+                wrapped = true;
+            } else if (tail + recordSize <= head) {
+                return tail;
+            } else {
+                evictOldest();
+            }
+        }
+    }
+
+    private void evictOldest() {
+        long id = arena.getLong(head);
+        int length = arena.getInt(head + Long.BYTES);
+        if (indexGet(id) == head) {
+            indexRemove(id);
+            evictions++;
+        }
+        head += RECORD_HEADER + length;
+        recordCount--;
+        if (wrapped && head >= wrapEnd) {
+            head = 0;
+            wrapped = false;
+        }
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private int indexGet(long key) {
+        for (int i = slot(key); offsets[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return offsets[i];
+            }
+        }
+        return EMPTY;
+    }
+
+    private void indexPut(long key, int offset) {
+        int i = slot(key);
+        while (offsets[i] != EMPTY && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (offsets[i] == EMPTY) {
+            size++;
+        }
+        keys[i] = key;
+        offsets[i] = offset;
+    }
+
+    private void indexRemove(long key) {
+        int i = slot(key);
+        while (offsets[i] != EMPTY && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (offsets[i] == EMPTY) {
+            return;
+        }
+        offsets[i] = EMPTY;
+        size--;
+        // Shift later entries of the probe chain back so lookups never stop at the hole
+        for (int j = (i + 1) & mask; offsets[j] != EMPTY; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            boolean movable = j > i ? (home <= i || home > j) : (home <= i && home > j);
+            if (movable) {
+                keys[i] = keys[j];
+                offsets[i] = offsets[j];
+                offsets[j] = EMPTY;
+                i = j;
+            }
+        }
+    }
+}
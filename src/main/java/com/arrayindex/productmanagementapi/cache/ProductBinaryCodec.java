@@ -0,0 +1,230 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import com.arrayindex.productmanagementapi.model.Product;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary layout for {@link Product} and {@code List<Product>}.
+ * Each product is a presence bitmask followed by only the non-null fields; the lazy
+ * price history is never written. Any other value type falls back to JDK serialization.
+ */
+public class ProductBinaryCodec implements CacheValueCodec {
+
+    static final byte VERSION = 1;
+
+    private static final byte TYPE_JDK = 0;
+    private static final byte TYPE_PRODUCT = 1;
+    private static final byte TYPE_PRODUCT_LIST = 2;
+
+    private static final int HAS_ID = 1;
+    private static final int HAS_NAME = 1 << 1;
+    private static final int HAS_DESCRIPTION = 1 << 2;
+    private static final int HAS_PRICE = 1 << 3;
+    private static final int HAS_CATEGORY = 1 << 4;
+    private static final int HAS_STOCK = 1 << 5;
+    private static final int HAS_SKU = 1 << 6;
+    private static final int HAS_CREATED_AT = 1 << 7;
+    private static final int HAS_UPDATED_AT = 1 << 8;
+    private static final int HAS_ACTIVE = 1 << 9;
+    private static final int ACTIVE = 1 << 10;
+
+    private final JdkSerializationRedisSerializer fallback = new JdkSerializationRedisSerializer();
+
+    @Override
+    public byte version() {
+        return VERSION;
+    }
+
+    @Override
+    public byte[] encode(Object value) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            DataOutputStream out = new DataOutputStream(bytes);
+            if (value instanceof Product product) {
+                out.writeByte(TYPE_PRODUCT);
+                writeProduct(out, product);
+            } else if (isProductList(value)) {
+                List<?> products = (List<?>) value;
+                out.writeByte(TYPE_PRODUCT_LIST);
+                writeVarInt(out, products.size());
+                for (Object product : products) {
+                    writeProduct(out, (Product) product);
+                }
+            } else {
+                out.writeByte(TYPE_JDK);
+                out.write(fallback.serialize(value));
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not encode cache value", e);
+        }
+    }
+
+    @Override
+    public Object decode(byte[] payload) {
+        return decode(ByteBuffer.wrap(payload));
+    }
+
+    /**
+     * Decodes straight from the buffer's remaining bytes, e.g. a slice of an off-heap arena,
+     * without copying the payload into a temporary array first.
+     */
+    public Object decode(ByteBuffer payload) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteBufferInputStream(payload));
+            byte type = in.readByte();
+            switch (type) {
+                case TYPE_PRODUCT:
+                    return readProduct(in);
+                case TYPE_PRODUCT_LIST:
+                    int size = readVarInt(in);
+                    List<Product> products = new ArrayList<>(size);
+                    for (int i = 0; i < size; i++) {
+                        products.add(readProduct(in));
+                    }
+                    return products;
+                case TYPE_JDK:
+                    return fallback.deserialize(in.readAllBytes());
+                default:
+                    throw new SerializationException("Unknown cache value type " + type);
+            }
+        } catch (IOException e) {
+            throw new SerializationException("Could not decode cache value", e);
+        }
+    }
+
+    private boolean isProductList(Object value) {
+        return value instanceof List<?> list && list.stream().allMatch(Product.class::isInstance);
+    }
+
+    private void writeProduct(DataOutputStream out, Product product) throws IOException {
+        int flags = 0;
+        if (product.getId() != null) flags |= HAS_ID;
+        if (product.getName() != null) flags |= HAS_NAME;
+        if (product.getDescription() != null) flags |= HAS_DESCRIPTION;
+        if (product.getPrice() != null) flags |= HAS_PRICE;
+        if (product.getCategory() != null) flags |= HAS_CATEGORY;
+        if (product.getStockQuantity() != null) flags |= HAS_STOCK;
+        if (product.getSku() != null) flags |= HAS_SKU;
+        if (product.getCreatedAt() != null) flags |= HAS_CREATED_AT;
+        if (product.getUpdatedAt() != null) flags |= HAS_UPDATED_AT;
+        if (product.getIsActive() != null) flags |= HAS_ACTIVE;
+        if (Boolean.TRUE.equals(product.getIsActive())) flags |= ACTIVE;
+
+        out.writeShort(flags);
+        if (product.getId() != null) writeVarLong(out, product.getId());
+        if (product.getName() != null) writeString(out, product.getName());
+        if (product.getDescription() != null) writeString(out, product.getDescription());
+        if (product.getPrice() != null) out.writeDouble(product.getPrice());
+        if (product.getCategory() != null) writeString(out, product.getCategory());
+        if (product.getStockQuantity() != null) out.writeInt(product.getStockQuantity());
+        if (product.getSku() != null) writeString(out, product.getSku());
+        if (product.getCreatedAt() != null) writeDateTime(out, product.getCreatedAt());
+        if (product.getUpdatedAt() != null) writeDateTime(out, product.getUpdatedAt());
+    }
+
+    private Product readProduct(DataInputStream in) throws IOException {
+        int flags = in.readUnsignedShort();
+        Product product = new Product();
+        if ((flags & HAS_ID) != 0) product.setId(readVarLong(in));
+        if ((flags & HAS_NAME) != 0) product.setName(readString(in));
+        if ((flags & HAS_DESCRIPTION) != 0) product.setDescription(readString(in));
+        if ((flags & HAS_PRICE) != 0) product.setPrice(in.readDouble());
+        if ((flags & HAS_CATEGORY) != 0) product.setCategory(readString(in));
+        product.setStockQuantity((flags & HAS_STOCK) != 0 ? Integer.valueOf(in.readInt()) : null);
+        if ((flags & HAS_SKU) != 0) product.setSku(readString(in));
+        if ((flags & HAS_CREATED_AT) != 0) product.setCreatedAt(readDateTime(in));
+        if ((flags & HAS_UPDATED_AT) != 0) product.setUpdatedAt(readDateTime(in));
+        product.setIsActive((flags & HAS_ACTIVE) != 0 ? Boolean.valueOf((flags & ACTIVE) != 0) : null);
+        return product;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(out, utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] utf8 = new byte[readVarInt(in)];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeDateTime(DataOutputStream out, LocalDateTime value) throws IOException {
+        writeVarLong(out, value.toEpochSecond(ZoneOffset.UTC));
+        writeVarInt(out, value.getNano());
+    }
+
+    private static LocalDateTime readDateTime(DataInputStream in) throws IOException {
+        long epochSecond = readVarLong(in);
+        int nano = readVarInt(in);
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value & 0xFFFFFFFFL);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        return (int) readVarLong(in);
+    }
+
+    private static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInputStream in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = in.readByte();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new SerializationException("Malformed variable-length number");
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
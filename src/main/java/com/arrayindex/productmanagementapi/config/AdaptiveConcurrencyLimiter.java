@@ -0,0 +1,102 @@
+package com.arrayindex.productmanagementapi.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency-driven AIMD concurrency limit. Callers {@link #tryAcquire()} a slot and report the
+ * observed latency through {@link #release(long, boolean)}.
+ * <p>
+ * Congestion is a gradient between two moving averages of latency: a short-term one over the last
+ * few samples and a long-term baseline over about {@code windowSize} samples. Averages rather than a
+ * minimum keep mixed traffic stable: microsecond cache hits and millisecond database reads in the
+ * same group set the baseline to their mix, so neither kind alone reads as congestion.
+ * When the short-term average exceeds {@code tolerance} times the baseline, or a call fails, the limit
+ * is cut by {@code backoffRatio} (at most once per observed latency, so one burst of slow calls counts
+ * as a single congestion signal). Otherwise, while at least half the limit is in use, the limit grows
+ * by about one per limit's worth of samples.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int SHORT_WINDOW = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final double shortSmoothing;
+    private final double longSmoothing;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    // Guarded by this
+    private double limit;
+    private double shortNanos;
+    private double longNanos;
+    private long lastDecreaseNanos;
+    private boolean decreased;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double tolerance, double backoffRatio, int windowSize) {
+        if (minLimit < 1 || minLimit > maxLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.shortSmoothing = 2.0 / (SHORT_WINDOW + 1);
+        this.longSmoothing = 2.0 / (Math.max(windowSize, SHORT_WINDOW) + 1);
+    }
+
+    /**
+     * Takes a slot if fewer than {@link #getLimit()} calls are in flight; never waits.
+     */
+    public boolean tryAcquire() {
+        int limitNow = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limitNow) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(long latencyNanos, boolean failed) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        onSample(latencyNanos, failed, inFlightBefore, System.nanoTime());
+    }
+
+    synchronized void onSample(long latencyNanos, boolean failed, int inFlightBefore, long nowNanos) {
+        double latency = Math.max(1, latencyNanos);
+        if (longNanos == 0) {
+            shortNanos = latency;
+            longNanos = latency;
+        } else {
+            shortNanos += shortSmoothing * (latency - shortNanos);
+            // The slow baseline follows genuine shifts in service time
+            longNanos += longSmoothing * (latency - longNanos);
+        }
+
+        if (failed || shortNanos > longNanos * tolerance) {
+            if (!decreased || nowNanos - lastDecreaseNanos >= latencyNanos) {
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = nowNanos;
+                decreased = true;
+            }
+        } else if (inFlightBefore * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1.0 / limit);
+        }
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
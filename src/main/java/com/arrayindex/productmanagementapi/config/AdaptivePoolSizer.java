@@ -0,0 +1,65 @@
+package com.arrayindex.productmanagementapi.config;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+
+/**
+ * Wait- and latency-driven maximum pool size. Each {@link #next} call takes one sample
+ * {@link ConnectionPoolObserver.Window window} of the pool's borrows and returns the size for the next one.
+ * <p>
+ * The baseline is the smallest mean hold time of the last {@code baselineWindows} windows. A window whose
+ * mean hold time exceeds {@code tolerance} times the baseline means the database slows down at the current
+ * concurrency, and the pool shrinks by {@code step}. Otherwise, if borrowers waited longer than
+ * {@code waitThresholdNanos} on average or timed out, the database has headroom the pool is not
+ * letting through, and the pool grows by {@code step}. Quiet windows keep the size.
+ */
+public class AdaptivePoolSizer {
+
+    private final int minSize;
+    private final int maxSize;
+    private final long waitThresholdNanos;
+    private final double tolerance;
+    private final int step;
+    private final int baselineWindows;
+
+    // Guarded by this
+    private final ArrayDeque<Long> recentHoldNanos = new ArrayDeque<>();
+
+    public AdaptivePoolSizer(int minSize, int maxSize, long waitThresholdNanos, double tolerance, int step,
+                             int baselineWindows) {
+        if (minSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Pool size bounds must satisfy 1 <= min <= max");
+        }
+        if (step < 1 || baselineWindows < 1 || tolerance <= 1.0) {
+            throw new IllegalArgumentException("Pool sizing needs step >= 1, baseline windows >= 1 and tolerance > 1");
+        }
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.waitThresholdNanos = waitThresholdNanos;
+        this.tolerance = tolerance;
+        this.step = step;
+        this.baselineWindows = baselineWindows;
+    }
+
+    public synchronized int next(int currentSize, ConnectionPoolObserver.Window window) {
+        int size = clamp(currentSize);
+        if (window.returns() > 0) {
+            long holdNanos = Math.max(1, window.meanHoldNanos());
+            recentHoldNanos.addLast(holdNanos);
+            if (recentHoldNanos.size() > baselineWindows) {
+                recentHoldNanos.removeFirst();
+            }
+            if (holdNanos > Collections.min(recentHoldNanos) * tolerance) {
+                return clamp(size - step);
+            }
+        }
+        if (window.timeouts() > 0 || (window.acquisitions() > 0 && window.meanWaitNanos() > waitThresholdNanos)) {
+            return clamp(size + step);
+        }
+        return size;
+    }
+
+    private int clamp(int size) {
+        return Math.max(minSize, Math.min(maxSize, size));
+    }
+}
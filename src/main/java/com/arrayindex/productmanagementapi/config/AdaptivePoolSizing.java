@@ -0,0 +1,78 @@
+package com.arrayindex.productmanagementapi.config;
+
+import com.zaxxer.hikari.HikariConfigMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resizes the configured Hikari pools within {@code [min-size, max-size]}, one {@link AdaptivePoolSizer} per
+ * pool, from the windows their {@link ConnectionPoolObserver}s collect. A larger size takes effect as Hikari
+ * opens connections for waiting borrowers. {@code minimum-idle} moves by the same amount, so a fixed-size pool
+ * stays fixed. A smaller size closes nothing: Hikari opens no connection past the new maximum, and the surplus
+ * is retired after {@code idle-timeout} (when {@code minimum-idle} is below the maximum) or {@code max-lifetime}.
+ * The search pool is a bulkhead with a deliberately small size and is not resized by default.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "product.datasource.pool-sizing.enabled", havingValue = "true")
+public class AdaptivePoolSizing {
+
+    private final ConnectionPoolObservers observers;
+    private final MeterRegistry meterRegistry;
+    // By pool name, in configuration order
+    private final Map<String, AdaptivePoolSizer> sizers = new LinkedHashMap<>();
+
+    public AdaptivePoolSizing(ConnectionPoolObservers observers,
+                              MeterRegistry meterRegistry,
+                              @Value("${product.datasource.pool-sizing.pools:primary,replica}") List<String> poolNames,
+                              @Value("${product.datasource.pool-sizing.min-size:4}") int minSize,
+                              @Value("${product.datasource.pool-sizing.max-size:40}") int maxSize,
+                              @Value("${product.datasource.pool-sizing.wait-threshold-ms:5}") long waitThresholdMs,
+                              @Value("${product.datasource.pool-sizing.tolerance:2.0}") double tolerance,
+                              @Value("${product.datasource.pool-sizing.step:2}") int step,
+                              @Value("${product.datasource.pool-sizing.baseline-windows:30}") int baselineWindows) {
+        this.observers = observers;
+        this.meterRegistry = meterRegistry;
+        for (String poolName : poolNames) {
+            sizers.put(poolName, new AdaptivePoolSizer(minSize, maxSize, TimeUnit.MILLISECONDS.toNanos(waitThresholdMs),
+                    tolerance, step, baselineWindows));
+        }
+    }
+
+    @Scheduled(initialDelayString = "${product.datasource.pool-sizing.interval-ms:10000}",
+            fixedDelayString = "${product.datasource.pool-sizing.interval-ms:10000}")
+    public void adjust() {
+        sizers.forEach((poolName, sizer) -> {
+            ConnectionPoolObservers.ObservedPool pool = observers.getPool(poolName);
+            if (pool != null) {
+                adjust(pool, sizer);
+            }
+        });
+    }
+
+    private void adjust(ConnectionPoolObservers.ObservedPool pool, AdaptivePoolSizer sizer) {
+        String poolName = pool.observer().getPoolName();
+        HikariConfigMXBean config = pool.dataSource().getHikariConfigMXBean();
+        int current = config.getMaximumPoolSize();
+        int next = sizer.next(current, pool.observer().drainWindow());
+        if (next == current) {
+            return;
+        }
+
+        // Evicting on a shrink would retire every connection at once and make the next borrowers reconnect
+        config.setMinimumIdle(Math.max(0, Math.min(config.getMinimumIdle() + next - current, next)));
+        config.setMaximumPoolSize(next);
+        meterRegistry.counter("db.pool.resizes", "pool", poolName, "direction", next > current ? "up" : "down")
+                .increment();
+        log.info("Resized connection pool {} from {} to {}", poolName, current, next);
+    }
+}
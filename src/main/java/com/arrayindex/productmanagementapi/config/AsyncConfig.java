@@ -1,11 +1,13 @@
 package com.arrayindex.productmanagementapi.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -21,4 +23,60 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    // Bulkhead for search/statistics/export requests; a full queue rejects instead of blocking the caller
+    @Bean(name = "searchExecutor")
+    public ThreadPoolTaskExecutor searchExecutor(
+            @Value("${product.bulkhead.search.threads:4}") int threads,
+            @Value("${product.bulkhead.search.queue-capacity:50}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ProductSearch-");
+        executor.setTaskDecorator(WorkloadContext.searchDecorator());
+        executor.initialize();
+        return executor;
+    }
+
+    // Bulk import jobs: one thread per running job reads its file; jobs beyond the queue are refused
+    @Bean(name = "importJobExecutor")
+    public ThreadPoolTaskExecutor importJobExecutor(
+            @Value("${product.import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+            @Value("${product.import.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrentJobs);
+        executor.setMaxPoolSize(maxConcurrentJobs);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("ProductImport-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Parses, validates and inserts import chunks; when saturated the job thread runs the chunk itself
+    @Bean(name = "importWorkerExecutor")
+    public ThreadPoolTaskExecutor importWorkerExecutor(
+            @Value("${product.import.worker-threads:4}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 2);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("ProductImportWorker-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Price history compaction, off the scheduler's threads; a trigger while a run is still going is dropped
+    @Bean(name = "compactionExecutor")
+    public ThreadPoolTaskExecutor compactionExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        executor.setThreadNamePrefix("PriceHistoryCompaction-");
+        executor.initialize();
+        return executor;
+    }
 }
\ No newline at end of file
@@ -1,8 +1,21 @@
 package com.arrayindex.productmanagementapi.config;
 
+import com.arrayindex.productmanagementapi.cache.BoundedConcurrentMapCache;
+import com.arrayindex.productmanagementapi.cache.CompressingCodecRedisSerializer;
+import com.arrayindex.productmanagementapi.cache.EncodedResponseCache;
+import com.arrayindex.productmanagementapi.cache.FailoverCacheManager;
+import com.arrayindex.productmanagementapi.cache.OffHeapProductCache;
+import com.arrayindex.productmanagementapi.cache.ProductBinaryCodec;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.CompositeCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
@@ -11,46 +24,129 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Configuration
 @EnableCaching
 @Slf4j
-public class CacheConfig {
+public class CacheConfig implements DisposableBean {
+
+    // "binary" uses ProductBinaryCodec, "jdk" keeps the default JDK serialization
+    @Value("${product.cache.codec:binary}")
+    private String cacheCodec;
+
+    @Value("${product.cache.compression-threshold:1024}")
+    private int compressionThreshold;
+
+    // "method" caches ProductService results, "hibernate" leaves caching to the Hibernate L2/query cache
+    @Value("${product.cache.mode:method}")
+    private String cacheMode;
+
+    @Value("${product.cache.off-heap.enabled:false}")
+    private boolean offHeapEnabled;
+
+    @Value("${product.cache.off-heap.capacity-bytes:268435456}")
+    private int offHeapCapacityBytes;
+
+    @Value("${product.cache.off-heap.max-entries:1000000}")
+    private int offHeapMaxEntries;
+
+    // Redis calls slower than this count as failures towards the circuit breaker
+    @Value("${product.cache.redis.latency-budget-ms:250}")
+    private long redisLatencyBudgetMs;
+
+    @Value("${product.cache.redis.failure-threshold:5}")
+    private int redisFailureThreshold;
+
+    @Value("${product.cache.redis.probe-interval-ms:5000}")
+    private long redisProbeIntervalMs;
+
+    // Distinct list responses (endpoint + parameters) kept as encoded JSON
+    @Value("${product.cache.responses.max-entries:1024}")
+    private int responseCacheMaxEntries;
+
+    private FailoverCacheManager failoverCacheManager;
 
     @Bean
     @Primary
-    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory) {
-        try {
-            // Test Redis connection
-            redisConnectionFactory.getConnection().ping();
-            log.info("Redis connection successful, using Redis cache manager");
-            
-            Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
-            
-            // Configure different cache TTLs
-            cacheConfigurations.put("products", RedisCacheConfiguration.defaultCacheConfig()
-                    .entryTtl(Duration.ofMinutes(10))
-                    .disableCachingNullValues());
-            
-            cacheConfigurations.put("productById", RedisCacheConfiguration.defaultCacheConfig()
-                    .entryTtl(Duration.ofMinutes(30))
-                    .disableCachingNullValues());
-            
-            cacheConfigurations.put("productCategories", RedisCacheConfiguration.defaultCacheConfig()
-                    .entryTtl(Duration.ofMinutes(60))
+    public CacheManager cacheManager(RedisConnectionFactory redisConnectionFactory, MeterRegistry meterRegistry) {
+        if (HibernateCacheConfig.HIBERNATE_MODE.equalsIgnoreCase(cacheMode)) {
+            log.info("Method-level caching disabled, entities are cached by Hibernate");
+            return new NoOpCacheManager();
+        }
+        
+        CacheManager cacheManager = redisFailoverCacheManager(redisConnectionFactory, meterRegistry);
+
+        // Node-local caches are consulted first, every other cache comes from the Redis/in-memory manager
+        List<Cache> localCaches = new ArrayList<>();
+        localCaches.add(new BoundedConcurrentMapCache(EncodedResponseCache.CACHE_NAME, responseCacheMaxEntries));
+        if (offHeapEnabled) {
+            log.info("Using off-heap productById cache ({} bytes, max {} entries)", offHeapCapacityBytes, offHeapMaxEntries);
+            localCaches.add(new OffHeapProductCache("productById", offHeapCapacityBytes, offHeapMaxEntries));
+        }
+        SimpleCacheManager localCacheManager = new SimpleCacheManager();
+        localCacheManager.setCaches(localCaches);
+        localCacheManager.initializeCaches();
+        return new CompositeCacheManager(localCacheManager, cacheManager);
+    }
+
+    private CacheManager redisFailoverCacheManager(RedisConnectionFactory redisConnectionFactory, MeterRegistry meterRegistry) {
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+
+        // Configure different cache TTLs
+        cacheConfigurations.put("products", redisCacheConfiguration("products", meterRegistry)
+                .entryTtl(Duration.ofMinutes(10))
+                .disableCachingNullValues());
+
+        cacheConfigurations.put("productById", redisCacheConfiguration("productById", meterRegistry)
+                .entryTtl(Duration.ofMinutes(30))
+                .disableCachingNullValues());
+
+        cacheConfigurations.put("productCategories", redisCacheConfiguration("productCategories", meterRegistry)
+                .entryTtl(Duration.ofMinutes(60))
+                .disableCachingNullValues());
+
+        // Query result caches keep the default (no) TTL but get their own codec metrics
+        for (String cacheName : new String[] {"productsByCategory", "activeProducts", "productsByName", "productsByDescription"}) {
+            cacheConfigurations.put(cacheName, redisCacheConfiguration(cacheName, meterRegistry)
                     .disableCachingNullValues());
+        }
+
+        // Building the manager does not connect; FailoverCacheManager probes Redis in the background
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
+                .cacheDefaults(redisCacheConfiguration("default", meterRegistry).disableCachingNullValues())
+                .withInitialCacheConfigurations(cacheConfigurations)
+                .build();
+        redisCacheManager.initializeCaches();
+
+        FailoverCacheManager cacheManager = new FailoverCacheManager(redisCacheManager, simpleCacheManager(),
+                redisConnectionFactory, meterRegistry, Duration.ofMillis(redisLatencyBudgetMs),
+                redisFailureThreshold, Duration.ofMillis(redisProbeIntervalMs));
+        failoverCacheManager = cacheManager;
+        cacheManager.start();
+        return cacheManager;
+    }
+
+    private RedisCacheConfiguration redisCacheConfiguration(String cacheName, MeterRegistry meterRegistry) {
+        RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig();
+        if ("binary".equalsIgnoreCase(cacheCodec)) {
+            config = config.serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                    new CompressingCodecRedisSerializer(cacheName, new ProductBinaryCodec(), compressionThreshold, meterRegistry)));
+        }
+        return config;
+    }
 
-            return RedisCacheManager.builder(redisConnectionFactory)
-                    .withInitialCacheConfigurations(cacheConfigurations)
-                    .build();
-                    
-        } catch (Exception e) {
-            log.warn("Redis connection failed, falling back to simple cache manager: {}", e.getMessage());
-            return simpleCacheManager();
+    @Override
+    public void destroy() {
+        // Not a bean of its own (it may sit inside a CompositeCacheManager), so stop its probe here
+        if (failoverCacheManager != null) {
+            failoverCacheManager.stop();
         }
     }
 
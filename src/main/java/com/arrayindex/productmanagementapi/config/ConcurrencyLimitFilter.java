@@ -0,0 +1,165 @@
+package com.arrayindex.productmanagementapi.config;
+
+import com.arrayindex.productmanagementapi.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds load on {@code /api/products} before it reaches the JDBC pool: reads and writes each pass
+ * through their own {@link AdaptiveConcurrencyLimiter}, and a request arriving while its limit is
+ * in use gets an immediate 503 with {@code Retry-After} instead of waiting in the Tomcat queue.
+ * POST search and batch lookups count as reads; the long-lived change stream is not limited.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(name = "product.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String PATH_PREFIX = "/api/products";
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final Counter readRejections;
+    private final Counter writeRejections;
+    private final long retryAfterSeconds;
+    private final ObjectMapper objectMapper;
+
+    public ConcurrencyLimitFilter(MeterRegistry meterRegistry,
+                                  ObjectMapper objectMapper,
+                                  @Value("${product.concurrency-limit.read.initial:20}") int readInitial,
+                                  @Value("${product.concurrency-limit.read.min:4}") int readMin,
+                                  @Value("${product.concurrency-limit.read.max:200}") int readMax,
+                                  @Value("${product.concurrency-limit.write.initial:10}") int writeInitial,
+                                  @Value("${product.concurrency-limit.write.min:2}") int writeMin,
+                                  @Value("${product.concurrency-limit.write.max:50}") int writeMax,
+                                  @Value("${product.concurrency-limit.tolerance:2.0}") double tolerance,
+                                  @Value("${product.concurrency-limit.backoff-ratio:0.9}") double backoffRatio,
+                                  @Value("${product.concurrency-limit.window-size:500}") int windowSize,
+                                  @Value("${product.concurrency-limit.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.readLimiter = new AdaptiveConcurrencyLimiter(readInitial, readMin, readMax, tolerance, backoffRatio, windowSize);
+        this.writeLimiter = new AdaptiveConcurrencyLimiter(writeInitial, writeMin, writeMax, tolerance, backoffRatio, windowSize);
+        this.readRejections = meterRegistry.counter("http.concurrency.rejected", "group", "read");
+        this.writeRejections = meterRegistry.counter("http.concurrency.rejected", "group", "write");
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.objectMapper = objectMapper;
+        meterRegistry.gauge("http.concurrency.limit", Tags.of("group", "read"), readLimiter, AdaptiveConcurrencyLimiter::getLimit);
+        meterRegistry.gauge("http.concurrency.limit", Tags.of("group", "write"), writeLimiter, AdaptiveConcurrencyLimiter::getLimit);
+        meterRegistry.gauge("http.concurrency.in-flight", Tags.of("group", "read"), readLimiter, AdaptiveConcurrencyLimiter::getInFlight);
+        meterRegistry.gauge("http.concurrency.in-flight", Tags.of("group", "write"), writeLimiter, AdaptiveConcurrencyLimiter::getInFlight);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !path.startsWith(PATH_PREFIX) || path.equals(PATH_PREFIX + "/stream");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean read = isRead(request);
+        AdaptiveConcurrencyLimiter limiter = read ? readLimiter : writeLimiter;
+        if (!limiter.tryAcquire()) {
+            (read ? readRejections : writeRejections).increment();
+            reject(request, response, limiter);
+            return;
+        }
+
+        Permit permit = new Permit(limiter);
+        boolean failed = true;
+        try {
+            chain.doFilter(request, response);
+            failed = response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        } finally {
+            if (request.isAsyncStarted()) {
+                // Bulkheaded handlers finish on another thread; hold the slot until the response completes
+                request.getAsyncContext().addListener(permit);
+            } else {
+                permit.release(failed);
+            }
+        }
+    }
+
+    private boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) {
+            return true;
+        }
+        String uri = request.getRequestURI();
+        return "POST".equals(method) && (uri.endsWith("/search") || uri.endsWith("/batch"));
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response, AdaptiveConcurrencyLimiter limiter)
+            throws IOException {
+        log.debug("Shedding {} {} at concurrency limit {}", request.getMethod(), request.getRequestURI(), limiter.getLimit());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        ErrorResponse errorResponse = new ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Server is at capacity, retry later",
+                LocalDateTime.now(),
+                "uri=" + request.getRequestURI()
+        );
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private static final class Permit implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimiter limiter;
+        private final long start = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Permit(AdaptiveConcurrencyLimiter limiter) {
+            this.limiter = limiter;
+        }
+
+        private void release(boolean failed) {
+            if (released.compareAndSet(false, true)) {
+                limiter.release(System.nanoTime() - start, failed);
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            release(response.getStatus() >= HttpStatus.INTERNAL_SERVER_ERROR.value());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release(true);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.arrayindex.productmanagementapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * {@code /actuator/connectionpools}: active, idle and pending counts of each Hikari pool with its slowest
+ * borrowers by call site. Wait and hold time distributions are the {@code hikaricp.connections.acquire}
+ * and {@code hikaricp.connections.usage} histograms.
+ */
+@Component
+@Endpoint(id = "connectionpools")
+@ConditionalOnProperty(name = "product.datasource.pool-observer.enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionPoolEndpoint {
+
+    private final ConnectionPoolObservers observers;
+    private final int topCallSites;
+
+    public ConnectionPoolEndpoint(ConnectionPoolObservers observers,
+                                  @Value("${product.datasource.pool-observer.top-call-sites:10}") int topCallSites) {
+        this.observers = observers;
+        this.topCallSites = topCallSites;
+    }
+
+    @ReadOperation
+    public List<ConnectionPoolObserver.PoolSnapshot> connectionPools() {
+        return observers.getPools().stream()
+                .map(pool -> pool.observer().snapshot(topCallSites))
+                .sorted(Comparator.comparing(ConnectionPoolObserver.PoolSnapshot::pool))
+                .toList();
+    }
+}
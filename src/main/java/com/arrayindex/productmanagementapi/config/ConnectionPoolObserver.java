@@ -0,0 +1,230 @@
+package com.arrayindex.productmanagementapi.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hikari metrics tracker for one pool. Forwards to Micrometer's tracker (the {@code hikaricp.connections.*}
+ * meters) and additionally keeps acquire wait and hold time per call site, the first application frame above
+ * the pool (for transactional services, the service method), plus the totals since the last
+ * {@link #drainWindow()} for {@link AdaptivePoolSizing}.
+ * <p>
+ * Hikari reports an acquisition and the matching return on the borrowing thread, so each borrow is
+ * remembered in a thread-local until its connection is closed.
+ */
+public class ConnectionPoolObserver implements IMetricsTracker {
+
+    static final String UNKNOWN = "unknown";
+    static final String OTHER = "other";
+
+    private static final String APPLICATION_PACKAGE = "com.arrayindex.productmanagementapi.";
+    private static final Set<String> POOL_CLASSES = Set.of(
+            ConnectionPoolObserver.class.getName(), ReadWriteRoutingDataSource.class.getName());
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+    // Connections closed on another thread than they were borrowed on never pop their entry
+    private static final int MAX_OPEN_BORROWS = 16;
+
+    private final String poolName;
+    private final PoolStats poolStats;
+    private final IMetricsTracker delegate;
+    private final boolean trackCallSites;
+    private final int maxCallSites;
+
+    private final ConcurrentMap<String, CallSite> callSites = new ConcurrentHashMap<>();
+    private final ThreadLocal<ArrayDeque<Borrow>> openBorrows = ThreadLocal.withInitial(ArrayDeque::new);
+    private final LongAdder timeouts = new LongAdder();
+
+    // Since the last drainWindow()
+    private final LongAdder windowAcquisitions = new LongAdder();
+    private final LongAdder windowWaitNanos = new LongAdder();
+    private final LongAdder windowReturns = new LongAdder();
+    private final LongAdder windowHoldNanos = new LongAdder();
+    private final LongAdder windowTimeouts = new LongAdder();
+
+    public ConnectionPoolObserver(String poolName, PoolStats poolStats, IMetricsTracker delegate,
+                                  boolean trackCallSites, int maxCallSites) {
+        this.poolName = poolName;
+        this.poolStats = poolStats;
+        this.delegate = delegate != null ? delegate : new IMetricsTracker() { };
+        this.trackCallSites = trackCallSites;
+        this.maxCallSites = maxCallSites;
+    }
+
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        delegate.recordConnectionCreatedMillis(connectionCreatedMillis);
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        delegate.recordConnectionAcquiredNanos(elapsedAcquiredNanos);
+        windowAcquisitions.increment();
+        windowWaitNanos.add(elapsedAcquiredNanos);
+        CallSite callSite = callSite(trackCallSites ? currentCallSite() : UNKNOWN);
+        callSite.acquired(elapsedAcquiredNanos);
+
+        ArrayDeque<Borrow> borrows = openBorrows.get();
+        if (borrows.size() >= MAX_OPEN_BORROWS) {
+            borrows.clear();
+        }
+        borrows.push(new Borrow(callSite, System.nanoTime()));
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        delegate.recordConnectionUsageMillis(elapsedBorrowedMillis);
+        Borrow borrow = openBorrows.get().poll();
+        long holdNanos = borrow != null
+                ? System.nanoTime() - borrow.startNanos()
+                : TimeUnit.MILLISECONDS.toNanos(elapsedBorrowedMillis);
+        windowReturns.increment();
+        windowHoldNanos.add(holdNanos);
+        (borrow != null ? borrow.callSite() : callSite(UNKNOWN)).returned(holdNanos);
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        delegate.recordConnectionTimeout();
+        timeouts.increment();
+        windowTimeouts.increment();
+        // Hikari reports the failed attempt as an acquisition first; no connection will come back for it
+        Borrow borrow = openBorrows.get().poll();
+        (borrow != null ? borrow.callSite() : callSite(UNKNOWN)).timeouts.increment();
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    /**
+     * Returns the borrows since the previous call and starts a new window.
+     */
+    public Window drainWindow() {
+        return new Window(windowAcquisitions.sumThenReset(), windowWaitNanos.sumThenReset(),
+                windowReturns.sumThenReset(), windowHoldNanos.sumThenReset(), windowTimeouts.sumThenReset());
+    }
+
+    /**
+     * Pool counts (refreshed by Hikari at most once a second) and the {@code top} call sites by mean hold time.
+     */
+    public PoolSnapshot snapshot(int top) {
+        List<CallSiteSnapshot> slowest = callSites.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(Comparator.comparingDouble(CallSiteSnapshot::meanHoldMs).reversed())
+                .limit(top)
+                .toList();
+        return new PoolSnapshot(poolName, poolStats.getActiveConnections(), poolStats.getIdleConnections(),
+                poolStats.getPendingThreads(), poolStats.getTotalConnections(), poolStats.getMaxConnections(),
+                timeouts.sum(), slowest);
+    }
+
+    private CallSite callSite(String name) {
+        CallSite callSite = callSites.get(name);
+        if (callSite != null) {
+            return callSite;
+        }
+        // Bounded, in case call sites turn out to be generated (e.g. per-query lambdas)
+        return callSites.computeIfAbsent(callSites.size() < maxCallSites ? name : OTHER, key -> new CallSite());
+    }
+
+    static String currentCallSite() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+                        && !POOL_CLASSES.contains(frame.getClassName()))
+                .findFirst()
+                .map(ConnectionPoolObserver::describe)
+                .orElse(UNKNOWN));
+    }
+
+    // ProductService$$SpringCGLIB$$0.getAllProducts -> ProductService.getAllProducts,
+    // CacheWarmup.lambda$watermark$3 -> CacheWarmup.watermark
+    static String describe(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        int proxySuffix = className.indexOf("$$");
+        if (proxySuffix >= 0) {
+            className = className.substring(0, proxySuffix);
+        }
+        String method = frame.getMethodName();
+        if (method.startsWith("lambda$")) {
+            int end = method.indexOf('$', "lambda$".length());
+            method = method.substring("lambda$".length(), end > 0 ? end : method.length());
+        }
+        return className.substring(className.lastIndexOf('.') + 1) + "." + method;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private record Borrow(CallSite callSite, long startNanos) {
+    }
+
+    private static final class CallSite {
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder returns = new LongAdder();
+        private final LongAdder holdNanos = new LongAdder();
+        private final LongAccumulator maxHoldNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder timeouts = new LongAdder();
+
+        void acquired(long nanos) {
+            acquisitions.increment();
+            waitNanos.add(nanos);
+            maxWaitNanos.accumulate(nanos);
+        }
+
+        void returned(long nanos) {
+            returns.increment();
+            holdNanos.add(nanos);
+            maxHoldNanos.accumulate(nanos);
+        }
+
+        CallSiteSnapshot snapshot(String name) {
+            long acquired = acquisitions.sum();
+            long returned = returns.sum();
+            return new CallSiteSnapshot(name, acquired,
+                    acquired > 0 ? millis(waitNanos.sum() / acquired) : 0, millis(maxWaitNanos.get()),
+                    returned > 0 ? millis(holdNanos.sum() / returned) : 0, millis(maxHoldNanos.get()),
+                    timeouts.sum());
+        }
+    }
+
+    /**
+     * Borrows in one sampling window; hold time runs from acquisition to close, i.e. the database work
+     * plus whatever the borrower does between statements.
+     */
+    public record Window(long acquisitions, long waitNanos, long returns, long holdNanos, long timeouts) {
+
+        public long meanWaitNanos() {
+            return acquisitions > 0 ? waitNanos / acquisitions : 0;
+        }
+
+        public long meanHoldNanos() {
+            return returns > 0 ? holdNanos / returns : 0;
+        }
+    }
+
+    public record PoolSnapshot(String pool, int active, int idle, int pending, int total, int maxPoolSize,
+                               long timeouts, List<CallSiteSnapshot> slowestBorrowers) {
+    }
+
+    public record CallSiteSnapshot(String callSite, long acquisitions, double meanWaitMs, double maxWaitMs,
+                                   double meanHoldMs, double maxHoldMs, long timeouts) {
+    }
+}
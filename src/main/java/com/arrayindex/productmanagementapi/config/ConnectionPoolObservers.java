@@ -0,0 +1,78 @@
+package com.arrayindex.productmanagementapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Installs a {@link ConnectionPoolObserver} on every Hikari pool in the context (the default pool, or the
+ * primary, replica and search pools of {@link DataSourceRoutingConfig}). The observer wraps Micrometer's Hikari
+ * tracker, which Spring Boot would otherwise install, so the {@code hikaricp.connections.*} meters are kept.
+ */
+@Component
+@ConditionalOnProperty(name = "product.datasource.pool-observer.enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionPoolObservers implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final boolean trackCallSites;
+    private final int maxCallSites;
+    private final Map<String, ObservedPool> pools = new ConcurrentHashMap<>();
+
+    public ConnectionPoolObservers(ObjectProvider<MeterRegistry> meterRegistry,
+                                   @Value("${product.datasource.pool-observer.call-sites:true}") boolean trackCallSites,
+                                   @Value("${product.datasource.pool-observer.max-call-sites:100}") int maxCallSites) {
+        this.meterRegistry = meterRegistry;
+        this.trackCallSites = trackCallSites;
+        this.maxCallSites = maxCallSites;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // A Dropwizard registry excludes a tracker factory; leave such pools alone
+        if (bean instanceof HikariDataSource dataSource && dataSource.getMetricRegistry() == null) {
+            observe(dataSource);
+        }
+        return bean;
+    }
+
+    /**
+     * Must be called before the pool starts; the observer is created when it does.
+     */
+    public void observe(HikariDataSource dataSource) {
+        dataSource.setMetricsTrackerFactory((poolName, poolStats) -> {
+            // Looked up when the pool starts, by which time the registry is fully configured
+            MeterRegistry registry = meterRegistry.getIfAvailable();
+            IMetricsTracker micrometer = registry != null
+                    ? new MicrometerMetricsTrackerFactory(registry).create(poolName, poolStats)
+                    : null;
+            ConnectionPoolObserver observer = new ConnectionPoolObserver(poolName, poolStats, micrometer,
+                    trackCallSites, maxCallSites);
+            pools.put(poolName, new ObservedPool(dataSource, observer));
+            return observer;
+        });
+    }
+
+    /**
+     * Started pools only, by pool name.
+     */
+    public ObservedPool getPool(String poolName) {
+        return pools.get(poolName);
+    }
+
+    public Collection<ObservedPool> getPools() {
+        return pools.values();
+    }
+
+    public record ObservedPool(HikariDataSource dataSource, ConnectionPoolObserver observer) {
+    }
+}
@@ -0,0 +1,93 @@
+package com.arrayindex.productmanagementapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Routed DataSource over separate connection pools. {@code @Transactional(readOnly = true)} work is
+ * served by the replica pool (when enabled) and all other work by the primary pool built from
+ * {@code spring.datasource.*}. Work on the search bulkhead gets its own small pool (against the
+ * replica when there is one), so search storms cannot drain the connections CRUD requests need.
+ * Flyway always migrates the primary.
+ */
+@Configuration
+@ConditionalOnExpression("${product.datasource.replica.enabled:false} or ${product.bulkhead.search.pool.enabled:false}")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "product.datasource.replica.enabled", havingValue = "true")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+                                              @Value("${product.datasource.replica.url}") String url,
+                                              @Value("${product.datasource.replica.username:${spring.datasource.username:}}") String username,
+                                              @Value("${product.datasource.replica.password:${spring.datasource.password:}}") String password,
+                                              @Value("${product.datasource.replica.maximum-pool-size:10}") int maximumPoolSize) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.REPLICA);
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "product.bulkhead.search.pool.enabled", havingValue = "true")
+    public HikariDataSource searchDataSource(DataSourceProperties properties,
+                                             @Value("${product.datasource.replica.enabled:false}") boolean replicaEnabled,
+                                             @Value("${product.datasource.replica.url:}") String replicaUrl,
+                                             @Value("${product.datasource.replica.username:${spring.datasource.username:}}") String replicaUsername,
+                                             @Value("${product.datasource.replica.password:${spring.datasource.password:}}") String replicaPassword,
+                                             @Value("${product.bulkhead.search.pool.maximum-pool-size:4}") int maximumPoolSize,
+                                             @Value("${product.bulkhead.search.pool.connection-timeout-ms:2000}") long connectionTimeoutMs) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(ReadWriteRoutingDataSource.SEARCH);
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(replicaEnabled ? replicaUrl : properties.determineUrl());
+        dataSource.setUsername(replicaEnabled ? replicaUsername : properties.determineUsername());
+        dataSource.setPassword(replicaEnabled ? replicaPassword : properties.determinePassword());
+        dataSource.setMaximumPoolSize(maximumPoolSize);
+        dataSource.setConnectionTimeout(connectionTimeoutMs);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primaryDataSource,
+                                 @Qualifier("replicaDataSource") ObjectProvider<DataSource> replicaDataSource,
+                                 @Qualifier("searchDataSource") ObjectProvider<DataSource> searchDataSource,
+                                 MeterRegistry meterRegistry) {
+        DataSource replica = replicaDataSource.getIfAvailable();
+        DataSource search = searchDataSource.getIfAvailable();
+        log.info("Routing DataSource: replica pool {}, search pool {}",
+                replica != null ? "enabled" : "disabled", search != null ? "enabled" : "disabled");
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primaryDataSource, replica, search, meterRegistry));
+    }
+}
@@ -0,0 +1,73 @@
+package com.arrayindex.productmanagementapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+
+/**
+ * Start-up trimming for the {@code fast-start} profile (see application-fast-start.properties).
+ * <p>
+ * Lazy initialization would silently disable beans that only do their work once created, so beans
+ * with {@link KafkaListener} or {@link Scheduled} methods stay eager. Topic creation, which needs a
+ * broker round trip, runs after the application is ready instead of inside the context refresh.
+ */
+@Slf4j
+@Configuration
+@Profile(FastStartConfig.PROFILE)
+public class FastStartConfig {
+
+    public static final String PROFILE = "fast-start";
+
+    @Bean
+    static LazyInitializationExcludeFilter eagerListenersAndScheduledJobs() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (AnnotatedElementUtils.hasAnnotation(beanType, KafkaListener.class)
+                || hasAnnotatedMethod(beanType, KafkaListener.class)
+                || hasAnnotatedMethod(beanType, Scheduled.class));
+    }
+
+    // Boot hands the executor with this name to the deferred Hibernate bootstrap
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new SimpleAsyncTaskExecutor("FastStart-");
+    }
+
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> deferredTopicCreation(ObjectProvider<KafkaAdmin> kafkaAdmin) {
+        return event -> kafkaAdmin.ifAvailable(admin -> {
+            Thread thread = new Thread(() -> {
+                // Logs and returns false when the broker is unreachable
+                if (admin.initialize()) {
+                    log.info("Kafka topics verified after start-up");
+                }
+            }, "KafkaTopicInit");
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    static boolean hasAnnotatedMethod(Class<?> type, Class<? extends Annotation> annotation) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(type)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, annotation)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
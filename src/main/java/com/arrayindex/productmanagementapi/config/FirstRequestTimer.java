@@ -0,0 +1,73 @@
+package com.arrayindex.productmanagementapi.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reports time-to-first-request: JVM uptime when the first request has been handled, published
+ * as {@code application.first-request.time} tagged with the start-up mode ({@code fast-start} or
+ * {@code default}) and whether the AOT-processed context was used. Uptime starts with the JVM, so
+ * class loading (and the CDS archive, when present) is part of the figure.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final String mode;
+    private final AtomicBoolean recorded = new AtomicBoolean();
+
+    public FirstRequestTimer(MeterRegistry meterRegistry, Environment environment) {
+        this.meterRegistry = meterRegistry;
+        this.mode = environment.acceptsProfiles(Profiles.of(FastStartConfig.PROFILE)) ? FastStartConfig.PROFILE : "default";
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return recorded.get();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (recorded.compareAndSet(false, true)) {
+                record(request);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request) {
+        long uptimeMs = ManagementFactory.getRuntimeMXBean().getUptime();
+        boolean aot = AotDetector.useGeneratedArtifacts();
+        TimeGauge.builder("application.first-request.time", () -> uptimeMs, TimeUnit.MILLISECONDS)
+                .description("JVM uptime when the first HTTP request was handled")
+                .tag("mode", mode)
+                .tag("aot", String.valueOf(aot))
+                .register(meterRegistry);
+        log.info("First request ({} {}) handled {} ms after JVM start (mode={}, aot={})",
+                request.getMethod(), request.getRequestURI(), uptimeMs, mode, aot);
+    }
+}
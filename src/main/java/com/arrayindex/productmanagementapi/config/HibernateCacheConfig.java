@@ -0,0 +1,44 @@
+package com.arrayindex.productmanagementapi.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Switches Hibernate's second-level and query caches on for {@code product.cache.mode=hibernate}.
+ * Entities marked {@code @Cacheable} are cached per id in local Caffeine JCache regions and invalidated
+ * by Hibernate itself on update/delete; cached query results are invalidated whenever a table they read
+ * from changes. In the default {@code method} mode both caches stay off and the Spring cache layer is used.
+ */
+@Configuration
+@Slf4j
+public class HibernateCacheConfig {
+
+    public static final String HIBERNATE_MODE = "hibernate";
+
+    @Value("${product.cache.mode:method}")
+    private String cacheMode;
+
+    @Value("${product.cache.hibernate.config:hibernate-jcache.conf}")
+    private String jcacheConfig;
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            boolean enabled = HIBERNATE_MODE.equalsIgnoreCase(cacheMode);
+            // hibernate-jcache on the classpath would otherwise enable the L2 cache implicitly
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, enabled);
+            if (enabled) {
+                log.info("Using Hibernate second-level and query cache ({})", jcacheConfig);
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+                properties.put("hibernate.javax.cache.uri", jcacheConfig);
+                properties.put("hibernate.javax.cache.missing_cache_strategy", "create");
+            }
+        };
+    }
+}
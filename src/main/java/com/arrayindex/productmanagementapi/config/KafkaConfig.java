@@ -14,6 +14,7 @@ import org.springframework.kafka.core.*;
 import org.springframework.kafka.support.serializer.JsonSerializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
 import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.service.KafkaProducerService;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -25,9 +26,13 @@ public class KafkaConfig {
     @Value("${spring.kafka.bootstrap-servers}")
     private String bootstrapServers;
 
+    // How long send() may block a request thread on metadata or a full buffer before failing over to the spill queue
+    @Value("${product.events.max-block-ms:1000}")
+    private long maxBlockMs;
+
     @Bean
     public NewTopic productTopic() {
-        return new NewTopic("products", 1, (short) 1);
+        return new NewTopic(KafkaProducerService.PRODUCTS_TOPIC, 1, (short) 1);
     }
 
     @Bean
@@ -38,6 +43,7 @@ public class KafkaConfig {
         configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
         configProps.put(ProducerConfig.ACKS_CONFIG, "all");
         configProps.put(ProducerConfig.RETRIES_CONFIG, 3);
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
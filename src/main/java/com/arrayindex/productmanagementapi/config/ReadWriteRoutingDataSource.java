@@ -0,0 +1,76 @@
+package com.arrayindex.productmanagementapi.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Sends connections for read-only transactions to the replica and everything else to the primary.
+ * When a search pool is configured, work running on the search bulkhead ({@link WorkloadContext})
+ * takes its connections from that pool instead, whatever the transaction type.
+ * <p>
+ * The read-only flag is only known once the transaction has started, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}; otherwise the transaction
+ * manager fetches its connection before the flag is set and every transaction lands on the primary.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+    public static final String SEARCH = "search";
+
+    private final boolean hasReplica;
+    private final boolean hasSearch;
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter searchConnections;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, MeterRegistry meterRegistry) {
+        this(primary, replica, null, meterRegistry);
+    }
+
+    /**
+     * @param replica optional, null sends read-only transactions to the primary
+     * @param search  optional, null leaves search work on the primary/replica pools
+     */
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, DataSource search, MeterRegistry meterRegistry) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        if (replica != null) {
+            targets.put(REPLICA, replica);
+        }
+        if (search != null) {
+            targets.put(SEARCH, search);
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        this.hasReplica = replica != null;
+        this.hasSearch = search != null;
+        this.primaryConnections = Counter.builder("datasource.routing.connections")
+                .tag("target", PRIMARY).register(meterRegistry);
+        this.replicaConnections = Counter.builder("datasource.routing.connections")
+                .tag("target", REPLICA).register(meterRegistry);
+        this.searchConnections = Counter.builder("datasource.routing.connections")
+                .tag("target", SEARCH).register(meterRegistry);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (hasSearch && WorkloadContext.isSearch()) {
+            searchConnections.increment();
+            return SEARCH;
+        }
+        if (hasReplica && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            replicaConnections.increment();
+            return REPLICA;
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+}
@@ -0,0 +1,22 @@
+package com.arrayindex.productmanagementapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    // Without a scheduler bean every @Scheduled method shares one thread, so the 50 ms cache invalidation
+    // flush would wait behind heartbeats, cache snapshots and pool sizing; long jobs use their own executors
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${product.scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("ProductScheduler-");
+        return scheduler;
+    }
+}
@@ -0,0 +1,33 @@
+package com.arrayindex.productmanagementapi.config;
+
+import org.springframework.core.task.TaskDecorator;
+
+/**
+ * Marks threads that run search, statistics or export work so {@link ReadWriteRoutingDataSource}
+ * can hand them connections from the search pool instead of the pool used by CRUD requests.
+ */
+public final class WorkloadContext {
+
+    private static final ThreadLocal<Boolean> SEARCH = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    public static boolean isSearch() {
+        return Boolean.TRUE.equals(SEARCH.get());
+    }
+
+    /**
+     * Task decorator for the search executor: every task it runs is search work.
+     */
+    public static TaskDecorator searchDecorator() {
+        return task -> () -> {
+            SEARCH.set(Boolean.TRUE);
+            try {
+                task.run();
+            } finally {
+                SEARCH.remove();
+            }
+        };
+    }
+}
@@ -0,0 +1,165 @@
+package com.arrayindex.productmanagementapi.controller;
+
+import com.arrayindex.productmanagementapi.service.CatalogSnapshotService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Full-catalog download from the file kept by {@link CatalogSnapshotService}.
+ * <p>
+ * On Tomcat the file is handed to the connector's sendfile support, which writes it to the socket with
+ * {@link FileChannel#transferTo}, so the body never enters the heap; other containers get
+ * {@code transferTo} into the response stream. Supports conditional GET (ETag / Last-Modified) and single
+ * byte ranges, so interrupted downloads can resume.
+ */
+@RestController
+@RequestMapping("/api/products/snapshot")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Tag(name = "Catalog Snapshot", description = "Bulk download of the whole product catalog")
+public class CatalogSnapshotController {
+
+    static final String MEDIA_TYPE = "application/gzip";
+
+    // Tomcat request attributes for sendfile (org.apache.coyote.Constants / org.apache.catalina.Globals)
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final MeterRegistry meterRegistry;
+
+    @Operation(summary = "Download the catalog snapshot",
+            description = "Gzipped JSON array of all products, regenerated in the background shortly after writes. "
+                    + "Supports If-None-Match / If-Modified-Since and a single Range (with If-Range) for resuming")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Whole snapshot"),
+        @ApiResponse(responseCode = "206", description = "Requested byte range of the snapshot"),
+        @ApiResponse(responseCode = "304", description = "Snapshot unchanged"),
+        @ApiResponse(responseCode = "416", description = "Range outside the snapshot"),
+        @ApiResponse(responseCode = "503", description = "First snapshot not written yet")
+    })
+    @GetMapping
+    public void downloadSnapshot(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        CatalogSnapshotService.Snapshot snapshot = catalogSnapshotService.getCurrent();
+        if (snapshot == null) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Catalog snapshot not available yet");
+            count("unavailable");
+            return;
+        }
+        if (new ServletWebRequest(request, response).checkNotModified(snapshot.etag(), snapshot.lastModified())) {
+            count("not-modified");
+            return;
+        }
+
+        response.setContentType(MEDIA_TYPE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename("catalog.json.gz").build().toString());
+
+        long length = snapshot.length();
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null || !ifRangeMatches(request, snapshot)) {
+            count("full");
+            transfer(request, response, snapshot.file(), 0, length);
+            return;
+        }
+
+        List<HttpRange> ranges;
+        long start;
+        long end;
+        try {
+            ranges = HttpRange.parseRanges(range);
+            if (ranges.size() != 1) {
+                // Multipart byteranges are not worth it for a resumable download: send the whole file
+                count("full");
+                transfer(request, response, snapshot.file(), 0, length);
+                return;
+            }
+            start = ranges.get(0).getRangeStart(length);
+            end = ranges.get(0).getRangeEnd(length);
+            if (start >= length) {
+                throw new IllegalArgumentException("Range starts past the end of the snapshot: " + range);
+            }
+        } catch (IllegalArgumentException e) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            count("unsatisfiable");
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        count("range");
+        transfer(request, response, snapshot.file(), start, end - start + 1);
+    }
+
+    // If-Range: the range only applies to the representation the client already has part of
+    private static boolean ifRangeMatches(HttpServletRequest request, CatalogSnapshotService.Snapshot snapshot) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(snapshot.etag());
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) == snapshot.lastModified();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private static void transfer(HttpServletRequest request, HttpServletResponse response,
+                                 Path file, long start, long count) throws IOException {
+        response.setContentLengthLong(count);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            // Tomcat sends the file after this method returns, without copying it through user space
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0 && position >= channel.size()) {
+                    throw new EOFException("Catalog snapshot " + file + " ended at " + position);
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("catalog.snapshot.requests", "result", result).increment();
+    }
+}
@@ -1,23 +1,44 @@
 package com.arrayindex.productmanagementapi.controller;
 
+import com.arrayindex.productmanagementapi.cache.EncodedResponseCache;
+import com.arrayindex.productmanagementapi.dto.PriceHistoryPage;
+import com.arrayindex.productmanagementapi.dto.PriceOhlcDTO;
+import com.arrayindex.productmanagementapi.dto.PricePointDTO;
+import com.arrayindex.productmanagementapi.dto.ProductBatchResponse;
 import com.arrayindex.productmanagementapi.dto.ProductDTO;
+import com.arrayindex.productmanagementapi.dto.ProductResponse;
 import com.arrayindex.productmanagementapi.dto.ProductSearchDTO;
+import com.arrayindex.productmanagementapi.exception.ProductNotFoundException;
 import com.arrayindex.productmanagementapi.model.Product;
-import com.arrayindex.productmanagementapi.model.PriceHistory;
+import com.arrayindex.productmanagementapi.service.PriceSeriesService;
+import com.arrayindex.productmanagementapi.service.ProductChangeFeed;
 import com.arrayindex.productmanagementapi.service.ProductService;
+import com.arrayindex.productmanagementapi.service.SearchBulkhead;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.convert.DurationStyle;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/products")
@@ -26,14 +47,20 @@ import java.util.Map;
 public class ProductController {
 
     private final ProductService productService;
+    private final PriceSeriesService priceSeriesService;
+    private final ProductChangeFeed productChangeFeed;
+    private final SearchBulkhead searchBulkhead;
+    private final EncodedResponseCache encodedResponseCache;
 
     @Operation(summary = "Get all products", description = "Retrieves a list of all available products")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved products")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved products",
+                content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductResponse.class)))),
+        @ApiResponse(responseCode = "304", description = "Products unchanged since the ETag in If-None-Match")
     })
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.getAllProducts());
+    public ResponseEntity<byte[]> getAllProducts(@RequestHeader HttpHeaders headers) {
+        return encodedResponseCache.respond("all", headers, () -> ProductResponse.fromAll(productService.getAllProducts()));
     }
 
     @Operation(summary = "Get product by ID", description = "Retrieves a specific product by its ID")
@@ -42,13 +69,47 @@ public class ProductController {
         @ApiResponse(responseCode = "404", description = "Product not found")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(
+    public ResponseEntity<ProductResponse> getProductById(
             @Parameter(description = "ID of the product to retrieve") @PathVariable Long id) {
         return productService.getProductById(id)
-                .map(ResponseEntity::ok)
+                .map(product -> ResponseEntity.ok(ProductResponse.from(product)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @Operation(summary = "Stream product changes", description = "Server-Sent Events for product creates, updates, stock changes and deletes; reconnecting clients resume after Last-Event-ID")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Event stream opened"),
+        @ApiResponse(responseCode = "400", description = "Invalid Last-Event-ID")
+    })
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProductChanges(
+            @Parameter(description = "Only changes in this category") @RequestParam(required = false) String category,
+            @Parameter(description = "Only changes to these product IDs") @RequestParam(required = false) Set<Long> ids,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return productChangeFeed.subscribe(category, ids, lastEventId);
+    }
+
+    @Operation(summary = "Get products by IDs", description = "Retrieves several products in one call, in request order, reporting IDs that were not found")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved products"),
+        @ApiResponse(responseCode = "400", description = "Too many IDs requested")
+    })
+    @GetMapping(params = "ids")
+    public ResponseEntity<ProductBatchResponse> getProductsByIds(
+            @Parameter(description = "Comma-separated product IDs") @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+
+    @Operation(summary = "Get products by IDs (batch)", description = "Same as GET with ids, for ID sets too large for a query string")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved products"),
+        @ApiResponse(responseCode = "400", description = "Too many IDs requested")
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<ProductBatchResponse> getProductsByIdsBatch(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(productService.getProductsByIds(ids));
+    }
+
     @Operation(summary = "Create new product", description = "Creates a new product in the system")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Successfully created product"),
@@ -56,10 +117,10 @@ public class ProductController {
         @ApiResponse(responseCode = "409", description = "SKU already exists")
     })
     @PostMapping
-    public ResponseEntity<Product> createProduct(
+    public ResponseEntity<ProductResponse> createProduct(
             @Valid @RequestBody ProductDTO productDTO) {
         Product createdProduct = productService.createProduct(productDTO);
-        return ResponseEntity.status(201).body(createdProduct);
+        return ResponseEntity.status(201).body(ProductResponse.from(createdProduct));
     }
 
     @Operation(summary = "Update product", description = "Updates an existing product by its ID")
@@ -69,11 +130,11 @@ public class ProductController {
         @ApiResponse(responseCode = "409", description = "SKU already exists")
     })
     @PutMapping("/{id}")
-    public ResponseEntity<Product> updateProduct(
+    public ResponseEntity<ProductResponse> updateProduct(
             @PathVariable Long id,
             @Valid @RequestBody ProductDTO productDTO) {
         Product updatedProduct = productService.updateProduct(id, productDTO);
-        return ResponseEntity.ok(updatedProduct);
+        return ResponseEntity.ok(ProductResponse.from(updatedProduct));
     }
 
     @Operation(summary = "Delete product", description = "Deletes a product by its ID")
@@ -92,27 +153,33 @@ public class ProductController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved products")
     })
     @PostMapping("/search")
-    public ResponseEntity<Page<Product>> searchProducts(@Valid @RequestBody ProductSearchDTO searchDTO) {
-        return ResponseEntity.ok(productService.searchProducts(searchDTO));
+    public CompletableFuture<ResponseEntity<Page<ProductResponse>>> searchProducts(@Valid @RequestBody ProductSearchDTO searchDTO) {
+        return searchBulkhead.supply(() -> ResponseEntity.ok(productService.searchProducts(searchDTO).map(ProductResponse::from)));
     }
 
     @Operation(summary = "Get products by category", description = "Retrieves products filtered by category")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved products")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved products",
+                content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductResponse.class)))),
+        @ApiResponse(responseCode = "304", description = "Products unchanged since the ETag in If-None-Match")
     })
     @GetMapping("/category/{category}")
-    public ResponseEntity<List<Product>> getProductsByCategory(
-            @Parameter(description = "Product category") @PathVariable String category) {
-        return ResponseEntity.ok(productService.getProductsByCategory(category));
+    public ResponseEntity<byte[]> getProductsByCategory(
+            @Parameter(description = "Product category") @PathVariable String category,
+            @RequestHeader HttpHeaders headers) {
+        return encodedResponseCache.respond("category:" + category, headers,
+                () -> ProductResponse.fromAll(productService.getProductsByCategory(category)));
     }
 
     @Operation(summary = "Get active products", description = "Retrieves only active products")
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Successfully retrieved active products")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved active products",
+                content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ProductResponse.class)))),
+        @ApiResponse(responseCode = "304", description = "Products unchanged since the ETag in If-None-Match")
     })
     @GetMapping("/active")
-    public ResponseEntity<List<Product>> getActiveProducts() {
-        return ResponseEntity.ok(productService.getActiveProducts());
+    public ResponseEntity<byte[]> getActiveProducts(@RequestHeader HttpHeaders headers) {
+        return encodedResponseCache.respond("active", headers, () -> ProductResponse.fromAll(productService.getActiveProducts()));
     }
 
     @Operation(summary = "Search products by name", description = "Search products by name (case-insensitive)")
@@ -120,9 +187,9 @@ public class ProductController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved products")
     })
     @GetMapping("/search/name")
-    public ResponseEntity<List<Product>> searchProductsByName(
+    public CompletableFuture<ResponseEntity<List<ProductResponse>>> searchProductsByName(
             @Parameter(description = "Product name to search") @RequestParam String name) {
-        return ResponseEntity.ok(productService.searchProductsByName(name));
+        return searchBulkhead.supply(() -> ResponseEntity.ok(ProductResponse.fromAll(productService.searchProductsByName(name))));
     }
 
     @GetMapping("/search/description")
@@ -130,9 +197,9 @@ public class ProductController {
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved products")
     })
-    public ResponseEntity<List<Product>> searchProductsByDescription(
+    public CompletableFuture<ResponseEntity<List<ProductResponse>>> searchProductsByDescription(
             @Parameter(description = "Description keyword to search") @RequestParam String description) {
-        return ResponseEntity.ok(productService.searchProductsByDescription(description));
+        return searchBulkhead.supply(() -> ResponseEntity.ok(ProductResponse.fromAll(productService.searchProductsByDescription(description))));
     }
 
     @Operation(summary = "Get products by price range", description = "Retrieves products within a specific price range")
@@ -140,10 +207,10 @@ public class ProductController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved products")
     })
     @GetMapping("/price-range")
-    public ResponseEntity<List<Product>> getProductsByPriceRange(
+    public CompletableFuture<ResponseEntity<List<ProductResponse>>> getProductsByPriceRange(
             @Parameter(description = "Minimum price") @RequestParam Double minPrice,
             @Parameter(description = "Maximum price") @RequestParam Double maxPrice) {
-        return ResponseEntity.ok(productService.getProductsByPriceRange(minPrice, maxPrice));
+        return searchBulkhead.supply(() -> ResponseEntity.ok(ProductResponse.fromAll(productService.getProductsByPriceRange(minPrice, maxPrice))));
     }
 
     @Operation(summary = "Get low stock products", description = "Retrieves products with stock below specified threshold")
@@ -151,9 +218,9 @@ public class ProductController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved low stock products")
     })
     @GetMapping("/low-stock")
-    public ResponseEntity<List<Product>> getLowStockProducts(
+    public ResponseEntity<List<ProductResponse>> getLowStockProducts(
             @Parameter(description = "Stock threshold") @RequestParam(defaultValue = "10") Integer threshold) {
-        return ResponseEntity.ok(productService.getLowStockProducts(threshold));
+        return ResponseEntity.ok(ProductResponse.fromAll(productService.getLowStockProducts(threshold)));
     }
 
     @Operation(summary = "Get product count by category", description = "Retrieves product count grouped by category")
@@ -161,8 +228,8 @@ public class ProductController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved category counts")
     })
     @GetMapping("/category-counts")
-    public ResponseEntity<List<Object[]>> getProductsCountByCategory() {
-        return ResponseEntity.ok(productService.getProductsCountByCategory());
+    public CompletableFuture<ResponseEntity<List<Object[]>>> getProductsCountByCategory() {
+        return searchBulkhead.supply(() -> ResponseEntity.ok(productService.getProductsCountByCategory()));
     }
 
     @Operation(summary = "Get recently added products", description = "Retrieves recently added products")
@@ -170,9 +237,9 @@ public class ProductController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved recent products")
     })
     @GetMapping("/recent")
-    public ResponseEntity<List<Product>> getRecentlyAddedProducts(
+    public ResponseEntity<List<ProductResponse>> getRecentlyAddedProducts(
             @Parameter(description = "Number of recent products to retrieve") @RequestParam(defaultValue = "10") int limit) {
-        return ResponseEntity.ok(productService.getRecentlyAddedProducts(limit));
+        return ResponseEntity.ok(ProductResponse.fromAll(productService.getRecentlyAddedProducts(limit)));
     }
 
     @Operation(summary = "Update product stock", description = "Increase or decrease product stock quantity")
@@ -182,22 +249,59 @@ public class ProductController {
         @ApiResponse(responseCode = "404", description = "Product not found")
     })
     @PutMapping("/{id}/stock")
-    public ResponseEntity<Product> updateStock(
+    public ResponseEntity<ProductResponse> updateStock(
             @PathVariable Long id,
             @Parameter(description = "Quantity to adjust") @RequestParam Integer quantity,
             @Parameter(description = "Operation type: INCREASE or DECREASE") @RequestParam String operation) {
         Product updatedProduct = productService.updateStock(id, quantity, operation);
-        return ResponseEntity.ok(updatedProduct);
+        return ResponseEntity.ok(ProductResponse.from(updatedProduct));
     }
 
-    @Operation(summary = "Get product price history", description = "Retrieves price change history for a specific product")
+    @Operation(summary = "Get product price history", description = "Retrieves one page of price changes for a product, newest first; pass nextCursor to fetch older changes")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved price history"),
-        @ApiResponse(responseCode = "404", description = "Product not found")
+        @ApiResponse(responseCode = "400", description = "Invalid time range, limit or cursor")
     })
     @GetMapping("/{id}/price-history")
-    public ResponseEntity<List<PriceHistory>> getProductPriceHistory(@PathVariable Long id) {
-        return ResponseEntity.ok(productService.getProductPriceHistory(id));
+    public ResponseEntity<PriceHistoryPage> getProductPriceHistory(
+            @PathVariable Long id,
+            @Parameter(description = "Range start (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @Parameter(description = "Range end (exclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime until,
+            @Parameter(description = "Page size, defaults to 100") @RequestParam(required = false) Integer limit,
+            @Parameter(description = "nextCursor from the previous page") @RequestParam(required = false) String cursor) {
+        return ResponseEntity.ok(priceSeriesService.getPriceHistoryPage(id, since, until, limit, cursor));
+    }
+
+    @Operation(summary = "Get product price points", description = "Retrieves (timestamp, price) points for a time range; compacted periods return one point per rollup bucket")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved price points"),
+        @ApiResponse(responseCode = "400", description = "Invalid time range")
+    })
+    @GetMapping("/{id}/price-history/points")
+    public CompletableFuture<ResponseEntity<List<PricePointDTO>>> getProductPricePoints(
+            @PathVariable Long id,
+            @Parameter(description = "Range start (inclusive), defaults to 7 days before 'to'") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end (exclusive), defaults to now") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        return searchBulkhead.supply(() -> ResponseEntity.ok(priceSeriesService.getPricePoints(id, start, end)));
+    }
+
+    @Operation(summary = "Get product price OHLC", description = "Retrieves open/high/low/close, average and count of price changes per interval")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved price aggregates"),
+        @ApiResponse(responseCode = "400", description = "Invalid time range or interval")
+    })
+    @GetMapping("/{id}/price-history/ohlc")
+    public CompletableFuture<ResponseEntity<List<PriceOhlcDTO>>> getProductPriceOhlc(
+            @PathVariable Long id,
+            @Parameter(description = "Range start (inclusive), defaults to 7 days before 'to'") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "Range end (exclusive), defaults to now") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "Bucket size, e.g. 1h, 15m or PT1H") @RequestParam(defaultValue = "1h") String interval) {
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        LocalDateTime start = from != null ? from : end.minusDays(7);
+        Duration bucket = DurationStyle.detectAndParse(interval);
+        return searchBulkhead.supply(() -> ResponseEntity.ok(priceSeriesService.getOhlc(id, start, end, bucket)));
     }
 
     @Operation(summary = "Bulk delete products", description = "Delete multiple products by their IDs")
@@ -234,15 +338,17 @@ public class ProductController {
         @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics")
     })
     @GetMapping("/statistics")
-    public ResponseEntity<Map<String, Object>> getProductStatistics() {
-        Map<String, Object> statistics = Map.of(
-                "totalProducts", productService.getAllProducts().size(),
-                "activeProducts", productService.getActiveProducts().size(),
-                "lowStockProducts", productService.getLowStockProducts(10).size(),
-                "categoryCounts", productService.getProductsCountByCategory(),
-                "recentProducts", productService.getRecentlyAddedProducts(5)
-        );
-        
-        return ResponseEntity.ok(statistics);
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> getProductStatistics() {
+        return searchBulkhead.supply(() -> {
+            Map<String, Object> statistics = Map.of(
+                    "totalProducts", productService.getAllProducts().size(),
+                    "activeProducts", productService.getActiveProducts().size(),
+                    "lowStockProducts", productService.getLowStockProducts(10).size(),
+                    "categoryCounts", productService.getProductsCountByCategory(),
+                    "recentProducts", ProductResponse.fromAll(productService.getRecentlyAddedProducts(5))
+            );
+            
+            return ResponseEntity.ok(statistics);
+        });
     }
 }
\ No newline at end of file
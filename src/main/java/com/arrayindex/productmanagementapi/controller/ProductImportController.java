@@ -0,0 +1,67 @@
+package com.arrayindex.productmanagementapi.controller;
+
+import com.arrayindex.productmanagementapi.dto.ImportJobStatus;
+import com.arrayindex.productmanagementapi.service.ProductImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * Bulk import of CSV / NDJSON product files as background jobs, see {@link ProductImportService}.
+ */
+@RestController
+@RequestMapping("/api/products/import")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequiredArgsConstructor
+@Tag(name = "Product Import", description = "Bulk product import from CSV or NDJSON files")
+public class ProductImportController {
+
+    private final ProductImportService productImportService;
+
+    @Operation(summary = "Start an import job",
+            description = "Uploads a CSV file (header row naming the ProductDTO fields) or NDJSON file (one ProductDTO "
+                    + "per line) and imports it in the background. Poll the returned Location for progress")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "202", description = "Import job queued"),
+        @ApiResponse(responseCode = "400", description = "Unknown or unsupported file format"),
+        @ApiResponse(responseCode = "503", description = "Too many import jobs queued")
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportJobStatus> startImport(
+            @RequestParam("file") MultipartFile file,
+            @Parameter(description = "csv or ndjson; taken from the file name or part content type when omitted")
+            @RequestParam(value = "format", required = false) String format) throws IOException {
+        ImportJobStatus status = productImportService.submit(file, format);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/products/import/" + status.getJobId()))
+                .body(status);
+    }
+
+    @Operation(summary = "Get import job progress",
+            description = "Rows read, imported and rejected so far, with the line and reason of the first rejected rows")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Job progress"),
+        @ApiResponse(responseCode = "404", description = "Unknown or expired job")
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobStatus> getImportStatus(@PathVariable String jobId) {
+        ImportJobStatus status = productImportService.getStatus(jobId);
+        return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+    }
+}
@@ -0,0 +1,27 @@
+package com.arrayindex.productmanagementapi.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationEvent {
+    
+    // Node that published the event, which has already applied it locally
+    private String origin;
+    
+    // Per-origin counter, lets receivers spot gaps in the log
+    private long sequence;
+    
+    // Caches to clear completely
+    private Set<String> clearedCaches;
+    
+    // Cache name -> keys to evict
+    private Map<String, List<Object>> evictedKeys;
+}
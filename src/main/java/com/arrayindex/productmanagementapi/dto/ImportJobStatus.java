@@ -0,0 +1,36 @@
+package com.arrayindex.productmanagementapi.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportJobStatus {
+    
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+    
+    private String jobId;
+    private String fileName;
+    private String format;
+    private State state;
+    
+    // Data rows read from the file so far; imported + failed once the job has finished
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    
+    // The first rejected rows (see product.import.max-errors); failed counts all of them
+    private List<ImportRowError> errors;
+    
+    // Why the whole job failed, e.g. an unreadable file
+    private String message;
+    
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
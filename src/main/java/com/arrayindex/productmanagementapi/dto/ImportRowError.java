@@ -0,0 +1,16 @@
+package com.arrayindex.productmanagementapi.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowError {
+    
+    // Line of the file the row starts on
+    private long line;
+    
+    private String message;
+}
@@ -0,0 +1,18 @@
+package com.arrayindex.productmanagementapi.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceChangeEvent {
+    
+    private Long productId;
+    private Double oldPrice;
+    private Double newPrice;
+    private String changeReason;
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,19 @@
+package com.arrayindex.productmanagementapi.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistoryEntryDTO {
+    
+    private Long id;
+    private Double oldPrice;
+    private Double newPrice;
+    private String changeReason;
+    private LocalDateTime changedAt;
+    private String changedBy;
+}
@@ -0,0 +1,19 @@
+package com.arrayindex.productmanagementapi.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistoryPage {
+    
+    // Newest first
+    private List<PriceHistoryEntryDTO> items;
+    
+    // Opaque token for the next (older) page, null on the last page
+    private String nextCursor;
+}
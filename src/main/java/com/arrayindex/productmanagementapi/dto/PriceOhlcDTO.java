@@ -0,0 +1,23 @@
+package com.arrayindex.productmanagementapi.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceOhlcDTO {
+    
+    private LocalDateTime bucketStart;
+    private double open;
+    
+    // Highest and lowest price seen in the bucket (max / min)
+    private double high;
+    private double low;
+    
+    private double close;
+    private double average;
+    private long count;
+}
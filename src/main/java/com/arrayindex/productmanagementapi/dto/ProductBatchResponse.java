@@ -0,0 +1,18 @@
+package com.arrayindex.productmanagementapi.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponse {
+    
+    // Found products, in the order their ids were requested
+    private List<ProductResponse> products;
+    
+    private List<Long> missingIds;
+}
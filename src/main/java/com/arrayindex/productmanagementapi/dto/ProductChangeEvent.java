@@ -0,0 +1,26 @@
+package com.arrayindex.productmanagementapi.dto;
+
+import com.arrayindex.productmanagementapi.model.Product;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangeEvent {
+    
+    public enum Type { CREATED, UPDATED, STOCK_CHANGED, DELETED }
+    
+    // Offset of the change on the products topic; also the SSE event id
+    private long eventId;
+    
+    private Type type;
+    
+    private Long productId;
+    
+    private String category;
+    
+    // Product state after the change; only id, name, category and SKU for deletions
+    private Product product;
+}
@@ -0,0 +1,40 @@
+package com.arrayindex.productmanagementapi.dto;
+
+import com.arrayindex.productmanagementapi.model.Product;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Product as returned by the API. Copies the entity's columns only, so serializing it never
+ * touches a lazy association or needs an open session.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductResponse {
+
+    private Long id;
+    private String name;
+    private String description;
+    private Double price;
+    private String category;
+    private Integer stockQuantity;
+    private String sku;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private Boolean isActive;
+
+    public static ProductResponse from(Product product) {
+        return new ProductResponse(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+                product.getCategory(), product.getStockQuantity(), product.getSku(), product.getCreatedAt(),
+                product.getUpdatedAt(), product.getIsActive());
+    }
+
+    public static List<ProductResponse> fromAll(List<Product> products) {
+        return products.stream().map(ProductResponse::from).toList();
+    }
+}
@@ -0,0 +1,50 @@
+package com.arrayindex.productmanagementapi.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+import java.time.LocalDateTime;
+
+/**
+ * Downsampled price history: one OHLC row per product and time bucket, written by
+ * compaction in place of the raw price_history rows it summarizes.
+ */
+@Entity
+@Table(name = "price_history_rollup",
+       indexes = @Index(name = "idx_price_rollup_product_bucket", columnList = "product_id, bucket_start", unique = true))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistoryRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @Column(name = "product_id", nullable = false)
+    private long productId;
+    
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+    
+    @Column(name = "bucket_seconds", nullable = false)
+    private long bucketSeconds;
+    
+    @Column(name = "open_price", nullable = false)
+    private double open;
+    
+    @Column(name = "high_price", nullable = false)
+    private double high;
+    
+    @Column(name = "low_price", nullable = false)
+    private double low;
+    
+    @Column(name = "close_price", nullable = false)
+    private double close;
+    
+    @Column(name = "price_sum", nullable = false)
+    private double sum;
+    
+    @Column(name = "sample_count", nullable = false)
+    private long count;
+}
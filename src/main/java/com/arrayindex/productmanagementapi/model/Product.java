@@ -1,21 +1,32 @@
 package com.arrayindex.productmanagementapi.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 @Table(name = "products")
+// Fetch plan for the API reads: the product's own columns, no associations
+@NamedEntityGraph(name = Product.SUMMARY_GRAPH)
 @Data
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
+
+    public static final String SUMMARY_GRAPH = "Product.summary";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @EqualsAndHashCode.Include
@@ -47,6 +58,10 @@ public class Product {
     @Column(name = "is_active")
     private Boolean isActive = true;
     
+    // Served by GET /api/products/{id}/price-history; serializing or printing it here would lazy-load
+    // (or fail outside a session, e.g. on bulkhead threads) and recurse through PriceHistory.product
+    @JsonIgnore
+    @ToString.Exclude
     @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<PriceHistory> priceHistory = new ArrayList<>();
 
@@ -1,19 +1,54 @@
 package com.arrayindex.productmanagementapi.repository;
 
+import com.arrayindex.productmanagementapi.dto.PriceHistoryEntryDTO;
+import com.arrayindex.productmanagementapi.dto.PricePointDTO;
 import com.arrayindex.productmanagementapi.model.PriceHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface PriceHistoryRepository extends JpaRepository<PriceHistory, Long> {
     
-    List<PriceHistory> findByProductIdOrderByChangedAtDesc(Long productId);
+    /**
+     * One keyset page of history in {@code [since, until)}, newest first, strictly after the
+     * {@code (cursorAt, cursorId)} position. Reads only price_history columns, never the product.
+     */
+    @Query("SELECT new com.arrayindex.productmanagementapi.dto.PriceHistoryEntryDTO(" +
+           "ph.id, ph.oldPrice, ph.newPrice, ph.changeReason, ph.changedAt, ph.changedBy) " +
+           "FROM PriceHistory ph WHERE ph.product.id = :productId " +
+           "AND ph.changedAt >= :since AND ph.changedAt < :until " +
+           "AND (ph.changedAt < :cursorAt OR (ph.changedAt = :cursorAt AND ph.id < :cursorId)) " +
+           "ORDER BY ph.changedAt DESC, ph.id DESC")
+    List<PriceHistoryEntryDTO> findHistoryPage(@Param("productId") Long productId,
+                                               @Param("since") LocalDateTime since,
+                                               @Param("until") LocalDateTime until,
+                                               @Param("cursorAt") LocalDateTime cursorAt,
+                                               @Param("cursorId") Long cursorId,
+                                               Pageable pageable);
     
     @Query("SELECT ph FROM PriceHistory ph WHERE ph.product.id = :productId AND ph.changedAt >= :since")
     List<PriceHistory> findByProductIdAndChangedAtAfter(@Param("productId") Long productId, 
                                                         @Param("since") java.time.LocalDateTime since);
+    
+    @Query("SELECT new com.arrayindex.productmanagementapi.dto.PricePointDTO(ph.changedAt, ph.newPrice) " +
+           "FROM PriceHistory ph WHERE ph.product.id = :productId " +
+           "AND ph.changedAt >= :from AND ph.changedAt < :to ORDER BY ph.changedAt, ph.id")
+    List<PricePointDTO> findPricePoints(@Param("productId") Long productId,
+                                        @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to);
+    
+    @Query("SELECT DISTINCT ph.product.id FROM PriceHistory ph WHERE ph.changedAt < :cutoff")
+    List<Long> findProductIdsWithChangesBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Modifying
+    @Query("DELETE FROM PriceHistory ph WHERE ph.product.id = :productId AND ph.changedAt < :cutoff")
+    int deleteByProductIdAndChangedAtBefore(@Param("productId") Long productId,
+                                            @Param("cutoff") LocalDateTime cutoff);
 }
\ No newline at end of file
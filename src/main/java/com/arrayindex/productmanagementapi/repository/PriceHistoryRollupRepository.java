@@ -0,0 +1,18 @@
+package com.arrayindex.productmanagementapi.repository;
+
+import com.arrayindex.productmanagementapi.model.PriceHistoryRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PriceHistoryRollupRepository extends JpaRepository<PriceHistoryRollup, Long> {
+    
+    List<PriceHistoryRollup> findByProductIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+            long productId, LocalDateTime from, LocalDateTime to);
+    
+    Optional<PriceHistoryRollup> findByProductIdAndBucketStart(long productId, LocalDateTime bucketStart);
+}
@@ -1,31 +1,79 @@
 package com.arrayindex.productmanagementapi.repository;
 
 import com.arrayindex.productmanagementapi.model.Product;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
     
+    // Reads behind the API use Product.SUMMARY_GRAPH: one statement, whatever the associations are mapped as
+    @Override
+    @EntityGraph(Product.SUMMARY_GRAPH)
+    List<Product> findAll();
+    
+    @Override
+    @EntityGraph(Product.SUMMARY_GRAPH)
+    Optional<Product> findById(Long id);
+    
+    @Override
+    @EntityGraph(Product.SUMMARY_GRAPH)
+    List<Product> findAllById(Iterable<Long> ids);
+    
     Optional<Product> findBySku(String sku);
     
+    boolean existsBySku(String sku);
+    
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IS NOT NULL")
+    Stream<String> streamAllSkus();
+    
+    @Query("SELECT p.sku FROM Product p WHERE p.sku IN :skus")
+    List<String> findExistingSkus(@Param("skus") Collection<String> skus);
+    
+    // Whole catalog in id order for the snapshot file; read-only entities, fetched in chunks
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    Stream<Product> streamAllOrderById();
+    
+    // Catalog version for validating cache warm-up snapshots
+    @Query("SELECT COUNT(p) AS productCount, MAX(p.updatedAt) AS lastUpdatedAt FROM Product p")
+    CatalogWatermark findCatalogWatermark();
+    
+    @EntityGraph(Product.SUMMARY_GRAPH)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Product> findByCategory(String category);
     
+    @EntityGraph(Product.SUMMARY_GRAPH)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     List<Product> findByIsActiveTrue();
     
+    @EntityGraph(Product.SUMMARY_GRAPH)
     List<Product> findByNameContainingIgnoreCase(String name);
     
+    @EntityGraph(Product.SUMMARY_GRAPH)
     List<Product> findByDescriptionContainingIgnoreCase(String description);
     
+    @EntityGraph(Product.SUMMARY_GRAPH)
     List<Product> findByPriceBetween(Double minPrice, Double maxPrice);
     
+    @EntityGraph(Product.SUMMARY_GRAPH)
     @Query("SELECT p FROM Product p WHERE " +
            "(:name IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :name, '%'))) AND " +
            "(:category IS NULL OR LOWER(p.category) = LOWER(:category)) AND " +
@@ -39,12 +87,22 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
                                       @Param("isActive") Boolean isActive,
                                       Pageable pageable);
     
+    @EntityGraph(Product.SUMMARY_GRAPH)
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM Product p WHERE p.stockQuantity < :threshold")
     List<Product> findLowStockProducts(@Param("threshold") Integer threshold);
     
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p.category, COUNT(p) FROM Product p GROUP BY p.category")
     List<Object[]> countProductsByCategory();
     
+    @EntityGraph(Product.SUMMARY_GRAPH)
     @Query("SELECT p FROM Product p ORDER BY p.createdAt DESC")
     List<Product> findRecentlyAddedProducts(Pageable pageable);
-}
\ No newline at end of file
+    
+    interface CatalogWatermark {
+        Long getProductCount();
+        
+        LocalDateTime getLastUpdatedAt();
+    }
+}
@@ -0,0 +1,293 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps a gzipped JSON array of the whole catalog on local disk for bulk downloads.
+ * <p>
+ * Product writes mark the snapshot stale once they commit; a background writer regenerates it when
+ * writes have been quiet for {@code quiet-period-ms}, or at the latest {@code max-delay-ms} after the
+ * first stale write, and every {@code refresh-interval-ms} to pick up writes made on other nodes.
+ * The catalog is streamed from the database, so generation needs no more heap than one fetch chunk.
+ * Each generation is written to its own file and the previous one is kept, so a download that started
+ * on the old file is never cut short by a regeneration.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotService implements SmartLifecycle {
+
+    private static final String PREFIX = "catalog-";
+    private static final String SUFFIX = ".json.gz";
+
+    private final ProductRepository productRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final Path directory;
+    private final long quietPeriodNanos;
+    private final long maxDelayNanos;
+    private final long refreshIntervalNanos;
+    private final Timer generationTimer;
+
+    private final AtomicLong firstStaleNanos = new AtomicLong();
+    private volatile long lastStaleNanos;
+    private volatile Snapshot current;
+    private volatile long generatedNanos;
+    private volatile long retryNotBeforeNanos;
+    private volatile Path previousFile;
+    private volatile boolean running = false;
+    private Thread writer;
+
+    public CatalogSnapshotService(ProductRepository productRepository,
+                                  EntityManager entityManager,
+                                  PlatformTransactionManager transactionManager,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${product.catalog-snapshot.enabled:true}") boolean enabled,
+                                  @Value("${product.catalog-snapshot.directory:data/catalog}") String directory,
+                                  @Value("${product.catalog-snapshot.quiet-period-ms:5000}") long quietPeriodMs,
+                                  @Value("${product.catalog-snapshot.max-delay-ms:60000}") long maxDelayMs,
+                                  @Value("${product.catalog-snapshot.refresh-interval-ms:600000}") long refreshIntervalMs) {
+        this.productRepository = productRepository;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.quietPeriodNanos = TimeUnit.MILLISECONDS.toNanos(quietPeriodMs);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMs);
+        this.refreshIntervalNanos = TimeUnit.MILLISECONDS.toNanos(refreshIntervalMs);
+        this.retryNotBeforeNanos = System.nanoTime();
+        this.generationTimer = meterRegistry.timer("catalog.snapshot.generation");
+        meterRegistry.gauge("catalog.snapshot.size", this, service -> {
+            Snapshot snapshot = service.current;
+            return snapshot == null ? 0 : snapshot.length();
+        });
+    }
+
+    /**
+     * The snapshot to serve, or null until the first one has been written.
+     */
+    public Snapshot getCurrent() {
+        return current;
+    }
+
+    /**
+     * Marks the snapshot stale once the current transaction commits.
+     */
+    public void markStale() {
+        if (!enabled) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stale();
+                }
+            });
+        } else {
+            stale();
+        }
+    }
+
+    private void stale() {
+        long now = System.nanoTime();
+        lastStaleNanos = now;
+        firstStaleNanos.compareAndSet(0, now);
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::writeLoop, "CatalogSnapshotWriter");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        writer.interrupt();
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void writeLoop() {
+        long pollMillis = Math.max(100, TimeUnit.NANOSECONDS.toMillis(quietPeriodNanos / 4));
+        while (running) {
+            long now = System.nanoTime();
+            if (isDue(now)) {
+                try {
+                    regenerate();
+                } catch (IOException | RuntimeException e) {
+                    // The previous snapshot stays in service; try again after a quiet period
+                    log.error("Catalog snapshot generation failed: {}", e.getMessage());
+                    retryNotBeforeNanos = now + quietPeriodNanos;
+                    stale();
+                }
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(pollMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    boolean isDue(long now) {
+        if (now - retryNotBeforeNanos < 0) {
+            return false;
+        }
+        if (current == null) {
+            return true;
+        }
+        long firstStale = firstStaleNanos.get();
+        if (firstStale != 0 && (now - lastStaleNanos >= quietPeriodNanos || now - firstStale >= maxDelayNanos)) {
+            return true;
+        }
+        return now - generatedNanos >= refreshIntervalNanos;
+    }
+
+    /**
+     * Writes a new snapshot file from the database and makes it current.
+     */
+    synchronized Snapshot regenerate() throws IOException {
+        // Writes committed from here on mark the new snapshot stale again
+        firstStaleNanos.set(0);
+        long started = System.nanoTime();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, PREFIX, SUFFIX + ".tmp");
+        MessageDigest md5 = md5();
+        long[] count = {0};
+        try {
+            try (OutputStream file = new DigestOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)), md5);
+                 GZIPOutputStream gzip = new GZIPOutputStream(file, 64 * 1024);
+                 JsonGenerator json = objectMapper.getFactory().createGenerator(gzip)) {
+                json.writeStartArray();
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    try (Stream<Product> products = productRepository.streamAllOrderById()) {
+                        products.forEach(product -> {
+                            writeProduct(json, product);
+                            // Keep the persistence context from growing with the catalog
+                            entityManager.detach(product);
+                            count[0]++;
+                        });
+                    }
+                });
+                json.writeEndArray();
+            }
+
+            String hash = HexFormat.of().formatHex(md5.digest());
+            Snapshot previous = current;
+            if (previous != null && previous.etag().equals("\"" + hash + "\"")) {
+                // Unchanged catalog: keep the file and Last-Modified so conditional requests still match
+                generatedNanos = System.nanoTime();
+                return previous;
+            }
+            Path target = directory.resolve(PREFIX + hash + SUFFIX);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Snapshot snapshot = new Snapshot(target, Files.size(target), "\"" + hash + "\"",
+                    System.currentTimeMillis() / 1000 * 1000, count[0]);
+            current = snapshot;
+            generatedNanos = System.nanoTime();
+            deleteOldFiles(previous);
+            generationTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            log.info("Catalog snapshot written: {} products, {} bytes in {} ms", snapshot.productCount(), snapshot.length(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+            return snapshot;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void writeProduct(JsonGenerator json, Product product) {
+        try {
+            json.writeObject(product);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write product " + product.getId() + " to the catalog snapshot", e);
+        }
+    }
+
+    // Keeps the current and the previous file; anything older has had time to finish opening
+    private void deleteOldFiles(Snapshot previous) throws IOException {
+        Path keep = previous != null ? previous.file() : null;
+        Path older = previousFile;
+        previousFile = keep;
+        if (older != null && !older.equals(keep) && !older.equals(current.file())) {
+            Files.deleteIfExists(older);
+        }
+        if (previous == null) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    String name = file.getFileName().toString();
+                    if (name.startsWith(PREFIX) && !file.equals(current.file())) {
+                        Files.deleteIfExists(file);
+                    }
+                }
+            }
+        }
+    }
+
+    private static MessageDigest md5() {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A written snapshot: the gzipped file, its size, ETag (MD5 of the file), Last-Modified in epoch millis
+     * and the number of products in it.
+     */
+    public record Snapshot(Path file, long length, String etag, long lastModified, long productCount) {
+    }
+}
@@ -1,17 +1,24 @@
 package com.arrayindex.productmanagementapi.service;
 
+import com.arrayindex.productmanagementapi.dto.ProductChangeEvent;
 import com.arrayindex.productmanagementapi.model.Product;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KafkaConsumerService {
 
     private final ProductService productService;
+    private final ProductChangeFeed productChangeFeed;
+    private final SkuBloomFilter skuBloomFilter;
 
     @KafkaListener(topics = "products", groupId = "product-group")
     public void consumeProduct(Product product) {
@@ -19,4 +26,23 @@ public class KafkaConsumerService {
         // Here you can add any additional processing logic
         // For example, sending notifications, updating other systems, etc.
     }
-} 
\ No newline at end of file
+
+    // Every node streams every change to its own SSE subscribers, so each gets its own group and starts at the tail
+    @KafkaListener(topics = "products",
+            groupId = "${product.change-feed.group-id:product-change-feed-${random.uuid}}",
+            properties = "auto.offset.reset=latest")
+    public void consumeProductChange(ConsumerRecord<String, Product> record) {
+        Product product = record.value();
+        if (product == null || product.getId() == null) {
+            return;
+        }
+        // SKUs written through other nodes; this node's own writes are already in the filter
+        skuBloomFilter.add(product.getSku());
+        Header header = record.headers().lastHeader(KafkaProducerService.CHANGE_TYPE_HEADER);
+        ProductChangeEvent.Type type = header != null
+                ? ProductChangeEvent.Type.valueOf(new String(header.value(), StandardCharsets.UTF_8))
+                : ProductChangeEvent.Type.UPDATED;
+        productChangeFeed.publish(new ProductChangeEvent(
+                record.offset(), type, product.getId(), product.getCategory(), product));
+    }
+}
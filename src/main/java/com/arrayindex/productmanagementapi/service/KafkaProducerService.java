@@ -1,43 +1,87 @@
 package com.arrayindex.productmanagementapi.service;
 
+import com.arrayindex.productmanagementapi.dto.ProductChangeEvent;
 import com.arrayindex.productmanagementapi.model.Product;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.KafkaException;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.nio.charset.StandardCharsets;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class KafkaProducerService {
 
+    public static final String CHANGE_TYPE_HEADER = "product-change-type";
+    public static final String PRODUCTS_TOPIC = "products";
+
     private final KafkaTemplate<String, Product> kafkaTemplate;
+    private final ProductEventSpillQueue spillQueue;
+    private final ProductEventCoalescer coalescer;
     
     @Value("${spring.kafka.enabled:true}")
     private boolean kafkaEnabled;
 
     public void sendProduct(Product product) {
+        sendProduct(product, ProductChangeEvent.Type.UPDATED);
+    }
+
+    public void sendProduct(Product product, ProductChangeEvent.Type changeType) {
         if (!kafkaEnabled) {
             log.info("Kafka is disabled, skipping product event publishing");
             return;
         }
+
+        // Bursts of changes to one product are published once with the final state
+        if (coalescer.submit(product, changeType, this::publish)) {
+            return;
+        }
+        publish(product, changeType);
+    }
+
+    private void publish(Product product, ProductChangeEvent.Type changeType) {
+        // Queue behind events that are already spilled, or when the producer buffer is filling up
+        if (spillQueue.isBackedUp() && spillQueue.spill(product, changeType)) {
+            log.debug("Spilled {} event for product {} to disk", changeType, product.getId());
+            return;
+        }
         
         try {
-            log.info("Sending product to Kafka: {}", product);
-            String key = product.getId() != null ? product.getId().toString() : "new-product";
-            kafkaTemplate.send("products", key, product)
-                .addCallback(
-                    result -> log.info("Successfully sent product {} to Kafka", product.getId()),
-                    failure -> log.error("Failed to send product {} to Kafka: {}", product.getId(), failure.getMessage())
-                );
+            log.info("Sending {} event for product {} to Kafka", changeType, product.getId());
+            kafkaTemplate.send(productRecord(product, changeType))
+                .whenComplete((result, failure) -> {
+                    if (failure == null) {
+                        log.info("Successfully sent product {} to Kafka", product.getId());
+                    } else {
+                        onSendFailure(product, changeType, failure);
+                    }
+                });
         } catch (KafkaException e) {
-            log.error("Kafka exception while sending product {}: {}", product.getId(), e.getMessage());
+            onSendFailure(product, changeType, e);
             // Don't throw - continue operation without Kafka
         } catch (Exception e) {
             log.error("Unexpected error while sending product {} to Kafka: {}", product.getId(), e.getMessage());
             // Don't throw - continue operation without Kafka
         }
     }
+
+    static ProducerRecord<String, Product> productRecord(Product product, ProductChangeEvent.Type changeType) {
+        String key = product.getId() != null ? product.getId().toString() : "new-product";
+        ProducerRecord<String, Product> record = new ProducerRecord<>(PRODUCTS_TOPIC, key, product);
+        record.headers().add(CHANGE_TYPE_HEADER, changeType.name().getBytes(StandardCharsets.UTF_8));
+        return record;
+    }
+
+    private void onSendFailure(Product product, ProductChangeEvent.Type changeType, Throwable failure) {
+        if (ProductEventSpillQueue.isBrokerUnavailable(failure) && spillQueue.spill(product, changeType)) {
+            log.warn("Kafka unavailable, spilled {} event for product {} to disk: {}", changeType, product.getId(), failure.getMessage());
+        } else {
+            log.error("Failed to send product {} to Kafka: {}", product.getId(), failure.getMessage());
+        }
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,289 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.PriceChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind pipeline for price history rows. Price changes are queued after the product
+ * transaction commits and inserted by a background writer in JDBC batches.
+ * <p>
+ * A full queue makes the caller insert its own row synchronously (backpressure), in a new
+ * transaction of its own since the product transaction has already committed.
+ * <p>
+ * Each batch is one transaction, so a failed batch leaves nothing behind. When the database rejects
+ * it (a constraint violation, e.g. a product deleted before the flush), its rows are retried one
+ * transaction each: rows the database rejects on their own can never succeed and go to a dead-letter
+ * file. Rows that fail otherwise (database unavailable), and anything left at shutdown that cannot be
+ * written, are appended to a local spill file which is replayed on the next start.
+ */
+@Slf4j
+@Component
+public class PriceHistoryWriteBehind implements SmartLifecycle {
+
+    private static final String INSERT_SQL = "INSERT INTO price_history " +
+            "(product_id, old_price, new_price, change_reason, changed_at) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate newTransaction;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final Path spillFile;
+    private final Path deadLetterFile;
+    private final BlockingQueue<PriceChangeEvent> queue;
+
+    private volatile boolean running = false;
+    private Thread writer;
+
+    public PriceHistoryWriteBehind(JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${product.price-history.write-behind.enabled:false}") boolean enabled,
+                                   @Value("${product.price-history.write-behind.queue-capacity:10000}") int queueCapacity,
+                                   @Value("${product.price-history.write-behind.batch-size:500}") int batchSize,
+                                   @Value("${product.price-history.write-behind.flush-interval-ms:200}") long flushIntervalMs,
+                                   @Value("${product.price-history.write-behind.offer-timeout-ms:50}") long offerTimeoutMs,
+                                   @Value("${product.price-history.write-behind.spill-file:data/price-history-spill.ndjson}") String spillFile,
+                                   @Value("${product.price-history.write-behind.dead-letter-file:data/price-history-dead-letter.ndjson}") String deadLetterFile) {
+        this.jdbcTemplate = jdbcTemplate;
+        // afterCommit still has the committed transaction's resources bound; never join them
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.spillFile = Paths.get(spillFile);
+        this.deadLetterFile = Paths.get(deadLetterFile);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        meterRegistry.gauge("price.history.write-behind.queue.size", queue, BlockingQueue::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues a price change once the surrounding transaction commits, so rolled back updates leave no history.
+     */
+    public void submit(PriceChangeEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    private void enqueue(PriceChangeEvent event) {
+        try {
+            if (running && queue.offer(event, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // Queue full or writer stopped: write on the caller's thread instead of dropping the row
+        log.warn("Price history queue unavailable, inserting change for product {} synchronously", event.getProductId());
+        // The product change is already committed, so a row that cannot be written is spilled rather than failing the caller
+        writeBatch(List.of(event));
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        replaySpillFile();
+        running = true;
+        writer = new Thread(this::drainLoop, "PriceHistoryWriter");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Price history write-behind started (batch size {}, flush interval {} ms)", batchSize, flushIntervalMs);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        List<PriceChangeEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.info("Flushing {} queued price changes on shutdown", remaining.size());
+            writeBatch(remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server and before the DataSource is closed
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 2048;
+    }
+
+    private void drainLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                PriceChangeEvent first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PriceChangeEvent> batch = new ArrayList<>(batchSize);
+                batch.add(first);
+                long deadline = System.currentTimeMillis() + flushIntervalMs;
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remaining = deadline - System.currentTimeMillis();
+                    PriceChangeEvent next = remaining > 0 ? queue.poll(remaining, TimeUnit.MILLISECONDS) : null;
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    void writeBatch(List<PriceChangeEvent> batch) {
+        if (batch.size() > 1) {
+            try {
+                newTransaction.executeWithoutResult(status -> insert(batch));
+                return;
+            } catch (DataIntegrityViolationException e) {
+                log.debug("Price history batch of {} rows rejected, retrying rows one by one: {}", batch.size(), e.getMessage());
+            } catch (Exception e) {
+                // Rolled back as a whole, so the spilled rows are replayed exactly once
+                log.error("Failed to insert {} price history rows, spilling to {}: {}", batch.size(), spillFile, e.getMessage());
+                append(spillFile, batch);
+                return;
+            }
+        }
+
+        List<PriceChangeEvent> failed = new ArrayList<>();
+        List<PriceChangeEvent> rejected = new ArrayList<>();
+        for (PriceChangeEvent event : batch) {
+            try {
+                newTransaction.executeWithoutResult(status -> insert(List.of(event)));
+            } catch (DataIntegrityViolationException e) {
+                log.warn("Price history row for product {} rejected by the database: {}",
+                        event.getProductId(), NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                rejected.add(event);
+            } catch (Exception e) {
+                failed.add(event);
+            }
+        }
+        if (!failed.isEmpty()) {
+            log.error("Failed to insert {} price history rows, spilling to {}", failed.size(), spillFile);
+            append(spillFile, failed);
+        }
+        if (!rejected.isEmpty()) {
+            // Replaying these would fail again on every start
+            log.error("Writing {} rejected price history rows to {}", rejected.size(), deadLetterFile);
+            append(deadLetterFile, rejected);
+        }
+    }
+
+    private void insert(List<PriceChangeEvent> batch) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, event) -> {
+            ps.setLong(1, event.getProductId());
+            ps.setDouble(2, event.getOldPrice());
+            ps.setDouble(3, event.getNewPrice());
+            ps.setString(4, event.getChangeReason());
+            ps.setTimestamp(5, Timestamp.valueOf(event.getChangedAt()));
+        });
+        log.debug("Inserted {} price history rows", batch.size());
+    }
+
+    private synchronized void append(Path file, List<PriceChangeEvent> batch) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (PriceChangeEvent event : batch) {
+                    out.write(objectMapper.writeValueAsString(event));
+                    out.newLine();
+                }
+            }
+        } catch (IOException e) {
+            log.error("Could not write {} price history rows to {}: {}", batch.size(), file, e.getMessage());
+        }
+    }
+
+    private void replaySpillFile() {
+        if (!Files.exists(spillFile)) {
+            return;
+        }
+        Path replaying = spillFile.resolveSibling(spillFile.getFileName() + ".replaying");
+        try {
+            Files.move(spillFile, replaying, StandardCopyOption.REPLACE_EXISTING);
+            List<PriceChangeEvent> events = new ArrayList<>();
+            for (String line : Files.readAllLines(replaying, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    events.add(objectMapper.readValue(line, PriceChangeEvent.class));
+                }
+            }
+            log.info("Replaying {} spilled price history rows", events.size());
+            for (int from = 0; from < events.size(); from += batchSize) {
+                writeBatch(events.subList(from, Math.min(from + batchSize, events.size())));
+            }
+            Files.delete(replaying);
+        } catch (IOException e) {
+            log.error("Could not replay price history spill file {}: {}", spillFile, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,288 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.PriceHistoryEntryDTO;
+import com.arrayindex.productmanagementapi.dto.PriceHistoryPage;
+import com.arrayindex.productmanagementapi.dto.PriceOhlcDTO;
+import com.arrayindex.productmanagementapi.dto.PricePointDTO;
+import com.arrayindex.productmanagementapi.model.PriceHistoryRollup;
+import com.arrayindex.productmanagementapi.repository.PriceHistoryRepository;
+import com.arrayindex.productmanagementapi.repository.PriceHistoryRollupRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Time-series view over price history. Recent changes are read as raw (timestamp, price) points,
+ * older ones come from hourly OHLC rollups produced by {@link #compact()}, which downsamples and
+ * deletes raw rows past the retention window. Compaction walks every product with old rows, so the
+ * scheduler only hands it to {@code compactionExecutor} instead of holding a scheduler thread for it.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class PriceSeriesService {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime END_OF_TIME = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final PriceHistoryRollupRepository rollupRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Executor compactionExecutor;
+    private final boolean compactionEnabled;
+    private final Duration rawRetention;
+    private final Duration rollupInterval;
+    private final int maxBuckets;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public PriceSeriesService(PriceHistoryRepository priceHistoryRepository,
+                              PriceHistoryRollupRepository rollupRepository,
+                              TransactionTemplate transactionTemplate,
+                              @Qualifier("compactionExecutor") Executor compactionExecutor,
+                              @Value("${product.price-history.compaction.enabled:false}") boolean compactionEnabled,
+                              @Value("${product.price-history.compaction.raw-retention:P30D}") Duration rawRetention,
+                              @Value("${product.price-history.compaction.rollup-interval:PT1H}") Duration rollupInterval,
+                              @Value("${product.price-history.ohlc.max-buckets:5000}") int maxBuckets,
+                              @Value("${product.price-history.page.default-limit:100}") int defaultPageSize,
+                              @Value("${product.price-history.page.max-limit:1000}") int maxPageSize) {
+        this.priceHistoryRepository = priceHistoryRepository;
+        this.rollupRepository = rollupRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.compactionExecutor = compactionExecutor;
+        this.compactionEnabled = compactionEnabled;
+        this.rawRetention = rawRetention;
+        this.rollupInterval = rollupInterval;
+        this.maxBuckets = maxBuckets;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * One page of raw price history in {@code [since, until)}, newest first. Paging is keyset based
+     * on {@code (changed_at, id)}, so every page costs one index range scan of {@code limit} rows
+     * no matter how deep into a long history the cursor points.
+     */
+    public PriceHistoryPage getPriceHistoryPage(Long productId, LocalDateTime since, LocalDateTime until,
+                                                Integer limit, String cursor) {
+        LocalDateTime start = since != null ? since : EPOCH;
+        LocalDateTime end = until != null ? until : END_OF_TIME;
+        validateRange(start, end);
+        int pageSize = limit != null ? limit : defaultPageSize;
+        if (pageSize < 1 || pageSize > maxPageSize) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxPageSize);
+        }
+        log.info("Fetching price history page for product {} between {} and {}", productId, start, end);
+
+        // Without a cursor, start at the top of the range; changed_at < until already excludes the sentinel
+        LocalDateTime cursorAt = end;
+        long cursorId = Long.MAX_VALUE;
+        if (cursor != null && !cursor.isBlank()) {
+            HistoryCursor decoded = HistoryCursor.decode(cursor);
+            cursorAt = decoded.changedAt();
+            cursorId = decoded.id();
+        }
+
+        // Fetch one extra row to learn whether another page follows
+        List<PriceHistoryEntryDTO> rows = priceHistoryRepository.findHistoryPage(
+                productId, start, end, cursorAt, cursorId, PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new PriceHistoryPage(rows, null);
+        }
+        List<PriceHistoryEntryDTO> items = new ArrayList<>(rows.subList(0, pageSize));
+        PriceHistoryEntryDTO last = items.get(pageSize - 1);
+        return new PriceHistoryPage(items, new HistoryCursor(last.getChangedAt(), last.getId()).encode());
+    }
+
+    /**
+     * Price points in {@code [from, to)}. Compacted periods contribute one point per rollup bucket (its close price).
+     */
+    public List<PricePointDTO> getPricePoints(Long productId, LocalDateTime from, LocalDateTime to) {
+        validateRange(from, to);
+        log.info("Fetching price points for product {} between {} and {}", productId, from, to);
+        List<PricePointDTO> points = new ArrayList<>();
+        for (PriceHistoryRollup rollup : findRollups(productId, from, to)) {
+            points.add(new PricePointDTO(rollup.getBucketStart(), rollup.getClose()));
+        }
+        points.addAll(priceHistoryRepository.findPricePoints(productId, from, to));
+        return points;
+    }
+
+    /**
+     * OHLC, average and sample count per {@code interval} bucket, aligned to the epoch.
+     * Buckets without price changes are omitted.
+     */
+    public List<PriceOhlcDTO> getOhlc(Long productId, LocalDateTime from, LocalDateTime to, Duration interval) {
+        validateRange(from, to);
+        if (interval.isNegative() || interval.getSeconds() < 1) {
+            throw new IllegalArgumentException("Interval must be at least one second");
+        }
+        if (Duration.between(from, to).getSeconds() / interval.getSeconds() > maxBuckets) {
+            throw new IllegalArgumentException("Requested range would produce more than " + maxBuckets + " buckets");
+        }
+        log.info("Fetching {} OHLC for product {} between {} and {}", interval, productId, from, to);
+
+        long bucketSeconds = interval.getSeconds();
+        Map<LocalDateTime, Bucket> buckets = new LinkedHashMap<>();
+        for (PriceHistoryRollup rollup : findRollups(productId, from, to)) {
+            buckets.computeIfAbsent(alignTo(rollup.getBucketStart(), bucketSeconds), Bucket::new).merge(rollup);
+        }
+        for (PricePointDTO point : priceHistoryRepository.findPricePoints(productId, from, to)) {
+            buckets.computeIfAbsent(alignTo(point.getTimestamp(), bucketSeconds), Bucket::new).add(point.getPrice());
+        }
+        return buckets.values().stream().map(Bucket::toDto).toList();
+    }
+
+    @Scheduled(fixedDelayString = "${product.price-history.compaction.fixed-delay-ms:3600000}",
+               initialDelayString = "${product.price-history.compaction.initial-delay-ms:60000}")
+    public void scheduleCompaction() {
+        if (compactionEnabled) {
+            compactionExecutor.execute(this::compact);
+        }
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void compact() {
+        if (!compactionEnabled) {
+            return;
+        }
+        LocalDateTime cutoff = alignTo(LocalDateTime.now().minus(rawRetention), rollupInterval.getSeconds());
+        List<Long> productIds = priceHistoryRepository.findProductIdsWithChangesBefore(cutoff);
+        log.info("Compacting price history older than {} for {} products", cutoff, productIds.size());
+        long compacted = 0;
+        for (Long productId : productIds) {
+            Integer deleted = transactionTemplate.execute(status -> compactProduct(productId, cutoff));
+            compacted += deleted != null ? deleted : 0;
+        }
+        log.info("Price history compaction replaced {} raw rows with rollups", compacted);
+    }
+
+    private int compactProduct(Long productId, LocalDateTime cutoff) {
+        long bucketSeconds = rollupInterval.getSeconds();
+        Map<LocalDateTime, Bucket> buckets = new LinkedHashMap<>();
+        for (PricePointDTO point : priceHistoryRepository.findPricePoints(productId, EPOCH, cutoff)) {
+            buckets.computeIfAbsent(alignTo(point.getTimestamp(), bucketSeconds), Bucket::new).add(point.getPrice());
+        }
+        for (Bucket bucket : buckets.values()) {
+            PriceHistoryRollup rollup = rollupRepository.findByProductIdAndBucketStart(productId, bucket.start)
+                    .map(existing -> {
+                        Bucket merged = new Bucket(bucket.start);
+                        merged.merge(existing);
+                        merged.merge(bucket);
+                        merged.applyTo(existing);
+                        return existing;
+                    })
+                    .orElseGet(() -> bucket.toRollup(productId, bucketSeconds));
+            rollupRepository.save(rollup);
+        }
+        return priceHistoryRepository.deleteByProductIdAndChangedAtBefore(productId, cutoff);
+    }
+
+    private List<PriceHistoryRollup> findRollups(Long productId, LocalDateTime from, LocalDateTime to) {
+        return rollupRepository.findByProductIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(
+                productId, from, to);
+    }
+
+    private void validateRange(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("'from' must be before 'to'");
+        }
+    }
+
+    private static LocalDateTime alignTo(LocalDateTime time, long bucketSeconds) {
+        long epochSecond = time.toEpochSecond(ZoneOffset.UTC);
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochSecond, bucketSeconds) * bucketSeconds, 0, ZoneOffset.UTC);
+    }
+
+    private record HistoryCursor(LocalDateTime changedAt, long id) {
+
+        private String encode() {
+            String raw = changedAt + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static HistoryCursor decode(String cursor) {
+            try {
+                String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separator = raw.lastIndexOf('|');
+                return new HistoryCursor(LocalDateTime.parse(raw.substring(0, separator)),
+                        Long.parseLong(raw.substring(separator + 1)));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid price history cursor");
+            }
+        }
+    }
+
+    private static final class Bucket {
+
+        private final LocalDateTime start;
+        private double open;
+        private double high = Double.NEGATIVE_INFINITY;
+        private double low = Double.POSITIVE_INFINITY;
+        private double close;
+        private double sum;
+        private long count;
+
+        private Bucket(LocalDateTime start) {
+            this.start = start;
+        }
+
+        // Inputs arrive in time order, so the first one opens the bucket and the last one closes it
+        private void add(double price) {
+            merge(price, price, price, price, price, 1);
+        }
+
+        private void merge(PriceHistoryRollup rollup) {
+            merge(rollup.getOpen(), rollup.getHigh(), rollup.getLow(), rollup.getClose(), rollup.getSum(), rollup.getCount());
+        }
+
+        private void merge(Bucket other) {
+            merge(other.open, other.high, other.low, other.close, other.sum, other.count);
+        }
+
+        private void merge(double open, double high, double low, double close, double sum, long count) {
+            if (this.count == 0) {
+                this.open = open;
+            }
+            this.high = Math.max(this.high, high);
+            this.low = Math.min(this.low, low);
+            this.close = close;
+            this.sum += sum;
+            this.count += count;
+        }
+
+        private void applyTo(PriceHistoryRollup rollup) {
+            rollup.setOpen(open);
+            rollup.setHigh(high);
+            rollup.setLow(low);
+            rollup.setClose(close);
+            rollup.setSum(sum);
+            rollup.setCount(count);
+        }
+
+        private PriceHistoryRollup toRollup(long productId, long bucketSeconds) {
+            return new PriceHistoryRollup(null, productId, start, bucketSeconds, open, high, low, close, sum, count);
+        }
+
+        private PriceOhlcDTO toDto() {
+            return new PriceOhlcDTO(start, open, high, low, close, sum / count, count);
+        }
+    }
+}
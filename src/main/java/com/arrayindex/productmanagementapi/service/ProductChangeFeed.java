@@ -0,0 +1,304 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.ProductChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Fans product change events out to Server-Sent Event subscribers of {@code GET /api/products/stream}.
+ * <p>
+ * Each subscriber has a bounded pending buffer keyed by product id: a newer change for a product
+ * replaces the one still waiting (conflation), and when more products than the limit are pending the
+ * oldest is dropped and an {@code overflow} event tells the client to re-read. Sends run on a small
+ * dedicated pool, one drain at a time per subscriber, so a slow client never blocks the Kafka consumer.
+ * Heartbeats go through the same drain, so they never block the scheduler either.
+ * <p>
+ * Event ids are offsets on the single-partition products topic. A ring of recent events serves
+ * {@code Last-Event-ID} resumes; if the requested id is older than the ring, a {@code reset} event is sent.
+ */
+@Slf4j
+@Component
+public class ProductChangeFeed implements DisposableBean {
+
+    private final Executor sender;
+    private final int historySize;
+    private final int maxPending;
+    private final long timeoutMs;
+
+    // Guarded by itself; publish and subscribe hold it so a resuming client sees every event exactly once
+    private final Deque<ProductChangeEvent> history = new ArrayDeque<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Counter delivered;
+    private final Counter conflated;
+    private final Counter dropped;
+
+    @Autowired
+    public ProductChangeFeed(MeterRegistry meterRegistry,
+                             @Value("${product.change-feed.sender-threads:2}") int senderThreads,
+                             @Value("${product.change-feed.history-size:1000}") int historySize,
+                             @Value("${product.change-feed.max-pending:256}") int maxPending,
+                             @Value("${product.change-feed.timeout-ms:1800000}") long timeoutMs) {
+        this(Executors.newFixedThreadPool(senderThreads, daemonThreads()), meterRegistry, historySize, maxPending, timeoutMs);
+    }
+
+    ProductChangeFeed(Executor sender, MeterRegistry meterRegistry, int historySize, int maxPending, long timeoutMs) {
+        this.sender = sender;
+        this.historySize = historySize;
+        this.maxPending = maxPending;
+        this.timeoutMs = timeoutMs;
+        this.delivered = meterRegistry.counter("product.change-feed.delivered");
+        this.conflated = meterRegistry.counter("product.change-feed.conflated");
+        this.dropped = meterRegistry.counter("product.change-feed.dropped");
+        meterRegistry.gauge("product.change-feed.subscribers", subscribers, Set::size);
+    }
+
+    private static CustomizableThreadFactory daemonThreads() {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ProductChangeFeed-");
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    /**
+     * Opens a stream of changes matching the filters; a null category or empty id set matches everything.
+     */
+    public SseEmitter subscribe(String category, Set<Long> productIds, String lastEventId) {
+        Long resumeAfter = parseEventId(lastEventId);
+        SseEmitter emitter = createEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(emitter, category, productIds);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        boolean drain;
+        synchronized (history) {
+            if (resumeAfter != null) {
+                replay(subscriber, resumeAfter);
+            }
+            subscribers.add(subscriber);
+            drain = subscriber.claimDrain();
+        }
+        if (drain) {
+            sender.execute(() -> drain(subscriber));
+        }
+        log.debug("Change feed subscriber added (category={}, ids={}, lastEventId={})", category, productIds, lastEventId);
+        return emitter;
+    }
+
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    public void publish(ProductChangeEvent event) {
+        synchronized (history) {
+            ProductChangeEvent newest = history.peekLast();
+            if (newest != null && event.getEventId() <= newest.getEventId()) {
+                // Redelivery after a consumer rebalance
+                return;
+            }
+            history.addLast(event);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            for (Subscriber subscriber : subscribers) {
+                if (subscriber.matches(event) && subscriber.offer(event)) {
+                    sender.execute(() -> drain(subscriber));
+                }
+            }
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Comment lines keep proxies from closing idle streams and reveal clients that went away
+    @Scheduled(fixedDelayString = "${product.change-feed.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offerKeepalive()) {
+                sender.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        if (sender instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    private void replay(Subscriber subscriber, long resumeAfter) {
+        ProductChangeEvent oldest = history.peekFirst();
+        if (oldest == null || oldest.getEventId() > resumeAfter + 1) {
+            // Events after the client's id are no longer (or were never) held here
+            subscriber.reset = true;
+            return;
+        }
+        for (ProductChangeEvent event : history) {
+            if (event.getEventId() > resumeAfter && subscriber.matches(event)) {
+                subscriber.buffer(event);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            SseEmitter.SseEventBuilder message;
+            boolean keepalive = false;
+            synchronized (subscriber) {
+                message = subscriber.next();
+                if (message == null && subscriber.keepalive) {
+                    subscriber.keepalive = false;
+                    keepalive = true;
+                    message = SseEmitter.event().comment("keepalive");
+                }
+                if (message == null) {
+                    subscriber.draining = false;
+                    return;
+                }
+            }
+            try {
+                subscriber.emitter.send(message);
+                if (!keepalive) {
+                    delivered.increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                disconnect(subscriber, e);
+                return;
+            }
+        }
+    }
+
+    private void disconnect(Subscriber subscriber, Exception cause) {
+        if (subscribers.remove(subscriber)) {
+            log.debug("Change feed subscriber disconnected: {}", cause.getMessage());
+            subscriber.emitter.completeWithError(cause);
+        }
+    }
+
+    private static Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid Last-Event-ID: " + lastEventId);
+        }
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final String category;
+        private final Set<Long> productIds;
+
+        // Guarded by this
+        private final LinkedHashMap<Long, ProductChangeEvent> pending = new LinkedHashMap<>();
+        private boolean draining;
+        private boolean reset;
+        private boolean keepalive;
+        private int overflowed;
+
+        private Subscriber(SseEmitter emitter, String category, Collection<Long> productIds) {
+            this.emitter = emitter;
+            this.category = category;
+            this.productIds = productIds == null ? Set.of() : Set.copyOf(productIds);
+        }
+
+        private boolean matches(ProductChangeEvent event) {
+            return (category == null || category.equalsIgnoreCase(event.getCategory()))
+                    && (productIds.isEmpty() || productIds.contains(event.getProductId()));
+        }
+
+        /**
+         * Buffers the event and returns true if the caller must schedule a drain.
+         */
+        private synchronized boolean offer(ProductChangeEvent event) {
+            buffer(event);
+            return claimDrain();
+        }
+
+        private synchronized void buffer(ProductChangeEvent event) {
+            // Re-insert so the buffer stays in event id order
+            if (pending.remove(event.getProductId()) != null) {
+                conflated.increment();
+            }
+            pending.put(event.getProductId(), event);
+            if (pending.size() > maxPending) {
+                Iterator<Map.Entry<Long, ProductChangeEvent>> eldest = pending.entrySet().iterator();
+                eldest.next();
+                eldest.remove();
+                overflowed++;
+                dropped.increment();
+            }
+        }
+
+        /**
+         * Asks for a keepalive unless one is already waiting; returns true if the caller must schedule a drain.
+         */
+        private synchronized boolean offerKeepalive() {
+            if (keepalive) {
+                return false;
+            }
+            keepalive = true;
+            return claimDrain();
+        }
+
+        private synchronized boolean claimDrain() {
+            if (draining || (pending.isEmpty() && !reset && !keepalive)) {
+                return false;
+            }
+            draining = true;
+            return true;
+        }
+
+        private SseEmitter.SseEventBuilder next() {
+            if (reset) {
+                reset = false;
+                return SseEmitter.event().name("reset").data("History unavailable, re-read current state");
+            }
+            if (overflowed > 0) {
+                int count = overflowed;
+                overflowed = 0;
+                return SseEmitter.event().name("overflow").data(count);
+            }
+            Iterator<ProductChangeEvent> iterator = pending.values().iterator();
+            if (!iterator.hasNext()) {
+                return null;
+            }
+            ProductChangeEvent event = iterator.next();
+            iterator.remove();
+            return SseEmitter.event()
+                    .id(String.valueOf(event.getEventId()))
+                    .name(event.getType().name().toLowerCase())
+                    .data(event, MediaType.APPLICATION_JSON);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.ProductChangeEvent;
+import com.arrayindex.productmanagementapi.model.Product;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Collapses bursts of changes to the same product into one event carrying the final state.
+ * <p>
+ * The first UPDATED or STOCK_CHANGED change of a product opens a window; later changes within it replace
+ * the pending state and push the window out by {@code window-ms}, but never past {@code max-delay-ms}
+ * after the first change. CREATED and DELETED are never held back: a pending change of the same product
+ * is published first so the per-product order on the topic is kept. At most {@code max-pending} products
+ * are held; changes beyond that are published directly.
+ * <p>
+ * The map only decides what to publish; the publisher runs after {@code compute} returns, so a send blocked
+ * on the broker does not stall other products sharing the map bin. A change stays in the map until it has
+ * been sent, and a later change of the same product waits for it before sending.
+ */
+@Slf4j
+@Component
+public class ProductEventCoalescer implements SmartLifecycle {
+
+    private final boolean enabled;
+    private final long windowNanos;
+    private final long maxDelayNanos;
+    private final int maxPending;
+
+    private final Map<Long, PendingChange> pending = new ConcurrentHashMap<>();
+    private final DelayQueue<FlushDeadline> deadlines = new DelayQueue<>();
+
+    private final Counter received;
+    private final Counter published;
+    private final Counter bypassed;
+    private final DistributionSummary changesPerEvent;
+
+    private volatile boolean running = false;
+    private Thread flusher;
+
+    public ProductEventCoalescer(MeterRegistry meterRegistry,
+                                 @Value("${product.events.coalescing.enabled:false}") boolean enabled,
+                                 @Value("${product.events.coalescing.window-ms:50}") long windowMs,
+                                 @Value("${product.events.coalescing.max-delay-ms:250}") long maxDelayMs,
+                                 @Value("${product.events.coalescing.max-pending:10000}") int maxPending) {
+        this.enabled = enabled;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMs);
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(windowMs, maxDelayMs));
+        this.maxPending = maxPending;
+        this.received = meterRegistry.counter("product.events.coalescing.received");
+        this.published = meterRegistry.counter("product.events.coalescing.published");
+        this.bypassed = meterRegistry.counter("product.events.coalescing.bypassed");
+        this.changesPerEvent = DistributionSummary.builder("product.events.coalescing.changes")
+                .description("Product changes folded into each published event")
+                .register(meterRegistry);
+        meterRegistry.gauge("product.events.coalescing.pending", pending, Map::size);
+    }
+
+    /**
+     * Takes the change for delayed publication through {@code publisher}; false if the caller must publish it itself.
+     */
+    public boolean submit(Product product, ProductChangeEvent.Type type, BiConsumer<Product, ProductChangeEvent.Type> publisher) {
+        if (!running || product.getId() == null) {
+            return false;
+        }
+        if (type == ProductChangeEvent.Type.CREATED || type == ProductChangeEvent.Type.DELETED) {
+            PendingChange direct = new PendingChange(product, type, publisher, 0, 0);
+            direct.sending = true;
+            PendingChange[] claimed = {null};
+            pending.compute(product.getId(), (id, change) -> {
+                if (change != null && !change.sending) {
+                    change.sending = true;
+                    claimed[0] = change;
+                }
+                // Sent only after whatever is in flight for this product
+                direct.predecessor = change;
+                return direct;
+            });
+            received.increment();
+            if (claimed[0] != null) {
+                publish(claimed[0]);
+            }
+            publish(direct);
+            pending.remove(product.getId(), direct);
+            return true;
+        }
+
+        long now = System.nanoTime();
+        boolean[] opened = {false};
+        PendingChange merged = pending.compute(product.getId(), (id, change) -> {
+            if (change != null && !change.sending) {
+                change.merge(product, type, publisher, Math.min(now + windowNanos, change.firstNanos + maxDelayNanos));
+                return change;
+            }
+            // A product whose previous event is still being sent is never bypassed, so it cannot overtake it
+            if (change == null && pending.size() >= maxPending) {
+                return null;
+            }
+            opened[0] = true;
+            PendingChange next = new PendingChange(product, type, publisher, now, now + windowNanos);
+            next.predecessor = change;
+            return next;
+        });
+        if (merged == null) {
+            bypassed.increment();
+            return false;
+        }
+        received.increment();
+        if (opened[0]) {
+            deadlines.add(new FlushDeadline(product.getId(), merged.deadlineNanos));
+        }
+        return true;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "ProductEventCoalescer");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("Product event coalescing started (window {} ms, max delay {} ms)",
+                TimeUnit.NANOSECONDS.toMillis(windowNanos), TimeUnit.NANOSECONDS.toMillis(maxDelayNanos));
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        flusher.interrupt();
+        try {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        deadlines.clear();
+        for (Long id : pending.keySet()) {
+            flush(id, true);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server has finished in-flight requests, before the spill queue
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 1536;
+    }
+
+    private void flushLoop() {
+        while (running) {
+            try {
+                flush(deadlines.take().productId, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Publishes the pending change once its window has closed, otherwise waits for the extended window
+    private void flush(Long productId, boolean force) {
+        long now = System.nanoTime();
+        FlushDeadline[] extended = {null};
+        PendingChange[] due = {null};
+        pending.computeIfPresent(productId, (id, change) -> {
+            if (change.sending) {
+                return change;
+            }
+            if (!force && change.deadlineNanos - now > 0) {
+                extended[0] = new FlushDeadline(id, change.deadlineNanos);
+                return change;
+            }
+            change.sending = true;
+            due[0] = change;
+            return change;
+        });
+        if (extended[0] != null) {
+            deadlines.add(extended[0]);
+        }
+        if (due[0] != null) {
+            publish(due[0]);
+            pending.remove(productId, due[0]);
+        }
+    }
+
+    private void publish(PendingChange change) {
+        try {
+            if (change.predecessor != null) {
+                change.predecessor.awaitSent();
+            }
+            change.publisher.accept(change.product, change.type);
+        } catch (RuntimeException e) {
+            log.error("Publishing coalesced {} event for product {} failed: {}", change.type, change.product.getId(), e.getMessage());
+        } finally {
+            change.predecessor = null;
+            change.sent.countDown();
+        }
+        changesPerEvent.record(change.changes);
+        published.increment();
+    }
+
+    private static final class PendingChange {
+        private final long firstNanos;
+        private Product product;
+        private ProductChangeEvent.Type type;
+        private BiConsumer<Product, ProductChangeEvent.Type> publisher;
+        private long deadlineNanos;
+        private int changes = 1;
+        // Set under the map's lock by the thread that will send it; a sending change is no longer merged into
+        private boolean sending;
+        private PendingChange predecessor;
+        private final CountDownLatch sent = new CountDownLatch(1);
+
+        private PendingChange(Product product, ProductChangeEvent.Type type,
+                              BiConsumer<Product, ProductChangeEvent.Type> publisher, long firstNanos, long deadlineNanos) {
+            this.product = product;
+            this.type = type;
+            this.publisher = publisher;
+            this.firstNanos = firstNanos;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        // A stock change folded into an update is still an update; two stock changes stay a stock change
+        private void merge(Product product, ProductChangeEvent.Type type,
+                           BiConsumer<Product, ProductChangeEvent.Type> publisher, long deadlineNanos) {
+            this.product = product;
+            this.type = this.type == type ? type : ProductChangeEvent.Type.UPDATED;
+            this.publisher = publisher;
+            this.deadlineNanos = Math.max(this.deadlineNanos, deadlineNanos);
+            this.changes++;
+        }
+
+        private void awaitSent() {
+            try {
+                sent.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private record FlushDeadline(Long productId, long deadlineNanos) implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(deadlineNanos, ((FlushDeadline) other).deadlineNanos);
+        }
+    }
+}
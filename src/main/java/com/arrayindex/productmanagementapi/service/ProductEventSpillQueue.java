@@ -0,0 +1,271 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.ProductChangeEvent;
+import com.arrayindex.productmanagementapi.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.apache.kafka.common.errors.RetriableException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Durable overflow for product events while Kafka cannot take them.
+ * <p>
+ * {@link KafkaProducerService} appends an event to a local {@link SpillSegmentLog} instead of calling the
+ * producer when earlier events are still spilled (so order is kept) or when the producer's record buffer
+ * is above the watermark; sends that fail because the broker is unavailable are spilled as well.
+ * A background drainer replays the log in order with synchronous sends, backing off while the
+ * broker stays down, so request threads never wait on Kafka and no event is dropped.
+ */
+@Slf4j
+@Component
+public class ProductEventSpillQueue implements SmartLifecycle {
+
+    private static final long BUFFER_CHECK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final KafkaTemplate<String, Product> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final String directory;
+    private final int segmentBytes;
+    private final boolean forceOnAppend;
+    private final double bufferWatermark;
+    private final long sendTimeoutMs;
+    private final long retryBackoffMs;
+    private final long maxBackoffMs;
+
+    private final Counter spilled;
+    private final Counter replayed;
+    private final Counter dropped;
+
+    private final Object signal = new Object();
+    private volatile SpillSegmentLog spillLog;
+    private volatile boolean running = false;
+    private Thread drainer;
+
+    private volatile long lastBufferCheckNanos;
+    private volatile boolean bufferHigh;
+
+    public ProductEventSpillQueue(KafkaTemplate<String, Product> kafkaTemplate,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${product.events.spill.enabled:true}") boolean enabled,
+                                  @Value("${product.events.spill.directory:data/product-events}") String directory,
+                                  @Value("${product.events.spill.segment-bytes:16777216}") int segmentBytes,
+                                  @Value("${product.events.spill.force-on-append:false}") boolean forceOnAppend,
+                                  @Value("${product.events.spill.buffer-watermark:0.8}") double bufferWatermark,
+                                  @Value("${product.events.spill.send-timeout-ms:10000}") long sendTimeoutMs,
+                                  @Value("${product.events.spill.retry-backoff-ms:500}") long retryBackoffMs,
+                                  @Value("${product.events.spill.max-backoff-ms:30000}") long maxBackoffMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.forceOnAppend = forceOnAppend;
+        this.bufferWatermark = bufferWatermark;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.retryBackoffMs = retryBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.spilled = meterRegistry.counter("product.events.spill.spilled");
+        this.replayed = meterRegistry.counter("product.events.spill.replayed");
+        this.dropped = meterRegistry.counter("product.events.spill.dropped");
+        meterRegistry.gauge("product.events.spill.pending", this, ProductEventSpillQueue::getPending);
+    }
+
+    /**
+     * True when new events must be spilled: earlier ones are still waiting, or the producer buffer is filling up.
+     */
+    public boolean isBackedUp() {
+        return running && (!spillLog.isEmpty() || isBufferAboveWatermark());
+    }
+
+    /**
+     * Appends the event for later delivery; false if the queue is not running or the write failed.
+     */
+    public boolean spill(Product product, ProductChangeEvent.Type type) {
+        SpillSegmentLog target = spillLog;
+        if (!running || target == null) {
+            return false;
+        }
+        try {
+            ProductChangeEvent event = new ProductChangeEvent(0, type, product.getId(), product.getCategory(), product);
+            target.append(objectMapper.writeValueAsBytes(event));
+            spilled.increment();
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not spill {} event for product {}: {}", type, product.getId(), e.getMessage());
+            return false;
+        }
+        synchronized (signal) {
+            signal.notifyAll();
+        }
+        return true;
+    }
+
+    public long getPending() {
+        SpillSegmentLog target = spillLog;
+        return target == null ? 0 : target.getPending();
+    }
+
+    /**
+     * True for failures that mean the broker is unreachable or overloaded rather than a bad record.
+     */
+    public static boolean isBrokerUnavailable(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            spillLog = new SpillSegmentLog(Paths.get(directory), segmentBytes, forceOnAppend);
+        } catch (IOException e) {
+            log.error("Product event spill queue unavailable, events are sent to Kafka only: {}", e.getMessage());
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drainLoop, "ProductEventSpillDrainer");
+        drainer.setDaemon(true);
+        drainer.start();
+        log.info("Product event spill queue started in {} ({} events pending)", directory, spillLog.getPending());
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        drainer.interrupt();
+        try {
+            drainer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        spillLog.close();
+        if (spillLog.getPending() > 0) {
+            log.info("{} product events stay spilled until the next start", spillLog.getPending());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stop after the web server, before the Kafka producer factory is closed
+    @Override
+    public int getPhase() {
+        return Integer.MAX_VALUE - 2048;
+    }
+
+    private void drainLoop() {
+        long backoff = retryBackoffMs;
+        while (running) {
+            try {
+                byte[] payload = spillLog.peek();
+                if (payload == null) {
+                    synchronized (signal) {
+                        if (spillLog.isEmpty()) {
+                            signal.wait(TimeUnit.SECONDS.toMillis(1));
+                        }
+                    }
+                    continue;
+                }
+                if (replay(payload)) {
+                    backoff = retryBackoffMs;
+                } else {
+                    TimeUnit.MILLISECONDS.sleep(backoff);
+                    backoff = Math.min(backoff * 2, maxBackoffMs);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException e) {
+                log.error("Reading the product event spill queue failed: {}", e.getMessage());
+                return;
+            }
+        }
+    }
+
+    // Sends the oldest spilled event; false if the broker is still unavailable
+    private boolean replay(byte[] payload) throws InterruptedException {
+        ProductChangeEvent event;
+        try {
+            event = objectMapper.readValue(payload, ProductChangeEvent.class);
+        } catch (IOException e) {
+            log.error("Dropping unreadable spilled product event: {}", e.getMessage());
+            dropped.increment();
+            spillLog.acknowledge();
+            return true;
+        }
+        try {
+            kafkaTemplate.send(KafkaProducerService.productRecord(event.getProduct(), event.getType()))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException | RuntimeException e) {
+            Throwable failure = e instanceof ExecutionException ? e.getCause() : e;
+            if (e instanceof TimeoutException || isBrokerUnavailable(failure)) {
+                log.debug("Kafka still unavailable, {} product events spilled: {}", spillLog.getPending(), failure.getMessage());
+                return false;
+            }
+            log.error("Dropping spilled {} event for product {} that Kafka rejected: {}",
+                    event.getType(), event.getProductId(), failure.getMessage());
+            dropped.increment();
+            spillLog.acknowledge();
+            return true;
+        }
+        spillLog.acknowledge();
+        replayed.increment();
+        if (spillLog.isEmpty()) {
+            log.info("Product event spill queue drained");
+        }
+        return true;
+    }
+
+    private boolean isBufferAboveWatermark() {
+        long now = System.nanoTime();
+        if (now - lastBufferCheckNanos >= BUFFER_CHECK_INTERVAL_NANOS) {
+            lastBufferCheckNanos = now;
+            bufferHigh = bufferUsage() >= bufferWatermark;
+        }
+        return bufferHigh;
+    }
+
+    private double bufferUsage() {
+        double available = -1;
+        double total = -1;
+        try {
+            for (Map.Entry<MetricName, ? extends Metric> metric : kafkaTemplate.metrics().entrySet()) {
+                String name = metric.getKey().name();
+                if ("buffer-available-bytes".equals(name)) {
+                    available = ((Number) metric.getValue().metricValue()).doubleValue();
+                } else if ("buffer-total-bytes".equals(name)) {
+                    total = ((Number) metric.getValue().metricValue()).doubleValue();
+                }
+            }
+        } catch (RuntimeException e) {
+            return 0;
+        }
+        return total > 0 && available >= 0 ? 1 - available / total : 0;
+    }
+}
@@ -0,0 +1,101 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.ImportJobStatus;
+import com.arrayindex.productmanagementapi.dto.ImportRowError;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of one import, updated by the job's reader and its chunk workers.
+ */
+class ProductImportJob {
+
+    private final String id;
+    private final String fileName;
+    private final ProductImportService.Format format;
+    private final Path file;
+    private final int maxErrors;
+    private final LocalDateTime submittedAt = LocalDateTime.now();
+
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    // Guarded by this
+    private final List<ImportRowError> errors = new ArrayList<>();
+    private ImportJobStatus.State state = ImportJobStatus.State.QUEUED;
+    private String message;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private long finishedNanos;
+
+    ProductImportJob(String id, String fileName, ProductImportService.Format format, Path file, int maxErrors) {
+        this.id = id;
+        this.fileName = fileName;
+        this.format = format;
+        this.file = file;
+        this.maxErrors = maxErrors;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    ProductImportService.Format getFormat() {
+        return format;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    void rowRead() {
+        rowsRead.incrementAndGet();
+    }
+
+    void imported(int count) {
+        imported.addAndGet(count);
+    }
+
+    void rejected(long line, String reason) {
+        failed.incrementAndGet();
+        synchronized (this) {
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportRowError(line, reason));
+            }
+        }
+    }
+
+    synchronized void start() {
+        state = ImportJobStatus.State.RUNNING;
+        startedAt = LocalDateTime.now();
+    }
+
+    synchronized void finish(String failure) {
+        state = failure == null ? ImportJobStatus.State.COMPLETED : ImportJobStatus.State.FAILED;
+        message = failure;
+        finishedAt = LocalDateTime.now();
+        finishedNanos = System.nanoTime();
+    }
+
+    synchronized boolean isFinished() {
+        return finishedAt != null;
+    }
+
+    synchronized boolean finishedBefore(long nanos) {
+        return finishedAt != null && finishedNanos - nanos < 0;
+    }
+
+    synchronized ImportJobStatus toStatus() {
+        // Chunks finish out of order; report errors in file order
+        List<ImportRowError> sorted = new ArrayList<>(errors);
+        sorted.sort(Comparator.comparingLong(ImportRowError::getLine));
+        return new ImportJobStatus(id, fileName, format.name(), state, rowsRead.get(), imported.get(), failed.get(),
+                sorted, message, submittedAt, startedAt, finishedAt);
+    }
+}
@@ -0,0 +1,540 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.ImportJobStatus;
+import com.arrayindex.productmanagementapi.dto.ProductDTO;
+import com.arrayindex.productmanagementapi.exception.BulkheadFullException;
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk product import from CSV or NDJSON files, run as background jobs.
+ * <p>
+ * The upload is copied to a local file and read as a stream by one job thread on {@code importJobExecutor},
+ * which only splits it into records and hands chunks of {@code batch-size} rows to {@code importWorkerExecutor}.
+ * Workers parse and validate the rows as {@link ProductDTO}s, check SKUs against the database and insert the
+ * valid rows with one JDBC batch in one transaction per chunk. At most {@code max-in-flight-chunks} chunks per
+ * job are in memory at a time, however large the file. When a chunk's batch fails (typically a SKU repeated in
+ * another chunk), its rows are retried one transaction each so only the offending rows are rejected.
+ * Rejected rows are recorded with their line number; progress is kept in memory for {@code retention-ms}.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String INSERT_SQL = "INSERT INTO products " +
+            "(name, description, price, category, stock_quantity, sku, created_at, updated_at, is_active) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transaction;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final SkuBloomFilter skuBloomFilter;
+    private final Executor jobExecutor;
+    private final Executor workerExecutor;
+    private final Path directory;
+    private final int batchSize;
+    private final int maxInFlightChunks;
+    private final int maxErrors;
+    private final boolean publishEvents;
+    private final long retentionNanos;
+
+    private final Map<String, ProductImportJob> jobs = new ConcurrentHashMap<>();
+    private final Counter importedRows;
+    private final Counter failedRows;
+    private final Counter rejectedJobs;
+
+    public ProductImportService(ProductRepository productRepository,
+                                ProductService productService,
+                                JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                SkuBloomFilter skuBloomFilter,
+                                @Qualifier("importJobExecutor") Executor jobExecutor,
+                                @Qualifier("importWorkerExecutor") Executor workerExecutor,
+                                MeterRegistry meterRegistry,
+                                @Value("${product.import.directory:data/imports}") String directory,
+                                @Value("${product.import.batch-size:1000}") int batchSize,
+                                @Value("${product.import.max-in-flight-chunks:8}") int maxInFlightChunks,
+                                @Value("${product.import.max-errors:1000}") int maxErrors,
+                                @Value("${product.import.publish-events:true}") boolean publishEvents,
+                                @Value("${product.import.retention-ms:86400000}") long retentionMs) {
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.jdbcTemplate = jdbcTemplate;
+        // Not readOnly: SKU checks must see the primary, a lagging replica would let duplicates through
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.skuBloomFilter = skuBloomFilter;
+        this.jobExecutor = jobExecutor;
+        this.workerExecutor = workerExecutor;
+        this.directory = Paths.get(directory);
+        this.batchSize = batchSize;
+        this.maxInFlightChunks = maxInFlightChunks;
+        this.maxErrors = maxErrors;
+        this.publishEvents = publishEvents;
+        this.retentionNanos = TimeUnit.MILLISECONDS.toNanos(retentionMs);
+        this.importedRows = meterRegistry.counter("product.import.rows", "result", "imported");
+        this.failedRows = meterRegistry.counter("product.import.rows", "result", "failed");
+        this.rejectedJobs = meterRegistry.counter("bulkhead.rejected", "bulkhead", "import");
+        meterRegistry.gauge("product.import.jobs.active", jobs, map -> map.values().stream()
+                .filter(job -> !job.isFinished()).count());
+    }
+
+    /**
+     * Stores the upload and queues an import job for it.
+     *
+     * @param format "csv" or "ndjson"; when null it is taken from the file extension or content type
+     * @throws BulkheadFullException if the job queue is full
+     */
+    public ImportJobStatus submit(MultipartFile upload, String format) throws IOException {
+        Format resolved = resolveFormat(format, upload.getOriginalFilename(), upload.getContentType());
+        Files.createDirectories(directory);
+        Path file = Files.createTempFile(directory, "import-", "." + resolved.name().toLowerCase(Locale.ROOT));
+        try {
+            // Copied as a stream; multipart uploads are already spooled to disk by the container
+            upload.transferTo(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return submit(file, upload.getOriginalFilename(), resolved);
+    }
+
+    ImportJobStatus submit(Path file, String fileName, Format format) throws IOException {
+        ProductImportJob job = new ProductImportJob(UUID.randomUUID().toString(), fileName, format, file, maxErrors);
+        jobs.put(job.getId(), job);
+        try {
+            jobExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            Files.deleteIfExists(file);
+            rejectedJobs.increment();
+            throw new BulkheadFullException("Import capacity exhausted, retry later");
+        }
+        log.info("Queued {} import job {} for {}", format, job.getId(), fileName);
+        return job.toStatus();
+    }
+
+    /**
+     * Progress of a job, or null if it is unknown or has expired.
+     */
+    public ImportJobStatus getStatus(String jobId) {
+        ProductImportJob job = jobs.get(jobId);
+        return job != null ? job.toStatus() : null;
+    }
+
+    @Scheduled(fixedDelayString = "${product.import.cleanup-interval-ms:60000}")
+    public void removeExpiredJobs() {
+        long cutoff = System.nanoTime() - retentionNanos;
+        jobs.values().removeIf(job -> job.finishedBefore(cutoff));
+    }
+
+    static Format resolveFormat(String format, String fileName, String contentType) {
+        if (format != null && !format.isBlank()) {
+            try {
+                return Format.valueOf(format.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported import format '" + format + "', use csv or ndjson");
+            }
+        }
+        String name = fileName != null ? fileName.toLowerCase(Locale.ROOT) : "";
+        String type = contentType != null ? contentType.toLowerCase(Locale.ROOT) : "";
+        if (name.endsWith(".csv") || type.startsWith("text/csv")) {
+            return Format.CSV;
+        }
+        if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || type.startsWith("application/x-ndjson")) {
+            return Format.NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the import format of '" + fileName + "', pass format=csv or format=ndjson");
+    }
+
+    void run(ProductImportJob job) {
+        job.start();
+        Semaphore inFlight = new Semaphore(maxInFlightChunks);
+        String failure = null;
+        try (BufferedReader reader = Files.newBufferedReader(job.getFile(), StandardCharsets.UTF_8)) {
+            RecordSource records = job.getFormat() == Format.CSV ? new CsvSource(reader) : new NdjsonSource(reader);
+            List<RawRecord> chunk = new ArrayList<>(batchSize);
+            RawRecord record;
+            while ((record = records.next()) != null) {
+                job.rowRead();
+                chunk.add(record);
+                if (chunk.size() == batchSize) {
+                    dispatch(job, chunk, inFlight);
+                    chunk = new ArrayList<>(batchSize);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                dispatch(job, chunk, inFlight);
+            }
+        } catch (IOException | RuntimeException e) {
+            failure = "Import stopped: " + e.getMessage();
+            log.warn("Import job {} failed: {}", job.getId(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = "Import interrupted";
+        }
+        try {
+            // Rows already handed to workers still finish
+            inFlight.acquire(maxInFlightChunks);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = "Import interrupted";
+        }
+        job.finish(failure);
+        try {
+            Files.deleteIfExists(job.getFile());
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}: {}", job.getFile(), e.getMessage());
+        }
+        ImportJobStatus status = job.toStatus();
+        log.info("Import job {} {}: {} rows read, {} imported, {} rejected", job.getId(), status.getState(),
+                status.getRowsRead(), status.getImported(), status.getFailed());
+    }
+
+    private void dispatch(ProductImportJob job, List<RawRecord> chunk, Semaphore inFlight) throws InterruptedException {
+        inFlight.acquire();
+        // A saturated worker pool runs the chunk on this thread (caller runs), which slows the reader down
+        workerExecutor.execute(() -> {
+            try {
+                importChunk(job, chunk);
+            } catch (RuntimeException e) {
+                log.error("Import job {} chunk starting on line {} failed: {}", job.getId(), chunk.get(0).line(), e.getMessage());
+                for (RawRecord record : chunk) {
+                    job.rejected(record.line(), "Chunk failed: " + e.getMessage());
+                }
+                failedRows.increment(chunk.size());
+            } finally {
+                inFlight.release();
+            }
+        });
+    }
+
+    void importChunk(ProductImportJob job, List<RawRecord> records) {
+        List<Row> rows = new ArrayList<>(records.size());
+        for (RawRecord record : records) {
+            try {
+                ProductDTO dto = record.parse(objectMapper);
+                String violations = validate(dto);
+                if (violations != null) {
+                    reject(job, record.line(), violations);
+                } else {
+                    rows.add(new Row(record.line(), dto));
+                }
+            } catch (IllegalArgumentException | JsonProcessingException e) {
+                reject(job, record.line(), "Unreadable row: " + e.getMessage());
+            }
+        }
+
+        List<Row> valid = transaction.execute(status -> withoutDuplicateSkus(job, rows));
+        List<Product> inserted = insert(job, valid);
+        if (!inserted.isEmpty()) {
+            // Caches, SKU filter and change events, after the chunk's transaction has committed
+            productService.registerImported(inserted, publishEvents);
+            job.imported(inserted.size());
+            importedRows.increment(inserted.size());
+        }
+    }
+
+    private String validate(ProductDTO dto) {
+        Set<ConstraintViolation<ProductDTO>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // SKUs already stored, or repeated within the chunk; repeats across chunks are caught by the unique constraint
+    private List<Row> withoutDuplicateSkus(ProductImportJob job, List<Row> rows) {
+        Set<String> candidates = new HashSet<>();
+        for (Row row : rows) {
+            String sku = row.dto().getSku();
+            if (sku != null && skuBloomFilter.mightContain(sku)) {
+                candidates.add(sku);
+            }
+        }
+        Set<String> existing = candidates.isEmpty() ? Set.of() : new HashSet<>(productRepository.findExistingSkus(candidates));
+        Set<String> seen = new HashSet<>();
+        List<Row> valid = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            String sku = row.dto().getSku();
+            if (sku != null && existing.contains(sku)) {
+                reject(job, row.line(), "Product with SKU " + sku + " already exists");
+            } else if (sku != null && !seen.add(sku)) {
+                reject(job, row.line(), "SKU " + sku + " appears more than once in the file");
+            } else {
+                valid.add(row);
+            }
+        }
+        return valid;
+    }
+
+    private List<Product> insert(ProductImportJob job, List<Row> rows) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        List<Product> products = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            products.add(toProduct(row.dto()));
+        }
+        try {
+            transaction.executeWithoutResult(status -> insertBatch(products));
+            return products;
+        } catch (DataAccessException e) {
+            log.debug("Import job {} batch starting on line {} failed, retrying rows one by one: {}",
+                    job.getId(), rows.get(0).line(), e.getMessage());
+        }
+        List<Product> inserted = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Product product = products.get(i);
+            try {
+                transaction.executeWithoutResult(status -> insertBatch(List.of(product)));
+                inserted.add(product);
+            } catch (DataAccessException e) {
+                reject(job, rows.get(i).line(), "Rejected by the database: "
+                        + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+            }
+        }
+        return inserted;
+    }
+
+    private void insertBatch(List<Product> products) {
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(connection -> connection.prepareStatement(INSERT_SQL, new String[] {"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Product product = products.get(i);
+                        ps.setString(1, product.getName());
+                        if (product.getDescription() != null) {
+                            ps.setString(2, product.getDescription());
+                        } else {
+                            ps.setNull(2, Types.VARCHAR);
+                        }
+                        ps.setDouble(3, product.getPrice());
+                        ps.setString(4, product.getCategory());
+                        ps.setInt(5, product.getStockQuantity());
+                        ps.setString(6, product.getSku());
+                        ps.setTimestamp(7, Timestamp.valueOf(product.getCreatedAt()));
+                        ps.setTimestamp(8, Timestamp.valueOf(product.getUpdatedAt()));
+                        ps.setBoolean(9, product.getIsActive());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return products.size();
+                    }
+                }, keys);
+        List<Map<String, Object>> generated = keys.getKeyList();
+        for (int i = 0; i < products.size() && i < generated.size(); i++) {
+            products.get(i).setId(((Number) generated.get(i).values().iterator().next()).longValue());
+        }
+    }
+
+    // Same defaults as ProductService#createProduct, set here because the rows bypass JPA callbacks
+    private static Product toProduct(ProductDTO dto) {
+        LocalDateTime now = LocalDateTime.now();
+        Product product = new Product();
+        product.setName(dto.getName());
+        product.setDescription(dto.getDescription());
+        product.setPrice(dto.getPrice());
+        product.setCategory(dto.getCategory() != null ? dto.getCategory() : "Uncategorized");
+        product.setStockQuantity(dto.getStockQuantity() != null ? dto.getStockQuantity() : 0);
+        product.setSku(dto.getSku() != null ? dto.getSku() : generateSku());
+        product.setIsActive(dto.getIsActive() != null ? dto.getIsActive() : true);
+        product.setCreatedAt(now);
+        product.setUpdatedAt(now);
+        product.setPriceHistory(null);
+        return product;
+    }
+
+    // Millisecond-based SKUs (Product#generateSKU) collide when thousands of rows are inserted per second
+    private static String generateSku() {
+        return "SKU-" + UUID.randomUUID().toString().replace("-", "").substring(0, 16).toUpperCase(Locale.ROOT);
+    }
+
+    private void reject(ProductImportJob job, long line, String reason) {
+        job.rejected(line, reason);
+        failedRows.increment();
+    }
+
+    private record Row(long line, ProductDTO dto) {
+    }
+
+    /**
+     * One record as read from the file; parsed into a {@link ProductDTO} on a worker thread.
+     */
+    interface RawRecord {
+
+        long line();
+
+        ProductDTO parse(ObjectMapper objectMapper) throws JsonProcessingException;
+    }
+
+    private interface RecordSource {
+
+        RawRecord next() throws IOException;
+    }
+
+    private record JsonRecord(long line, String json) implements RawRecord {
+
+        @Override
+        public ProductDTO parse(ObjectMapper objectMapper) throws JsonProcessingException {
+            return objectMapper.readValue(json, ProductDTO.class);
+        }
+    }
+
+    private record CsvRecord(long line, Map<String, Integer> columns, List<String> fields) implements RawRecord {
+
+        @Override
+        public ProductDTO parse(ObjectMapper objectMapper) {
+            ProductDTO dto = new ProductDTO();
+            dto.setName(field("name"));
+            dto.setDescription(field("description"));
+            dto.setPrice(number("price", Double::valueOf));
+            dto.setCategory(field("category"));
+            dto.setStockQuantity(number("stockquantity", Integer::valueOf));
+            dto.setSku(field("sku"));
+            String active = field("isactive");
+            if (active != null) {
+                if (!active.equalsIgnoreCase("true") && !active.equalsIgnoreCase("false")) {
+                    throw new IllegalArgumentException("isActive must be true or false, was '" + active + "'");
+                }
+                dto.setIsActive(Boolean.valueOf(active));
+            }
+            return dto;
+        }
+
+        private String field(String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        private <N> N number(String column, Function<String, N> parser) {
+            String value = field(column);
+            try {
+                return value != null ? parser.apply(value) : null;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(column + " is not a number: '" + value + "'");
+            }
+        }
+    }
+
+    private static final class NdjsonSource implements RecordSource {
+
+        private final BufferedReader reader;
+        private long line;
+
+        private NdjsonSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (!text.isBlank()) {
+                    return new JsonRecord(line, text);
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class CsvSource implements RecordSource {
+
+        private final CsvRecordReader reader;
+        private Map<String, Integer> columns;
+
+        private CsvSource(BufferedReader reader) {
+            this.reader = new CsvRecordReader(reader);
+        }
+
+        @Override
+        public RawRecord next() throws IOException {
+            if (columns == null) {
+                columns = header(reader.next());
+            }
+            List<String> fields = reader.next();
+            return fields != null ? new CsvRecord(reader.getRecordLine(), columns, fields) : null;
+        }
+
+        // Column names are matched ignoring case, '_' and spaces: "stock_quantity" and "stockQuantity" both work
+        private static Map<String, Integer> header(List<String> names) throws IOException {
+            if (names == null) {
+                throw new IOException("CSV file is empty, expected a header row");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < names.size(); i++) {
+                String name = names.get(i).replace("\uFEFF", "").replaceAll("[_\\s]", "").toLowerCase(Locale.ROOT);
+                columns.putIfAbsent(name, i);
+            }
+            if (!columns.containsKey("name") || !columns.containsKey("price")) {
+                throw new IOException("CSV header must name at least the name and price columns, was " + names);
+            }
+            return columns;
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package com.arrayindex.productmanagementapi.service;
 
+import com.arrayindex.productmanagementapi.cache.BulkCacheOperations;
+import com.arrayindex.productmanagementapi.cache.CacheInvalidationBus;
+import com.arrayindex.productmanagementapi.cache.EncodedResponseCache;
+import com.arrayindex.productmanagementapi.dto.PriceChangeEvent;
+import com.arrayindex.productmanagementapi.dto.ProductBatchResponse;
+import com.arrayindex.productmanagementapi.dto.ProductChangeEvent;
 import com.arrayindex.productmanagementapi.dto.ProductDTO;
+import com.arrayindex.productmanagementapi.dto.ProductResponse;
 import com.arrayindex.productmanagementapi.dto.ProductSearchDTO;
 import com.arrayindex.productmanagementapi.exception.ProductNotFoundException;
 import com.arrayindex.productmanagementapi.exception.InsufficientStockException;
@@ -9,8 +16,10 @@ import com.arrayindex.productmanagementapi.model.Product;
 import com.arrayindex.productmanagementapi.model.PriceHistory;
 import com.arrayindex.productmanagementapi.repository.ProductRepository;
 import com.arrayindex.productmanagementapi.repository.PriceHistoryRepository;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
@@ -21,19 +30,38 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
-@Transactional
+@Transactional(readOnly = true)
 public class ProductService {
 
     private final ProductRepository productRepository;
     private final PriceHistoryRepository priceHistoryRepository;
     private final KafkaProducerService kafkaProducerService;
+    private final SkuBloomFilter skuBloomFilter;
+    private final BulkCacheOperations bulkCacheOperations;
+    private final PriceHistoryWriteBehind priceHistoryWriteBehind;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Value("${product.multi-get.max-ids:1000}")
+    private int multiGetMaxIds;
+
+    @Value("${product.multi-get.chunk-size:500}")
+    private int multiGetChunkSize;
 
     @Cacheable(value = "products", key = "'all'")
     public List<Product> getAllProducts() {
@@ -47,27 +75,62 @@ public class ProductService {
         return productRepository.findById(id);
     }
 
-    @CacheEvict(value = {"products", "productById"}, allEntries = true)
+    public ProductBatchResponse getProductsByIds(List<Long> ids) {
+        if (ids.size() > multiGetMaxIds) {
+            throw new IllegalArgumentException("Cannot fetch more than " + multiGetMaxIds + " products at once");
+        }
+        List<Long> uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        log.info("Fetching {} products by id", uniqueIds.size());
+        
+        // One bulk cache read, then one IN query per chunk for the misses
+        Map<Long, Product> found = new HashMap<>(bulkCacheOperations.getAll("productById", uniqueIds, Product.class));
+        List<Long> misses = uniqueIds.stream().filter(id -> !found.containsKey(id)).toList();
+        
+        Map<Long, Product> loaded = new HashMap<>();
+        for (int from = 0; from < misses.size(); from += multiGetChunkSize) {
+            List<Long> chunk = misses.subList(from, Math.min(from + multiGetChunkSize, misses.size()));
+            productRepository.findAllById(chunk).forEach(product -> loaded.put(product.getId(), product));
+        }
+        bulkCacheOperations.putAll("productById", loaded);
+        found.putAll(loaded);
+        
+        List<ProductResponse> products = new ArrayList<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : uniqueIds) {
+            Product product = found.get(id);
+            if (product != null) {
+                products.add(ProductResponse.from(product));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ProductBatchResponse(products, missingIds);
+    }
+
+    @Transactional
+    @CacheEvict(value = {"products", "productById", EncodedResponseCache.CACHE_NAME}, allEntries = true)
     public Product createProduct(ProductDTO productDTO) {
         log.info("Creating new product: {}", productDTO.getName());
         
         // Check for duplicate SKU
-        if (productDTO.getSku() != null && productRepository.findBySku(productDTO.getSku()).isPresent()) {
+        if (productDTO.getSku() != null && skuExists(productDTO.getSku())) {
             throw new DuplicateSkuException("Product with SKU " + productDTO.getSku() + " already exists");
         }
         
         Product product = convertToEntity(productDTO);
         Product savedProduct = productRepository.save(product);
+        skuBloomFilter.add(savedProduct.getSku());
+        invalidateCaches(savedProduct, null);
         
         // Send to Kafka for asynchronous processing
-        kafkaProducerService.sendProduct(savedProduct);
+        kafkaProducerService.sendProduct(savedProduct, ProductChangeEvent.Type.CREATED);
         
         log.info("Product created successfully with id: {}", savedProduct.getId());
         return savedProduct;
     }
 
     @Transactional
-    @CacheEvict(value = {"products", "productById"}, allEntries = true)
+    @CacheEvict(value = {"products", "productById", EncodedResponseCache.CACHE_NAME}, allEntries = true)
     public Product updateProduct(Long id, ProductDTO productDTO) {
         log.info("Updating product with id: {}", id);
         
@@ -76,39 +139,41 @@ public class ProductService {
         
         // Check for duplicate SKU if SKU is being changed
         if (productDTO.getSku() != null && !existingProduct.getSku().equals(productDTO.getSku())) {
-            if (productRepository.findBySku(productDTO.getSku()).isPresent()) {
+            if (skuExists(productDTO.getSku())) {
                 throw new DuplicateSkuException("Product with SKU " + productDTO.getSku() + " already exists");
             }
         }
         
         // Track price changes
         if (productDTO.getPrice() != null && !existingProduct.getPrice().equals(productDTO.getPrice())) {
-            PriceHistory priceHistory = new PriceHistory();
-            priceHistory.setProduct(existingProduct);
-            priceHistory.setOldPrice(existingProduct.getPrice());
-            priceHistory.setNewPrice(productDTO.getPrice());
-            priceHistory.setChangeReason("Product update");
-            priceHistoryRepository.save(priceHistory);
+            recordPriceChange(existingProduct, productDTO.getPrice(), "Product update");
         }
         
+        String previousCategory = existingProduct.getCategory();
         updateEntity(existingProduct, productDTO);
         Product updatedProduct = productRepository.save(existingProduct);
+        skuBloomFilter.add(updatedProduct.getSku());
+        invalidateCaches(updatedProduct, previousCategory);
         
-        kafkaProducerService.sendProduct(updatedProduct);
+        kafkaProducerService.sendProduct(updatedProduct, ProductChangeEvent.Type.UPDATED);
         
         log.info("Product updated successfully with id: {}", id);
         return updatedProduct;
     }
 
-    @CacheEvict(value = {"products", "productById"}, allEntries = true)
+    @Transactional
+    @CacheEvict(value = {"products", "productById", EncodedResponseCache.CACHE_NAME}, allEntries = true)
     public void deleteProduct(Long id) {
         log.info("Deleting product with id: {}", id);
         
-        if (!productRepository.existsById(id)) {
-            throw new ProductNotFoundException("Product not found with id: " + id);
-        }
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ProductNotFoundException("Product not found with id: " + id));
         
-        productRepository.deleteById(id);
+        productRepository.delete(product);
+        cacheInvalidationBus.evict("productById", id);
+        cacheInvalidationBus.clear("productsByCategory");
+        invalidateListCaches();
+        kafkaProducerService.sendProduct(deletedProduct(product), ProductChangeEvent.Type.DELETED);
         log.info("Product deleted successfully with id: {}", id);
     }
 
@@ -175,6 +240,28 @@ public class ProductService {
         return productRepository.findRecentlyAddedProducts(pageable);
     }
 
+    /**
+     * Cache invalidation, SKU filter and (optionally) CREATED events for products a bulk import inserted
+     * with plain JDBC, see {@link ProductImportService}. Called once their transaction has committed.
+     */
+    public void registerImported(List<Product> products, boolean publishEvents) {
+        Set<String> categories = new HashSet<>();
+        for (Product product : products) {
+            skuBloomFilter.add(product.getSku());
+            categories.add(product.getCategory());
+        }
+        // New ids are not cached anywhere yet, only the lists they now belong to
+        categories.forEach(category -> cacheInvalidationBus.evict("productsByCategory", category));
+        invalidateListCaches();
+        // Hibernate never saw the JDBC inserts, so its cached query results (hibernate cache mode) are stale too
+        org.hibernate.Cache hibernateCache = entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class);
+        hibernateCache.evictQueryRegions();
+        hibernateCache.evictEntityData(Product.class);
+        if (publishEvents) {
+            products.forEach(product -> kafkaProducerService.sendProduct(product, ProductChangeEvent.Type.CREATED));
+        }
+    }
+
     @Transactional
     public Product updateStock(Long id, Integer quantity, String operation) {
         log.info("Updating stock for product {}: {} {}", id, operation, quantity);
@@ -194,15 +281,64 @@ public class ProductService {
         }
         
         Product updatedProduct = productRepository.save(product);
-        kafkaProducerService.sendProduct(updatedProduct);
+        invalidateCaches(updatedProduct, null);
+        kafkaProducerService.sendProduct(updatedProduct, ProductChangeEvent.Type.STOCK_CHANGED);
         
         log.info("Stock updated successfully for product {}. New stock: {}", id, updatedProduct.getStockQuantity());
         return updatedProduct;
     }
 
-    public List<PriceHistory> getProductPriceHistory(Long productId) {
-        log.info("Fetching price history for product: {}", productId);
-        return priceHistoryRepository.findByProductIdOrderByChangedAtDesc(productId);
+    private void recordPriceChange(Product product, Double newPrice, String reason) {
+        if (priceHistoryWriteBehind.isEnabled()) {
+            // Inserted in JDBC batches by the background writer once this transaction commits
+            priceHistoryWriteBehind.submit(new PriceChangeEvent(
+                    product.getId(), product.getPrice(), newPrice, reason, LocalDateTime.now()));
+            return;
+        }
+        PriceHistory priceHistory = new PriceHistory();
+        priceHistory.setProduct(product);
+        priceHistory.setOldPrice(product.getPrice());
+        priceHistory.setNewPrice(newPrice);
+        priceHistory.setChangeReason(reason);
+        priceHistoryRepository.save(priceHistory);
+    }
+
+    // Identity only: the deleted entity's lazy collections can no longer be serialized
+    private Product deletedProduct(Product product) {
+        Product deleted = new Product();
+        deleted.setId(product.getId());
+        deleted.setName(product.getName());
+        deleted.setCategory(product.getCategory());
+        deleted.setSku(product.getSku());
+        deleted.setPriceHistory(null);
+        return deleted;
+    }
+
+    // Cluster-wide invalidation of every cached result the product can appear in
+    private void invalidateCaches(Product product, String previousCategory) {
+        cacheInvalidationBus.evict("productById", product.getId());
+        cacheInvalidationBus.evict("productsByCategory", product.getCategory());
+        if (previousCategory != null && !previousCategory.equals(product.getCategory())) {
+            cacheInvalidationBus.evict("productsByCategory", previousCategory);
+        }
+        invalidateListCaches();
+    }
+
+    private void invalidateListCaches() {
+        cacheInvalidationBus.clear("products");
+        cacheInvalidationBus.clear(EncodedResponseCache.CACHE_NAME);
+        // Every write that changes a list also changes the full-catalog download
+        catalogSnapshotService.markStale();
+        cacheInvalidationBus.clear("activeProducts");
+        cacheInvalidationBus.clear("productsByName");
+        cacheInvalidationBus.clear("productsByDescription");
+    }
+
+    private boolean skuExists(String sku) {
+        // The Bloom filter answers "definitely new" without a query; possible hits are confirmed.
+        // A SKU just created on another node may not have reached this node's filter: the unique
+        // constraint on products.sku still rejects the insert, as a DataIntegrityViolationException
+        return skuBloomFilter.mightContain(sku) && productRepository.existsBySku(sku);
     }
 
     private Product convertToEntity(ProductDTO dto) {
@@ -0,0 +1,41 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs search, statistics and export requests on the bounded {@code searchExecutor} so a burst of
+ * expensive scans cannot take the request threads and connections that point lookups need.
+ * When the executor and its queue are full the request is refused straight away.
+ */
+@Slf4j
+@Component
+public class SearchBulkhead {
+
+    private final Executor executor;
+    private final Counter rejected;
+
+    public SearchBulkhead(@Qualifier("searchExecutor") Executor executor, MeterRegistry meterRegistry) {
+        this.executor = executor;
+        this.rejected = meterRegistry.counter("bulkhead.rejected", "bulkhead", "search");
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.debug("Search bulkhead full, rejecting request");
+            throw new BulkheadFullException("Search capacity exhausted, retry later");
+        }
+    }
+}
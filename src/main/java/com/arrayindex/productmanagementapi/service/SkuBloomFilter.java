@@ -0,0 +1,137 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * In-memory Bloom filter of known SKUs used to short-circuit uniqueness checks.
+ * A negative answer is definitive; a positive answer must be confirmed against the database.
+ * Deleted SKUs are never removed, they only turn into false positives.
+ * <p>
+ * The filter is per node. SKUs written through other nodes arrive with their product change events, so a
+ * SKU created elsewhere within the event lag can still be reported as new; the unique constraint on
+ * {@code products.sku} is what finally rejects such a duplicate.
+ */
+@Slf4j
+@Component
+public class SkuBloomFilter {
+
+    private final ProductRepository productRepository;
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashFunctions;
+    private final AtomicLong insertions = new AtomicLong();
+
+    private volatile boolean ready = false;
+
+    public SkuBloomFilter(ProductRepository productRepository,
+                          @Value("${product.sku-filter.expected-insertions:1000000}") long expectedInsertions,
+                          @Value("${product.sku-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.productRepository = productRepository;
+        long optimalBits = (long) (-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) / 64);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+
+    // Not readOnly: a lagging replica would leave recent SKUs out, i.e. false negatives
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadExistingSkus() {
+        log.info("Building SKU Bloom filter ({} bits, {} hash functions)", bitCount, hashFunctions);
+        try (Stream<String> skus = productRepository.streamAllSkus()) {
+            skus.forEach(this::add);
+        }
+        ready = true;
+        log.info("SKU Bloom filter ready with {} entries", insertions.get());
+    }
+
+    /**
+     * Returns false only if the SKU has definitely never been stored.
+     * Until the filter has been built every SKU is reported as a possible match.
+     */
+    public boolean mightContain(String sku) {
+        if (!ready) {
+            return true;
+        }
+        long hash = hash(sku);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            if (!isSet(index(h1, h2, i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public void add(String sku) {
+        if (sku == null) {
+            return;
+        }
+        long hash = hash(sku);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashFunctions; i++) {
+            set(index(h1, h2, i));
+        }
+        insertions.incrementAndGet();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long getInsertions() {
+        return insertions.get();
+    }
+
+    private long index(int h1, int h2, int i) {
+        int combined = h1 + i * h2;
+        if (combined < 0) {
+            combined = ~combined;
+        }
+        return combined % bitCount;
+    }
+
+    private boolean isSet(long bit) {
+        return (bits.get((int) (bit >>> 6)) & (1L << bit)) != 0;
+    }
+
+    private void set(long bit) {
+        int word = (int) (bit >>> 6);
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = bits.get(word);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(word, current, current | mask));
+    }
+
+    // 64-bit FNV-1a followed by a murmur3 finalizer to spread the low bits
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,227 @@
+package com.arrayindex.productmanagementapi.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only queue of byte records on local disk, stored in fixed-size memory-mapped segment files.
+ * <p>
+ * A record is {@code [length][crc32][payload]}; a zero length marks the end of the written data, and
+ * recovery also stops at the first record whose checksum does not match (a write torn by a crash).
+ * Records are consumed in order with {@link #peek()} and {@link #acknowledge()}; the read position is
+ * kept in a memory-mapped {@code checkpoint} file and fully consumed segments are deleted.
+ * <p>
+ * Mapped writes survive a process crash once {@link #append(byte[])} returns. They are forced to the
+ * device when a segment is rolled, on {@link #close()}, and after every append if {@code forceOnAppend} is set.
+ */
+@Slf4j
+public class SpillSegmentLog implements Closeable {
+
+    private static final int HEADER = Integer.BYTES * 2;
+    private static final String SUFFIX = ".seg";
+    private static final String CHECKPOINT = "checkpoint";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final boolean forceOnAppend;
+
+    // Guarded by this
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    private final MappedByteBuffer checkpoint;
+    private long writeSegment;
+    private int writePosition;
+    private long readSegment;
+    private int readPosition;
+    private int peekedLength = -1;
+    private long pending;
+
+    public SpillSegmentLog(Path directory, int segmentBytes, boolean forceOnAppend) throws IOException {
+        if (segmentBytes <= HEADER * 2) {
+            throw new IllegalArgumentException("Segment size too small: " + segmentBytes);
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.forceOnAppend = forceOnAppend;
+        Files.createDirectories(directory);
+        this.checkpoint = map(directory.resolve(CHECKPOINT), Long.BYTES + Integer.BYTES);
+        recover();
+    }
+
+    /**
+     * Appends a record, rolling to a new segment when the current one is full.
+     */
+    public synchronized void append(byte[] payload) throws IOException {
+        int size = HEADER + payload.length;
+        if (size + Integer.BYTES > segmentBytes) {
+            throw new IllegalArgumentException("Record of " + payload.length + " bytes does not fit in a segment");
+        }
+        if (writePosition + size + Integer.BYTES > segmentBytes) {
+            segments.get(writeSegment).force();
+            writeSegment++;
+            writePosition = 0;
+            segments.put(writeSegment, openSegment(writeSegment));
+        }
+        MappedByteBuffer segment = segments.get(writeSegment);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        // Length last: a record cut short by a process crash reads as the end of the log
+        // (the checksum catches pages lost in an OS crash)
+        segment.putInt(writePosition + HEADER + payload.length, 0);
+        segment.put(writePosition + HEADER, payload);
+        segment.putInt(writePosition + Integer.BYTES, (int) crc.getValue());
+        segment.putInt(writePosition, payload.length);
+        writePosition += size;
+        pending++;
+        if (forceOnAppend) {
+            segment.force();
+        }
+    }
+
+    /**
+     * Returns the oldest unacknowledged record without consuming it, or null when the log is empty.
+     */
+    public synchronized byte[] peek() throws IOException {
+        while (true) {
+            MappedByteBuffer segment = segments.get(readSegment);
+            int length = readPosition + HEADER <= segmentBytes ? segment.getInt(readPosition) : 0;
+            if (length > 0) {
+                byte[] payload = new byte[length];
+                segment.get(readPosition + HEADER, payload);
+                peekedLength = length;
+                return payload;
+            }
+            if (readSegment == writeSegment) {
+                return null;
+            }
+            // End of a finished segment: it will never be read again
+            segments.remove(readSegment);
+            Files.deleteIfExists(segmentFile(readSegment));
+            readSegment++;
+            readPosition = 0;
+            saveCheckpoint();
+        }
+    }
+
+    /**
+     * Consumes the record returned by the last {@link #peek()}.
+     */
+    public synchronized void acknowledge() {
+        if (peekedLength < 0) {
+            throw new IllegalStateException("Nothing to acknowledge");
+        }
+        readPosition += HEADER + peekedLength;
+        peekedLength = -1;
+        pending--;
+        saveCheckpoint();
+    }
+
+    public synchronized long getPending() {
+        return pending;
+    }
+
+    public synchronized boolean isEmpty() {
+        return pending == 0;
+    }
+
+    @Override
+    public synchronized void close() {
+        segments.values().forEach(MappedByteBuffer::force);
+        checkpoint.force();
+    }
+
+    private void recover() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SUFFIX))
+                    .forEach(name -> ids.add(Long.parseLong(name.substring(0, name.length() - SUFFIX.length()))));
+        }
+        ids.sort(null);
+
+        long checkpointSegment = checkpoint.getLong(0);
+        int checkpointPosition = checkpoint.getInt(Long.BYTES);
+        for (long id : ids) {
+            if (id < checkpointSegment) {
+                Files.deleteIfExists(segmentFile(id));
+            } else {
+                segments.put(id, openSegment(id));
+            }
+        }
+        if (segments.isEmpty()) {
+            long first = Math.max(checkpointSegment, ids.isEmpty() ? 0 : ids.get(ids.size() - 1) + 1);
+            segments.put(first, openSegment(first));
+            checkpointSegment = first;
+            checkpointPosition = 0;
+        }
+
+        readSegment = Math.max(checkpointSegment, segments.firstKey());
+        readPosition = readSegment == checkpointSegment ? checkpointPosition : 0;
+        writeSegment = segments.lastKey();
+        for (var entry : segments.entrySet()) {
+            int start = entry.getKey() == readSegment ? readPosition : 0;
+            int end = scan(entry.getValue(), start);
+            if (entry.getKey() == writeSegment) {
+                writePosition = end;
+            }
+        }
+        saveCheckpoint();
+        if (pending > 0) {
+            log.info("Recovered {} spilled records from {}", pending, directory);
+        }
+    }
+
+    // Counts valid records from start and returns the end of the valid data
+    private int scan(MappedByteBuffer segment, int start) {
+        int position = start;
+        while (position + HEADER <= segmentBytes) {
+            int length = segment.getInt(position);
+            if (length <= 0 || position + HEADER + length > segmentBytes) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            segment.get(position + HEADER, payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != segment.getInt(position + Integer.BYTES)) {
+                log.warn("Discarding torn record at offset {} of a spill segment", position);
+                segment.putInt(position, 0);
+                break;
+            }
+            position += HEADER + length;
+            pending++;
+        }
+        return position;
+    }
+
+    private void saveCheckpoint() {
+        checkpoint.putLong(0, readSegment);
+        checkpoint.putInt(Long.BYTES, readPosition);
+    }
+
+    private MappedByteBuffer openSegment(long id) throws IOException {
+        return map(segmentFile(id), segmentBytes);
+    }
+
+    private Path segmentFile(long id) {
+        return directory.resolve(String.format("%020d%s", id, SUFFIX));
+    }
+
+    private static MappedByteBuffer map(Path file, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // The mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+    }
+}
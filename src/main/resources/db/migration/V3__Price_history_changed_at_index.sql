@@ -0,0 +1,14 @@
+-- Migration V3__Price_history_changed_at_index.sql
+-- Align price_history with the PriceHistory entity and index it for keyset paging
+
+-- V2 created created_at, but the entity (and the write-behind writer) use changed_at/changed_by
+ALTER TABLE price_history ADD COLUMN IF NOT EXISTS changed_at TIMESTAMP;
+UPDATE price_history SET changed_at = created_at WHERE changed_at IS NULL;
+UPDATE price_history SET changed_at = CURRENT_TIMESTAMP WHERE changed_at IS NULL;
+ALTER TABLE price_history ALTER COLUMN changed_at SET NOT NULL;
+ALTER TABLE price_history ADD COLUMN IF NOT EXISTS changed_by VARCHAR(255);
+ALTER TABLE price_history DROP COLUMN IF EXISTS created_at;
+
+-- Serves "WHERE product_id = ? AND changed_at in range ORDER BY changed_at DESC, id DESC LIMIT n"
+-- as a single backward range scan: history reads cost O(page), not O(product history)
+CREATE INDEX IF NOT EXISTS idx_price_history_product_changed ON price_history(product_id, changed_at, id);
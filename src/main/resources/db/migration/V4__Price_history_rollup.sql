@@ -0,0 +1,19 @@
+-- Migration V4__Price_history_rollup.sql
+-- Downsampled price history written by compaction (PriceHistoryRollup), one OHLC row per product and bucket
+
+-- No foreign key, as in the entity: rollups are plain summaries keyed by product id
+CREATE TABLE IF NOT EXISTS price_history_rollup (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    bucket_seconds BIGINT NOT NULL,
+    open_price DOUBLE NOT NULL,
+    high_price DOUBLE NOT NULL,
+    low_price DOUBLE NOT NULL,
+    close_price DOUBLE NOT NULL,
+    price_sum DOUBLE NOT NULL,
+    sample_count BIGINT NOT NULL
+);
+
+-- One row per product and bucket, also serving "WHERE product_id = ? AND bucket_start in range" reads
+CREATE UNIQUE INDEX IF NOT EXISTS idx_price_rollup_product_bucket ON price_history_rollup(product_id, bucket_start);
@@ -0,0 +1,134 @@
+package com.arrayindex.productmanagementapi.performance;
+
+import com.arrayindex.productmanagementapi.ProductManagementApplication;
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import com.arrayindex.productreadapi.ProductReadApplication;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots the product API and, in the same JVM so both see the same in-memory database, the WebFlux read
+ * application, then drives the same uncached read, the recent-products list, at high concurrency against
+ * the blocking (JPA on Tomcat) and the reactive (R2DBC on Netty) endpoint.
+ */
+@Tag("benchmark")
+@DisplayName("Reactive vs servlet read load comparison")
+class ReactiveReadLoadComparisonTest {
+
+    private static final int PRODUCTS = 2_000;
+    private static final int REQUESTS = 5_000;
+    private static final int CONCURRENCY = 256;
+
+    @Test
+    @DisplayName("Reactive read API should serve the same load as the MVC endpoints")
+    void reactiveReads_ShouldServeSameLoadAsMvcReads() throws IOException {
+        Result mvc;
+        Result reactive;
+        // Command line arguments, so they override the applications' properties files
+        try (ConfigurableApplicationContext productApi = new SpringApplicationBuilder(ProductManagementApplication.class)
+                .run("--server.port=0",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+                        "--spring.kafka.admin.auto-create=false",
+                        "--spring.kafka.enabled=false",
+                        "--product.concurrency-limit.enabled=false",
+                        "--logging.level.com.arrayindex.productmanagementapi=WARN")) {
+            seed(productApi.getBean(ProductRepository.class));
+            mvc = drive(productApi, "/api/products/recent?limit=20");
+
+            try (ConfigurableApplicationContext readApi = new SpringApplicationBuilder(ProductReadApplication.class)
+                    .properties(ProductReadApplication.CONFIG_NAME)
+                    .run("--server.port=0",
+                            "--spring.r2dbc.url=r2dbc:h2:mem:///load?options=DB_CLOSE_DELAY=-1",
+                            "--logging.level.com.arrayindex.productreadapi=WARN")) {
+                reactive = drive(readApi, "/api/reactive/products/recent?limit=20");
+            }
+        }
+
+        ReportFiles.writeLines("reactive-read-load", List.of(
+                String.format("%-9s %7.0f req/s  p50 %4d ms  p99 %4d ms  threads %d",
+                        "MVC", mvc.throughput, mvc.p50, mvc.p99, mvc.threads),
+                String.format("%-9s %7.0f req/s  p50 %4d ms  p99 %4d ms  threads %d",
+                        "Reactive", reactive.throughput, reactive.p50, reactive.p99, reactive.threads)));
+
+        assertThat(mvc.failures).isZero();
+        assertThat(reactive.failures).isZero();
+    }
+
+    private void seed(ProductRepository productRepository) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setDescription("Load test product " + i);
+            product.setPrice(10.0 + i);
+            product.setCategory("Category " + (i % 20));
+            product.setStockQuantity(100);
+            product.setSku("LOAD-" + i);
+            products.add(product);
+        }
+        productRepository.saveAll(products);
+    }
+
+    private Result drive(ConfigurableApplicationContext context, String path) {
+        int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+        ConnectionProvider connections = ConnectionProvider.builder("load")
+                .maxConnections(CONCURRENCY)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        HttpClient client = HttpClient.create(connections).baseUrl("http://localhost:" + port);
+        try {
+            // Warm up JIT, pools and caches before measuring
+            run(client, path, REQUESTS / 4);
+            return run(client, path, REQUESTS);
+        } finally {
+            connections.dispose();
+        }
+    }
+
+    private Result run(HttpClient client, String path, int requests) {
+        long[] latencies = new long[requests];
+        AtomicInteger index = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        long start = System.nanoTime();
+        Flux.range(0, requests)
+                .flatMap(i -> {
+                    long sent = System.nanoTime();
+                    return client.get().uri(path)
+                            .responseSingle((response, body) -> body.asString().defaultIfEmpty("").map(content -> {
+                                if (!response.status().equals(HttpResponseStatus.OK)) {
+                                    failures.incrementAndGet();
+                                }
+                                latencies[index.getAndIncrement()] = System.nanoTime() - sent;
+                                return content.length();
+                            }));
+                }, CONCURRENCY)
+                .blockLast();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+        Arrays.sort(latencies);
+        return new Result(requests / seconds, latencies[requests / 2] / 1_000_000, latencies[requests * 99 / 100] / 1_000_000,
+                threads, failures.get());
+    }
+
+    private record Result(double throughput, long p50, long p99, int threads, int failures) {
+    }
+}
@@ -0,0 +1,91 @@
+package com.arrayindex.productreadapi.controller;
+
+import com.arrayindex.productmanagementapi.dto.ProductResponse;
+import com.arrayindex.productreadapi.ProductReadApplication;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The read API boots as its own WebFlux application, without the product API's JPA, Kafka or servlet beans.
+ */
+@SpringBootTest(classes = ProductReadApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                ProductReadApplication.CONFIG_NAME,
+                "spring.r2dbc.url=r2dbc:h2:mem:///readtest?options=DB_CLOSE_DELAY=-1",
+                // Nothing listens there: cache reads fail fast and fall back to the database
+                "spring.data.redis.port=1"
+        })
+@AutoConfigureWebTestClient
+class ReactiveProductControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveWebServerApplicationContext applicationContext;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("CREATE TABLE IF NOT EXISTS products (id BIGINT PRIMARY KEY, name VARCHAR(255), " +
+                "description VARCHAR(1000), price DOUBLE, category VARCHAR(255), stock_quantity INT, sku VARCHAR(100), " +
+                "created_at TIMESTAMP, updated_at TIMESTAMP, is_active BOOLEAN)").then().block();
+        databaseClient.sql("DELETE FROM products").then().block();
+        databaseClient.sql("INSERT INTO products VALUES (1, 'Reactive product', 'Streamed', 10.0, 'Books', 5, 'SKU-1', " +
+                "CURRENT_TIMESTAMP, CURRENT_TIMESTAMP, TRUE)").then().block();
+    }
+
+    @Test
+    void readApplication_ShouldRunOnNettyWithoutJdbc() {
+        assertThat(applicationContext.getWebServer()).isInstanceOf(NettyWebServer.class);
+        assertThat(applicationContext.getBeanNamesForType(DataSource.class)).isEmpty();
+    }
+
+    @Test
+    void recent_ShouldStreamProductsAsNdjson() {
+        webTestClient.get().uri("/api/reactive/products/recent?limit=5")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(ProductResponse.class)
+                .value(products -> assertThat(products).extracting(ProductResponse::getName)
+                        .containsExactly("Reactive product"));
+    }
+
+    @Test
+    void getById_ShouldFallBackToTheDatabaseWhenRedisIsDown() {
+        webTestClient.get().uri("/api/reactive/products/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.sku").isEqualTo("SKU-1");
+
+        webTestClient.get().uri("/api/reactive/products/99")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void invalidLimit_ShouldReturnBadRequest() {
+        webTestClient.get().uri("/api/reactive/products/recent?limit=0")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Limit must be between 1 and 1000");
+    }
+}
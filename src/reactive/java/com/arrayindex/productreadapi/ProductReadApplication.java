@@ -0,0 +1,36 @@
+package com.arrayindex.productreadapi;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.flyway.FlywayAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.kafka.KafkaAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+
+/**
+ * Reactive read API for products: WebFlux on Netty, reading the product API's {@code products} table
+ * over R2DBC. Built only with {@code -Preactive} and run as its own process next to
+ * ProductManagementApplication, which owns the schema and all writes.
+ * <p>
+ * It lives outside the product API's package so neither application scans the other, and reads
+ * {@code product-read.properties} instead of {@code application.properties}.
+ */
+@SpringBootApplication(exclude = {
+        DataSourceAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        FlywayAutoConfiguration.class,
+        KafkaAutoConfiguration.class
+})
+public class ProductReadApplication {
+
+    public static final String CONFIG_NAME = "spring.config.name=product-read";
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ProductReadApplication.class)
+                // Spring MVC is on the classpath too; this application always runs on Netty
+                .web(WebApplicationType.REACTIVE)
+                .properties(CONFIG_NAME)
+                .run(args);
+    }
+}
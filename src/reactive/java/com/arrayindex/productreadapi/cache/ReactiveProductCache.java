@@ -0,0 +1,56 @@
+package com.arrayindex.productreadapi.cache;
+
+import com.arrayindex.productmanagementapi.model.Product;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking cache-aside over the {@code productById} Redis cache. Redis errors and slow
+ * replies count as misses, so reads keep being served from the database when Redis is down.
+ */
+@Slf4j
+@Component
+public class ReactiveProductCache {
+
+    private static final String KEY_PREFIX = "productById::";
+
+    private final ReactiveRedisTemplate<String, Object> redisTemplate;
+    private final Duration ttl;
+    private final Duration timeout;
+
+    public ReactiveProductCache(@Qualifier("reactiveProductRedisTemplate") ReactiveRedisTemplate<String, Object> redisTemplate,
+                                @Value("${product.reactive.cache.ttl:PT30M}") Duration ttl,
+                                @Value("${product.reactive.cache.timeout:PT0.1S}") Duration timeout) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+        this.timeout = timeout;
+    }
+
+    public Mono<Product> get(Long id, Supplier<Mono<Product>> loader) {
+        String key = KEY_PREFIX + id;
+        Mono<Product> cached = redisTemplate.opsForValue().get(key)
+                .ofType(Product.class)
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.debug("Reactive cache read for {} failed: {}", key, e.getMessage());
+                    return Mono.empty();
+                });
+        return cached.switchIfEmpty(Mono.defer(loader).flatMap(product -> put(key, product).thenReturn(product)));
+    }
+
+    private Mono<Boolean> put(String key, Product product) {
+        return redisTemplate.opsForValue().set(key, product, ttl)
+                .timeout(timeout)
+                .onErrorResume(e -> {
+                    log.debug("Reactive cache write for {} failed: {}", key, e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+}
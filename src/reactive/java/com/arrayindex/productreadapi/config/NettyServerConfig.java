@@ -0,0 +1,15 @@
+package com.arrayindex.productreadapi.config;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class NettyServerConfig {
+
+    // Tomcat is on the classpath for the product API, and Boot would otherwise pick it for reactive applications too
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
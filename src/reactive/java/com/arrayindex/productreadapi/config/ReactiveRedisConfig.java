@@ -0,0 +1,38 @@
+package com.arrayindex.productreadapi.config;
+
+import com.arrayindex.productmanagementapi.cache.CompressingCodecRedisSerializer;
+import com.arrayindex.productmanagementapi.cache.ProductBinaryCodec;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+@Configuration
+public class ReactiveRedisConfig {
+
+    @Value("${product.cache.codec:binary}")
+    private String cacheCodec;
+
+    @Value("${product.cache.compression-threshold:1024}")
+    private int compressionThreshold;
+
+    // Same key layout and value codec as the product API's productById cache, so both applications share entries
+    @Bean
+    public ReactiveRedisTemplate<String, Object> reactiveProductRedisTemplate(ReactiveRedisConnectionFactory connectionFactory,
+                                                                              MeterRegistry meterRegistry) {
+        RedisSerializer<Object> valueSerializer = "binary".equalsIgnoreCase(cacheCodec)
+                ? new CompressingCodecRedisSerializer("productById", new ProductBinaryCodec(), compressionThreshold, meterRegistry)
+                : new JdkSerializationRedisSerializer();
+        RedisSerializationContext<String, Object> context = RedisSerializationContext
+                .<String, Object>newSerializationContext(StringRedisSerializer.UTF_8)
+                .value(valueSerializer)
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, context);
+    }
+}
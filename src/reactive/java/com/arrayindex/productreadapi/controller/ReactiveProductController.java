@@ -0,0 +1,85 @@
+package com.arrayindex.productreadapi.controller;
+
+import com.arrayindex.productmanagementapi.dto.ProductResponse;
+import com.arrayindex.productreadapi.cache.ReactiveProductCache;
+import com.arrayindex.productreadapi.repository.ReactiveProductRepository;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking variant of the read side of the product API's {@code ProductController}, on WebFlux event
+ * loop threads end to end. List endpoints stream a {@link Flux}: with {@code Accept: application/x-ndjson}
+ * each product is written as soon as it is read, and database reads only advance as fast as the client consumes.
+ */
+@RestController
+@RequestMapping("/api/reactive/products")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Reactive Product Reads", description = "Non-blocking product read APIs")
+public class ReactiveProductController {
+
+    private final ReactiveProductRepository reactiveProductRepository;
+    private final ReactiveProductCache reactiveProductCache;
+
+    @Value("${product.reactive.max-results:1000}")
+    private int maxResults;
+
+    @Operation(summary = "Get product by ID", description = "Retrieves a product through the shared productById Redis cache")
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<ProductResponse>> getProductById(@PathVariable Long id) {
+        return reactiveProductCache.get(id, () -> reactiveProductRepository.findById(id))
+                .map(product -> ResponseEntity.ok(ProductResponse.from(product)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @Operation(summary = "Stream products by category")
+    @GetMapping(value = "/category/{category}", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<ProductResponse> getProductsByCategory(@PathVariable String category) {
+        return reactiveProductRepository.findByCategory(category)
+                .map(ProductResponse::from);
+    }
+
+    @Operation(summary = "Stream active products")
+    @GetMapping(value = "/active", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<ProductResponse> getActiveProducts() {
+        return reactiveProductRepository.findActive()
+                .map(ProductResponse::from);
+    }
+
+    @Operation(summary = "Stream products matching search criteria", description = "Null criteria are ignored; results are ordered by name")
+    @GetMapping(value = "/search", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<ProductResponse> searchProducts(
+            @RequestParam(required = false) String name,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) Double minPrice,
+            @RequestParam(required = false) Double maxPrice,
+            @RequestParam(required = false) Boolean isActive,
+            @Parameter(description = "Maximum number of results") @RequestParam(defaultValue = "100") int limit) {
+        return reactiveProductRepository.search(name, category, minPrice, maxPrice, isActive, boundedLimit(limit))
+                .map(ProductResponse::from);
+    }
+
+    @Operation(summary = "Stream recently added products")
+    @GetMapping(value = "/recent", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<ProductResponse> getRecentlyAddedProducts(
+            @Parameter(description = "Number of recent products to retrieve") @RequestParam(defaultValue = "10") int limit) {
+        return reactiveProductRepository.findRecent(boundedLimit(limit))
+                .map(ProductResponse::from);
+    }
+
+    private int boundedLimit(int limit) {
+        if (limit < 1 || limit > maxResults) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxResults);
+        }
+        return limit;
+    }
+}
@@ -0,0 +1,106 @@
+package com.arrayindex.productreadapi.repository;
+
+import com.arrayindex.productmanagementapi.model.Product;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * R2DBC read queries over the {@code products} table, mapped onto the JPA {@link Product} model
+ * so both applications return the same JSON. Rows are emitted as the driver produces them.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveProductRepository {
+
+    private static final String COLUMNS =
+            "SELECT id, name, description, price, category, stock_quantity, sku, created_at, updated_at, is_active FROM products";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Product> findById(Long id) {
+        return databaseClient.sql(COLUMNS + " WHERE id = :id")
+                .bind("id", id)
+                .map(ReactiveProductRepository::toProduct)
+                .one();
+    }
+
+    public Flux<Product> findByCategory(String category) {
+        return databaseClient.sql(COLUMNS + " WHERE category = :category ORDER BY id")
+                .bind("category", category)
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    public Flux<Product> findActive() {
+        return databaseClient.sql(COLUMNS + " WHERE is_active = TRUE ORDER BY id")
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    public Flux<Product> findRecent(int limit) {
+        return databaseClient.sql(COLUMNS + " ORDER BY created_at DESC LIMIT :limit")
+                .bind("limit", limit)
+                .map(ReactiveProductRepository::toProduct)
+                .all();
+    }
+
+    /**
+     * Same filters as {@code ProductRepository#findBySearchCriteria}; null criteria are ignored.
+     */
+    public Flux<Product> search(String name, String category, Double minPrice, Double maxPrice, Boolean isActive, int limit) {
+        List<String> conditions = new ArrayList<>();
+        Map<String, Object> params = new LinkedHashMap<>();
+        if (name != null) {
+            conditions.add("LOWER(name) LIKE :name");
+            params.put("name", "%" + name.toLowerCase() + "%");
+        }
+        if (category != null) {
+            conditions.add("LOWER(category) = :category");
+            params.put("category", category.toLowerCase());
+        }
+        if (minPrice != null) {
+            conditions.add("price >= :minPrice");
+            params.put("minPrice", minPrice);
+        }
+        if (maxPrice != null) {
+            conditions.add("price <= :maxPrice");
+            params.put("maxPrice", maxPrice);
+        }
+        if (isActive != null) {
+            conditions.add("is_active = :isActive");
+            params.put("isActive", isActive);
+        }
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(COLUMNS + where + " ORDER BY name LIMIT :limit")
+                .bind("limit", limit);
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            spec = spec.bind(param.getKey(), param.getValue());
+        }
+        return spec.map(ReactiveProductRepository::toProduct).all();
+    }
+
+    private static Product toProduct(Readable row) {
+        Product product = new Product();
+        product.setId(row.get("id", Long.class));
+        product.setName(row.get("name", String.class));
+        product.setDescription(row.get("description", String.class));
+        product.setPrice(row.get("price", Double.class));
+        product.setCategory(row.get("category", String.class));
+        product.setStockQuantity(row.get("stock_quantity", Integer.class));
+        product.setSku(row.get("sku", String.class));
+        product.setCreatedAt(row.get("created_at", LocalDateTime.class));
+        product.setUpdatedAt(row.get("updated_at", LocalDateTime.class));
+        product.setIsActive(row.get("is_active", Boolean.class));
+        return product;
+    }
+}
@@ -0,0 +1,98 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import com.arrayindex.productmanagementapi.dto.CacheInvalidationEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private KafkaTemplate<String, CacheInvalidationEvent> kafkaTemplate;
+
+    private ConcurrentMapCacheManager cacheManager;
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new ConcurrentMapCacheManager();
+        bus = new CacheInvalidationBus(cacheManager, kafkaTemplate, new SimpleMeterRegistry(),
+                true, "invalidation", "node-a");
+    }
+
+    @Test
+    void flush_ShouldCoalesceBufferedInvalidationsIntoOneMessage() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+        cacheManager.getCache("productById").put(1L, "one");
+        cacheManager.getCache("products").put("all", List.of("one"));
+
+        bus.evict("productById", 1L);
+        bus.evict("productById", 2L);
+        bus.evict("productById", 1L);
+        bus.evict("products", "all");
+        bus.clear("products");
+        bus.flush();
+        bus.flush();
+
+        // Applied locally straight away, published once
+        assertThat(cacheManager.getCache("productById").get(1L)).isNull();
+        assertThat(cacheManager.getCache("products").get("all")).isNull();
+        ArgumentCaptor<CacheInvalidationEvent> event = ArgumentCaptor.forClass(CacheInvalidationEvent.class);
+        verify(kafkaTemplate, times(1)).send(eq("invalidation"), eq("node-a"), event.capture());
+        assertThat(event.getValue().getOrigin()).isEqualTo("node-a");
+        assertThat(event.getValue().getClearedCaches()).containsExactly("products");
+        assertThat(event.getValue().getEvictedKeys()).isEqualTo(Map.of("productById", List.of(1L, 2L)));
+    }
+
+    @Test
+    void onInvalidation_ShouldApplyRemoteEventsAndIgnoreOwn() {
+        cacheManager.getCache("productById").put(7L, "seven");
+        cacheManager.getCache("productsByCategory").put("Books", List.of("seven"));
+        cacheManager.getCache("activeProducts").put("x", List.of("seven"));
+
+        bus.onInvalidation(new CacheInvalidationEvent("node-a", 1, Set.of("activeProducts"), Map.of()));
+        assertThat(cacheManager.getCache("activeProducts").get("x")).isNotNull();
+
+        // Ids arrive as Integers after the JSON round trip
+        bus.onInvalidation(new CacheInvalidationEvent("node-b", 1, Set.of("activeProducts"),
+                Map.of("productById", List.of(7), "productsByCategory", List.of("Books"))));
+
+        assertThat(cacheManager.getCache("productById").get(7L)).isNull();
+        assertThat(cacheManager.getCache("productsByCategory").get("Books")).isNull();
+        assertThat(cacheManager.getCache("activeProducts").get("x")).isNull();
+    }
+
+    @Test
+    void disabledBus_ShouldEvictLocallyWithoutPublishing() {
+        bus = new CacheInvalidationBus(cacheManager, kafkaTemplate, new SimpleMeterRegistry(),
+                false, "invalidation", "node-a");
+        cacheManager.getCache("productById").put(1L, "one");
+        cacheManager.getCache("products").put("all", List.of("one"));
+
+        bus.evict("productById", 1L);
+        bus.clear("products");
+        bus.flush();
+
+        assertThat(cacheManager.getCache("productById").get(1L)).isNull();
+        assertThat(cacheManager.getCache("products").get("all")).isNull();
+        verifyNoInteractions(kafkaTemplate);
+    }
+}
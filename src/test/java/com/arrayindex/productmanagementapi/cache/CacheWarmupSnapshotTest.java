@@ -0,0 +1,81 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import com.arrayindex.productmanagementapi.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheWarmupSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    private final ProductBinaryCodec codec = new ProductBinaryCodec();
+
+    @Test
+    void write_ShouldRoundTripWatermarkKeysAndValues() throws IOException {
+        Path file = directory.resolve("warmup.bin");
+        CacheWarmupSnapshot.Watermark watermark =
+                new CacheWarmupSnapshot.Watermark(2, LocalDateTime.of(2024, 5, 1, 12, 30, 15, 123_456_000));
+        CacheWarmupSnapshot.write(file, watermark, List.of(
+                entry("productById", 7L, product(7L, "Laptop")),
+                entry("productsByCategory", "Books", List.of(product(8L, "Novel"))),
+                entry("activeProducts", SimpleKey.EMPTY, List.of(product(7L, "Laptop")))));
+
+        CacheWarmupSnapshot.Contents contents = CacheWarmupSnapshot.read(file);
+
+        assertThat(contents.watermark()).isEqualTo(watermark);
+        assertThat(contents.entries()).extracting(CacheWarmupSnapshot.Entry::key)
+                .containsExactly(7L, "Books", SimpleKey.EMPTY);
+        assertThat(((Product) codec.decode(contents.entries().get(0).payload())).getName()).isEqualTo("Laptop");
+        assertThat(codec.decode(contents.entries().get(1).payload())).isEqualTo(List.of(product(8L, "Novel")));
+    }
+
+    @Test
+    void emptyCatalogWatermark_ShouldRoundTrip() throws IOException {
+        Path file = directory.resolve("warmup.bin");
+        CacheWarmupSnapshot.write(file, new CacheWarmupSnapshot.Watermark(0, null), List.of());
+
+        assertThat(CacheWarmupSnapshot.read(file).watermark()).isEqualTo(new CacheWarmupSnapshot.Watermark(0, null));
+    }
+
+    @Test
+    void missingFile_ShouldReadAsNull() throws IOException {
+        assertThat(CacheWarmupSnapshot.read(directory.resolve("missing.bin"))).isNull();
+    }
+
+    @Test
+    void corruptFile_ShouldFailChecksum() throws IOException {
+        Path file = directory.resolve("warmup.bin");
+        CacheWarmupSnapshot.write(file, new CacheWarmupSnapshot.Watermark(1, LocalDateTime.now()),
+                List.of(entry("productById", 1L, product(1L, "Laptop"))));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x7F;
+        Files.write(file, bytes);
+
+        assertThatThrownBy(() -> CacheWarmupSnapshot.read(file)).isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    private CacheWarmupSnapshot.Entry entry(String cacheName, Object key, Object value) {
+        return new CacheWarmupSnapshot.Entry(cacheName, key, ByteBuffer.wrap(codec.encode(value)));
+    }
+
+    private static Product product(Long id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setPrice(10.0);
+        return product;
+    }
+}
@@ -0,0 +1,143 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.CompositeCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheWarmupTest {
+
+    private static final LocalDateTime UPDATED = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private long productCount = 2;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(productRepository.findCatalogWatermark()).thenAnswer(invocation -> new ProductRepository.CatalogWatermark() {
+            @Override
+            public Long getProductCount() {
+                return productCount;
+            }
+
+            @Override
+            public LocalDateTime getLastUpdatedAt() {
+                return UPDATED;
+            }
+        });
+    }
+
+    @Test
+    void unchangedCatalog_ShouldRestoreSavedEntries() throws IOException {
+        ConcurrentMapCacheManager before = localCacheManager();
+        before.getCache("productById").put(1L, product(1L, "Laptop"));
+        before.getCache("productsByCategory").put("Books", List.of(product(2L, "Novel")));
+        before.getCache("productCategories").put("all", List.of("Books"));
+        assertThat(warmup(before, before).save()).isEqualTo(2);
+
+        ConcurrentMapCacheManager after = localCacheManager();
+        int loaded = warmup(after, after).warmUp();
+
+        assertThat(loaded).isEqualTo(2);
+        assertThat(after.getCache("productById").get(1L, Product.class).getName()).isEqualTo("Laptop");
+        assertThat(after.getCache("productsByCategory").get("Books", List.class)).containsExactly(product(2L, "Novel"));
+        assertThat(after.getCacheNames()).doesNotContain("productCategories");
+        verify(productRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void changedCatalog_ShouldReloadHotProductsFromDatabase() throws IOException {
+        ConcurrentMapCacheManager before = localCacheManager();
+        before.getCache("productById").put(1L, product(1L, "Laptop"));
+        before.getCache("productById").put(2L, product(2L, "Phone"));
+        before.getCache("products").put("all", List.of(product(1L, "Laptop"), product(2L, "Phone")));
+        warmup(before, before).save();
+        productCount = 1;
+        when(productRepository.findAllById(any())).thenReturn(List.of(product(1L, "Laptop v2")));
+
+        ConcurrentMapCacheManager after = localCacheManager();
+        int loaded = warmup(after, after).warmUp();
+
+        assertThat(loaded).isEqualTo(1);
+        assertThat(after.getCache("productById").get(1L, Product.class).getName()).isEqualTo("Laptop v2");
+        assertThat(after.getCache("productById").get(2L)).isNull();
+        assertThat(after.getCache("products").get("all")).isNull();
+    }
+
+    @Test
+    void offHeapCache_ShouldBeSavedFromItsArena() throws IOException {
+        OffHeapProductCache offHeap = new OffHeapProductCache("productById", 64 * 1024, 100);
+        offHeap.put(5L, product(5L, "Tablet"));
+        ConcurrentMapCacheManager local = localCacheManager();
+        warmup(withLocalCaches(offHeap, local), local).save();
+
+        OffHeapProductCache restored = new OffHeapProductCache("productById", 64 * 1024, 100);
+        warmup(withLocalCaches(restored, local), local).warmUp();
+
+        assertThat(restored.get(5L, Product.class).getName()).isEqualTo("Tablet");
+    }
+
+    @Test
+    void emptyCaches_ShouldNotReplaceSnapshot() throws IOException {
+        ConcurrentMapCacheManager before = localCacheManager();
+        before.getCache("productById").put(1L, product(1L, "Laptop"));
+        warmup(before, before).save();
+
+        assertThat(warmup(localCacheManager(), localCacheManager()).save()).isZero();
+
+        ConcurrentMapCacheManager after = localCacheManager();
+        assertThat(warmup(after, after).warmUp()).isEqualTo(1);
+    }
+
+    private CacheWarmup warmup(CacheManager cacheManager, ConcurrentMapCacheManager localCacheManager) {
+        return new CacheWarmup(cacheManager, localCacheManager, productRepository, transactionManager,
+                new SimpleMeterRegistry(), true, directory.resolve("warmup.bin").toString(),
+                List.of("productById", "products", "productsByCategory"), 1000, 500);
+    }
+
+    private static CacheManager withLocalCaches(OffHeapProductCache offHeap, ConcurrentMapCacheManager fallback) {
+        SimpleCacheManager local = new SimpleCacheManager();
+        local.setCaches(List.of(offHeap));
+        local.initializeCaches();
+        return new CompositeCacheManager(local, fallback);
+    }
+
+    private static ConcurrentMapCacheManager localCacheManager() {
+        ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+
+    private static Product product(Long id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setPrice(10.0);
+        return product;
+    }
+}
@@ -0,0 +1,97 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import com.arrayindex.productmanagementapi.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompressingCodecRedisSerializerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private CompressingCodecRedisSerializer serializer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        serializer = new CompressingCodecRedisSerializer("products", new ProductBinaryCodec(), 1024, meterRegistry);
+    }
+
+    @Test
+    void serialize_Product_ShouldRoundTripAllFields() {
+        Product product = product(42L);
+
+        byte[] bytes = serializer.serialize(product);
+        Product decoded = (Product) serializer.deserialize(bytes);
+
+        assertThat(bytes[0]).isEqualTo(ProductBinaryCodec.VERSION);
+        assertThat(bytes[1]).isZero();
+        assertThat(decoded).usingRecursiveComparison().isEqualTo(product);
+    }
+
+    @Test
+    void serialize_ProductWithNullFields_ShouldKeepNulls() {
+        Product product = new Product();
+        product.setId(7L);
+        product.setName("Sparse");
+        product.setStockQuantity(null);
+        product.setIsActive(null);
+
+        Product decoded = (Product) serializer.deserialize(serializer.serialize(product));
+
+        assertThat(decoded.getStockQuantity()).isNull();
+        assertThat(decoded.getIsActive()).isNull();
+        assertThat(decoded.getPrice()).isNull();
+        assertThat(decoded.getName()).isEqualTo("Sparse");
+    }
+
+    @Test
+    void serialize_LargeProductList_ShouldCompressAndRoundTrip() {
+        List<Product> products = IntStream.range(0, 200).mapToObj(i -> product((long) i)).toList();
+
+        byte[] bytes = serializer.serialize(products);
+        @SuppressWarnings("unchecked")
+        List<Product> decoded = (List<Product>) serializer.deserialize(bytes);
+
+        assertThat(bytes[1]).isEqualTo((byte) 1);
+        assertThat(decoded).hasSize(200);
+        assertThat(decoded.get(199)).usingRecursiveComparison().isEqualTo(products.get(199));
+    }
+
+    @Test
+    void deserialize_WithOtherCodecVersion_ShouldReportMiss() {
+        byte[] bytes = serializer.serialize(product(1L));
+        bytes[0] = (byte) (ProductBinaryCodec.VERSION + 1);
+
+        assertThat(serializer.deserialize(bytes)).isNull();
+    }
+
+    @Test
+    void serialize_ShouldRecordMetricsPerCache() {
+        serializer.deserialize(serializer.serialize(product(1L)));
+
+        assertThat(meterRegistry.get("cache.codec.encoded.size").tag("cache", "products").summary().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.codec.encode").tag("cache", "products").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.codec.decode").tag("cache", "products").timer().count()).isEqualTo(1);
+    }
+
+    private Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setDescription("A fairly ordinary product description");
+        product.setPrice(19.99);
+        product.setCategory("Electronics");
+        product.setStockQuantity(15);
+        product.setSku("SKU-" + (100000 + id));
+        product.setIsActive(true);
+        product.setCreatedAt(LocalDateTime.of(2024, 5, 1, 10, 15, 30, 123456789));
+        product.setUpdatedAt(LocalDateTime.of(2024, 5, 2, 8, 0));
+        return product;
+    }
+}
@@ -0,0 +1,127 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EncodedResponseCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger loads = new AtomicInteger();
+    private List<String> names = List.of("Laptop", "Phone");
+
+    private BoundedConcurrentMapCache cache;
+    private EncodedResponseCache responses;
+
+    @BeforeEach
+    void setUp() {
+        cache = new BoundedConcurrentMapCache(EncodedResponseCache.CACHE_NAME, 2);
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(cache));
+        cacheManager.initializeCaches();
+        responses = new EncodedResponseCache(cacheManager, objectMapper, meterRegistry, true, 256);
+    }
+
+    @Test
+    void hit_ShouldServeEncodedBytesWithoutLoading() throws IOException {
+        ResponseEntity<byte[]> first = responses.respond("all", new HttpHeaders(), loader());
+        ResponseEntity<byte[]> second = responses.respond("all", new HttpHeaders(), loader());
+
+        assertThat(loads).hasValue(1);
+        assertThat(second.getBody()).isSameAs(first.getBody());
+        assertThat(objectMapper.readValue(second.getBody(), List.class)).isEqualTo(names);
+        assertThat(second.getHeaders().getETag()).isEqualTo(first.getHeaders().getETag()).isNotBlank();
+        assertThat(meterRegistry.get("cache.responses.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void matchingIfNoneMatch_ShouldAnswerNotModified() {
+        String etag = responses.respond("all", new HttpHeaders(), loader()).getHeaders().getETag();
+        HttpHeaders request = new HttpHeaders();
+        request.add(HttpHeaders.IF_NONE_MATCH, "\"other\", " + etag);
+
+        ResponseEntity<byte[]> response = responses.respond("all", request, loader());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        assertThat(response.getHeaders().getETag()).isEqualTo(etag);
+    }
+
+    @Test
+    void largeBody_ShouldBeServedPreGzippedWhenAccepted() throws IOException {
+        List<String> many = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            many.add("Product " + i);
+        }
+        names = many;
+        HttpHeaders request = new HttpHeaders();
+        request.add(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8");
+
+        ResponseEntity<byte[]> gzipped = responses.respond("all", request, loader());
+        ResponseEntity<byte[]> plain = responses.respond("all", new HttpHeaders(), loader());
+
+        assertThat(gzipped.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        assertThat(gzipped.getHeaders().getETag()).isNotEqualTo(plain.getHeaders().getETag());
+        assertThat(gzipped.getBody()).hasSizeLessThan(plain.getBody().length);
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getBody()))) {
+            assertThat(in.readAllBytes()).isEqualTo(plain.getBody());
+        }
+        assertThat(plain.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    void smallBody_ShouldNotBeGzipped() {
+        HttpHeaders request = new HttpHeaders();
+        request.add(HttpHeaders.ACCEPT_ENCODING, "gzip");
+
+        ResponseEntity<byte[]> response = responses.respond("all", request, loader());
+
+        assertThat(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING)).isNull();
+    }
+
+    @Test
+    void clearedCache_ShouldReEncodeWithNewEtag() {
+        String before = responses.respond("all", new HttpHeaders(), loader()).getHeaders().getETag();
+        names = List.of("Laptop", "Phone", "Tablet");
+        cache.clear();
+
+        String after = responses.respond("all", new HttpHeaders(), loader()).getHeaders().getETag();
+
+        assertThat(loads).hasValue(2);
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    void fullCache_ShouldStillServeNewKeysWithoutStoringThem() {
+        responses.respond("all", new HttpHeaders(), loader());
+        responses.respond("active", new HttpHeaders(), loader());
+        responses.respond("category:Books", new HttpHeaders(), loader());
+        responses.respond("category:Books", new HttpHeaders(), loader());
+
+        assertThat(cache.getNativeCache()).hasSize(2).doesNotContainKey("category:Books");
+        assertThat(loads).hasValue(4);
+    }
+
+    private Supplier<List<String>> loader() {
+        return () -> {
+            loads.incrementAndGet();
+            return names;
+        };
+    }
+}
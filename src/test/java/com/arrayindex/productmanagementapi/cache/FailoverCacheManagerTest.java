@@ -0,0 +1,151 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FailoverCacheManagerTest {
+
+    @Mock
+    private RedisConnectionFactory connectionFactory;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private CacheManager redis;
+
+    @Mock
+    private Cache redisCache;
+
+    private ConcurrentMapCacheManager local;
+    private SimpleMeterRegistry meterRegistry;
+    private FailoverCacheManager manager;
+
+    @BeforeEach
+    void setUp() {
+        local = new ConcurrentMapCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+        manager = new FailoverCacheManager(redis, local, connectionFactory, meterRegistry,
+                Duration.ofMillis(200), 3, Duration.ofHours(1));
+    }
+
+    @Test
+    void startsOnLocalTier_AndSwitchesToRedisAfterHealthyProbe() {
+        manager.getCache("productById").put(1L, "local");
+        assertThat(manager.getTier()).isEqualTo(FailoverCacheManager.Tier.LOCAL);
+        assertThat(local.getCache("productById").get(1L).get()).isEqualTo("local");
+        verifyNoInteractions(redis);
+
+        switchToRedis();
+        when(redisCache.get(1L)).thenReturn(new SimpleValueWrapper("redis"));
+
+        assertThat(manager.getTier()).isEqualTo(FailoverCacheManager.Tier.REDIS);
+        // Redis missed the evictions made while it was down, and the local tier is no longer needed
+        verify(redisCache).clear();
+        assertThat(local.getCache("productById").get(1L)).isNull();
+        assertThat(manager.getCache("productById").get(1L).get()).isEqualTo("redis");
+        assertThat(meterRegistry.get("cache.redis.circuit.transitions").tag("tier", "redis").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.redis.available").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void failedProbe_KeepsLocalTier() {
+        when(connectionFactory.getConnection()).thenThrow(new RedisConnectionFailureException("refused"));
+
+        manager.probe();
+
+        assertThat(manager.getTier()).isEqualTo(FailoverCacheManager.Tier.LOCAL);
+        assertThat(meterRegistry.get("cache.redis.available").gauge().value()).isZero();
+        verifyNoInteractions(redis);
+    }
+
+    @Test
+    void consecutiveRedisFailures_OpenCircuitAndFallBackToLocal() {
+        switchToRedis();
+        when(redisCache.get(1L)).thenThrow(new RedisConnectionFailureException("reset"));
+        local.getCache("productById").put(1L, "stale");
+        Cache cache = manager.getCache("productById");
+
+        cache.get(1L);
+        cache.get(1L);
+        assertThat(manager.getTier()).isEqualTo(FailoverCacheManager.Tier.REDIS);
+        cache.get(1L);
+
+        assertThat(manager.getTier()).isEqualTo(FailoverCacheManager.Tier.LOCAL);
+        // Entries written to the local tier while Redis was still active are dropped on the switch
+        assertThat(cache.get(1L)).isNull();
+        verify(redisCache, times(3)).get(1L);
+        assertThat(meterRegistry.get("cache.redis.failures").tag("kind", "error").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("cache.redis.circuit.transitions").tag("tier", "local").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void slowRedisCalls_OpenCircuit() {
+        switchToRedis();
+        when(redisCache.get(1L)).thenAnswer(invocation -> {
+            Thread.sleep(250);
+            return new SimpleValueWrapper("slow");
+        });
+        Cache cache = manager.getCache("productById");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.get(1L).get()).isEqualTo("slow");
+        }
+
+        assertThat(manager.getTier()).isEqualTo(FailoverCacheManager.Tier.LOCAL);
+        assertThat(meterRegistry.get("cache.redis.failures").tag("kind", "slow").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void failedEviction_OpensCircuitImmediately() {
+        switchToRedis();
+        doThrow(new RedisConnectionFailureException("reset")).when(redisCache).evict(1L);
+        Cache cache = manager.getCache("productById");
+        local.getCache("productById").put(1L, "local");
+
+        cache.evict(1L);
+
+        assertThat(manager.getTier()).isEqualTo(FailoverCacheManager.Tier.LOCAL);
+        assertThat(local.getCache("productById").get(1L)).isNull();
+    }
+
+    @Test
+    void valueLoader_IsNotTimedAsRedisCall() {
+        switchToRedis();
+        Cache cache = manager.getCache("productById");
+
+        String value = cache.get(1L, () -> {
+            Thread.sleep(250);
+            return "loaded";
+        });
+
+        assertThat(value).isEqualTo("loaded");
+        verify(redisCache).put(1L, "loaded");
+        assertThat(meterRegistry.get("cache.redis.failures").tag("kind", "slow").counter().count()).isZero();
+    }
+
+    private void switchToRedis() {
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        when(redis.getCacheNames()).thenReturn(Set.of("productById"));
+        lenient().when(redis.getCache("productById")).thenReturn(redisCache);
+        manager.probe();
+    }
+}
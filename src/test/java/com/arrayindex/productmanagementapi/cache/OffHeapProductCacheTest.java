@@ -0,0 +1,124 @@
+package com.arrayindex.productmanagementapi.cache;
+
+import com.arrayindex.productmanagementapi.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OffHeapProductCacheTest {
+
+    @Test
+    void put_ShouldStoreAndDecodeProduct() {
+        OffHeapProductCache cache = new OffHeapProductCache("productById", 64 * 1024, 100);
+        Product product = product(1L, "Laptop");
+
+        cache.put(1L, product);
+
+        assertThat(cache.get(1L, Product.class)).usingRecursiveComparison().isEqualTo(product);
+        assertThat(cache.get(2L)).isNull();
+    }
+
+    @Test
+    void put_ExistingKey_ShouldReplaceValue() {
+        OffHeapProductCache cache = new OffHeapProductCache("productById", 64 * 1024, 100);
+
+        cache.put(1L, product(1L, "Old"));
+        cache.put(1L, product(1L, "New"));
+
+        assertThat(cache.get(1L, Product.class).getName()).isEqualTo("New");
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evict_ShouldRemoveOnlyThatKey() {
+        OffHeapProductCache cache = new OffHeapProductCache("productById", 64 * 1024, 100);
+        cache.put(1L, product(1L, "One"));
+        cache.put(2L, product(2L, "Two"));
+
+        cache.evict(1L);
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L, Product.class).getName()).isEqualTo("Two");
+    }
+
+    @Test
+    void put_BeyondMaxEntries_ShouldEvictOldestFirst() {
+        OffHeapProductCache cache = new OffHeapProductCache("productById", 64 * 1024, 3);
+
+        for (long id = 1; id <= 5; id++) {
+            cache.put(id, product(id, "Product " + id));
+        }
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L)).isNull();
+        assertThat(cache.get(5L, Product.class).getName()).isEqualTo("Product 5");
+        assertThat(cache.getEvictions()).isEqualTo(2);
+    }
+
+    @Test
+    void put_BeyondArenaCapacity_ShouldWrapAndKeepNewestEntries() {
+        OffHeapProductCache cache = new OffHeapProductCache("productById", 2048, 1000);
+
+        for (long id = 1; id <= 500; id++) {
+            cache.put(id, product(id, "Product " + id));
+        }
+
+        assertThat(cache.get(500L, Product.class).getName()).isEqualTo("Product 500");
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.size()).isLessThan(500);
+    }
+
+    @Test
+    void randomOperations_ShouldMatchReferenceMapForRetainedKeys() {
+        OffHeapProductCache cache = new OffHeapProductCache("productById", 32 * 1024, 200);
+        Map<Long, String> reference = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            long id = random.nextInt(400);
+            if (random.nextInt(4) == 0) {
+                cache.evict(id);
+                reference.remove(id);
+            } else {
+                String name = "Product " + id + "-" + i;
+                cache.put(id, product(id, name));
+                reference.put(id, name);
+            }
+        }
+
+        // Evicted entries may be missing, but whatever is still cached must be the latest value
+        for (long id = 0; id < 400; id++) {
+            Product cached = cache.get(id, Product.class);
+            if (cached != null) {
+                assertThat(cached.getName()).isEqualTo(reference.get(id));
+            }
+        }
+        assertThat(cache.size()).isLessThanOrEqualTo(200);
+    }
+
+    @Test
+    void clear_ShouldRemoveEverything() {
+        OffHeapProductCache cache = new OffHeapProductCache("productById", 64 * 1024, 100);
+        cache.put(1L, product(1L, "One"));
+
+        cache.clear();
+
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.size()).isZero();
+    }
+
+    private Product product(Long id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setPrice(9.99);
+        product.setCategory("Books");
+        product.setSku("SKU-" + (100000 + id));
+        return product;
+    }
+}
@@ -0,0 +1,114 @@
+package com.arrayindex.productmanagementapi.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConcurrencyLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(meterRegistry, new ObjectMapper().registerModule(new JavaTimeModule()),
+                2, 1, 10, 1, 1, 5, 2.0, 0.5, 100, 3);
+    }
+
+    @Test
+    void doFilter_ShouldRejectWritesBeyondLimitWithoutTouchingReads() throws Exception {
+        // A write that is still running holds the only write slot
+        AtomicReference<MockHttpServletResponse> nested = new AtomicReference<>();
+        FilterChain slowWrite = (req, res) -> {
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            filter.doFilter(request("PUT", "/api/products/1"), second, (r, s) -> { });
+            nested.set(second);
+            MockHttpServletResponse read = new MockHttpServletResponse();
+            filter.doFilter(request("POST", "/api/products/search"), read, (r, s) -> { });
+            assertThat(read.getStatus()).isEqualTo(200);
+        };
+        filter.doFilter(request("POST", "/api/products"), new MockHttpServletResponse(), slowWrite);
+
+        assertThat(nested.get().getStatus()).isEqualTo(503);
+        assertThat(nested.get().getHeader("Retry-After")).isEqualTo("3");
+        assertThat(nested.get().getContentAsString()).contains("\"status\":503");
+        assertThat(meterRegistry.counter("http.concurrency.rejected", "group", "write").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("http.concurrency.rejected", "group", "read").count()).isZero();
+        // The completed write ran at full utilisation without errors, so the limit grew
+        assertThat(meterRegistry.get("http.concurrency.limit").tag("group", "write").gauge().value()).isEqualTo(2.0);
+    }
+
+    @Test
+    void shouldNotFilter_ShouldSkipChangeStreamAndOtherPaths() {
+        assertThat(filter.shouldNotFilter(request("GET", "/api/products/stream"))).isTrue();
+        assertThat(filter.shouldNotFilter(request("GET", "/actuator/health"))).isTrue();
+        assertThat(filter.shouldNotFilter(request("GET", "/api/products/7"))).isFalse();
+    }
+
+    @Test
+    void limiter_ShouldGrowWhileFastAndBackOffWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 2, 8, 2.0, 0.5, 1000);
+        long now = 0;
+        long fast = TimeUnit.MILLISECONDS.toNanos(5);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.onSample(fast, false, 4, now += fast);
+        }
+        assertThat(limiter.getLimit()).isEqualTo(8);
+
+        // A burst of slow samples within one latency period is a single congestion signal
+        long slow = TimeUnit.MILLISECONDS.toNanos(50);
+        limiter.onSample(slow, false, 8, now += slow);
+        limiter.onSample(slow, false, 8, now + 1);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+
+        limiter.onSample(fast, true, 4, now += slow);
+        limiter.onSample(fast, true, 4, now += slow);
+        assertThat(limiter.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void limiter_ShouldKeepItsLimitUnderMixedCacheHitsAndDatabaseReads() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 4, 200, 2.0, 0.9, 500);
+        Random random = new Random(42);
+        long now = 0;
+        long cacheHit = TimeUnit.MICROSECONDS.toNanos(50);
+        long databaseRead = TimeUnit.MILLISECONDS.toNanos(5);
+
+        for (int i = 0; i < 20_000; i++) {
+            long latency = random.nextBoolean() ? cacheHit : databaseRead;
+            limiter.onSample(latency, false, limiter.getLimit(), now += latency);
+        }
+
+        // A minimum-latency baseline would read every database read as 100x congestion and sit at 4
+        assertThat(limiter.getLimit()).isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void limiter_ShouldNotAdmitMoreThanLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 4, 2.0, 0.5, 100);
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        limiter.release(1_000, false);
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+}
@@ -0,0 +1,149 @@
+package com.arrayindex.productmanagementapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ConnectionPoolObserverTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionPoolObservers observers;
+    private HikariDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        observers = new ConnectionPoolObservers(
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class),
+                true, 100);
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl("jdbc:h2:mem:pool-observer;DB_CLOSE_DELAY=-1");
+        dataSource.setPoolName("primary");
+        dataSource.setMaximumPoolSize(2);
+        dataSource.setConnectionTimeout(250);
+        observers.postProcessAfterInitialization(dataSource, "dataSource");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    void observer_ShouldAttributeBorrowsToCallSite_AndKeepHikariMeters() throws Exception {
+        borrowFor(20);
+        borrowFor(20);
+
+        ConnectionPoolObserver.PoolSnapshot snapshot = observers.getPool("primary").observer().snapshot(10);
+        assertThat(snapshot.pool()).isEqualTo("primary");
+        assertThat(snapshot.slowestBorrowers()).hasSize(1);
+        ConnectionPoolObserver.CallSiteSnapshot callSite = snapshot.slowestBorrowers().get(0);
+        assertThat(callSite.callSite()).isEqualTo("ConnectionPoolObserverTest.borrowFor");
+        assertThat(callSite.acquisitions()).isEqualTo(2);
+        assertThat(callSite.meanHoldMs()).isGreaterThanOrEqualTo(20.0);
+        // Micrometer's own tracker still receives every event
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "primary").timer().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("hikaricp.connections.pending").tag("pool", "primary").gauge()).isNotNull();
+    }
+
+    @Test
+    void drainWindow_ShouldCountBorrowsAndTimeoutsSinceLastDrain() throws Exception {
+        ConnectionPoolObserver observer;
+        try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+            assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+            observer = observers.getPool("primary").observer();
+        }
+
+        ConnectionPoolObserver.Window window = observer.drainWindow();
+        // As in Hikari's own acquire timer, the timed-out attempt counts with its wait
+        assertThat(window.acquisitions()).isEqualTo(3);
+        assertThat(window.meanWaitNanos()).isGreaterThanOrEqualTo(ms(250) / 3);
+        assertThat(window.returns()).isEqualTo(2);
+        assertThat(window.timeouts()).isEqualTo(1);
+        assertThat(observer.drainWindow().acquisitions()).isZero();
+        assertThat(observer.snapshot(10).timeouts()).isEqualTo(1);
+        assertThat(observer.snapshot(10).slowestBorrowers().get(0).timeouts()).isEqualTo(1);
+    }
+
+    @Test
+    void sizer_ShouldGrowWhileBorrowersWait_AndShrinkWhenHoldTimeRises() {
+        AdaptivePoolSizer sizer = new AdaptivePoolSizer(2, 10, ms(5), 2.0, 2, 5);
+
+        assertThat(sizer.next(4, window(100, ms(20), ms(10), 0))).isEqualTo(6);
+        assertThat(sizer.next(6, window(100, ms(20), ms(12), 0))).isEqualTo(8);
+        // Past twice the 10 ms baseline the database is the bottleneck, however long borrowers wait
+        assertThat(sizer.next(8, window(100, ms(50), ms(25), 0))).isEqualTo(6);
+        assertThat(sizer.next(6, window(100, ms(1), ms(10), 0))).isEqualTo(6);
+        assertThat(sizer.next(10, window(10, 0, ms(10), 3))).isEqualTo(10);
+        assertThat(sizer.next(6, new ConnectionPoolObserver.Window(0, 0, 0, 0, 0))).isEqualTo(6);
+    }
+
+    @Test
+    void adaptivePoolSizing_ShouldResizeTheRunningPool() throws Exception {
+        AdaptivePoolSizing sizing = new AdaptivePoolSizing(observers, meterRegistry, List.of("primary"), 1, 4, 0, 2.0, 1, 5);
+
+        // Three borrowers on two connections: one waits
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(() -> borrowQuietly(50), executor),
+                    CompletableFuture.runAsync(() -> borrowQuietly(50), executor),
+                    CompletableFuture.runAsync(() -> borrowQuietly(50), executor)).get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        sizing.adjust();
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(3);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(3);
+
+        // Hold time four times the baseline
+        borrowFor(200);
+        int open = dataSource.getHikariPoolMXBean().getTotalConnections();
+        sizing.adjust();
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(2);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(2);
+        // The surplus is left to Hikari's housekeeping instead of closing every connection at once
+        assertThat(dataSource.getHikariPoolMXBean().getTotalConnections()).isEqualTo(open);
+        assertThat(meterRegistry.counter("db.pool.resizes", "pool", "primary", "direction", "up").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.counter("db.pool.resizes", "pool", "primary", "direction", "down").count()).isEqualTo(1.0);
+    }
+
+    private void borrowFor(long millis) throws SQLException, InterruptedException {
+        try (Connection connection = dataSource.getConnection()) {
+            assertThat(connection.isValid(1)).isTrue();
+            Thread.sleep(millis);
+        }
+    }
+
+    private void borrowQuietly(long millis) {
+        try {
+            borrowFor(millis);
+        } catch (SQLException | InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ConnectionPoolObserver.Window window(long borrows, long meanWaitNanos, long meanHoldNanos, long timeouts) {
+        return new ConnectionPoolObserver.Window(borrows, borrows * meanWaitNanos, borrows, borrows * meanHoldNanos, timeouts);
+    }
+
+    private static long ms(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,97 @@
+package com.arrayindex.productmanagementapi.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = h2("routing-primary");
+        DataSource replica = h2("routing-replica");
+        meterRegistry = new SimpleMeterRegistry();
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replica, meterRegistry));
+
+        jdbcTemplate = new JdbcTemplate(routing);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @Test
+    void readOnlyTransactions_ShouldUseReplica_AndOthersPrimary() {
+        // The lazy proxy reads connection defaults from the primary on first use
+        assertThat(whoAmI()).isEqualTo("routing-primary");
+        double primaryBefore = connections("primary");
+
+        String readOnlyTarget = readOnly.execute(status -> whoAmI());
+        String readWriteTarget = readWrite.execute(status -> whoAmI());
+
+        assertThat(readOnlyTarget).isEqualTo("routing-replica");
+        assertThat(readWriteTarget).isEqualTo("routing-primary");
+        assertThat(whoAmI()).isEqualTo("routing-primary");
+
+        assertThat(connections("replica")).isEqualTo(1);
+        assertThat(connections("primary") - primaryBefore).isEqualTo(2);
+    }
+
+    @Test
+    void searchWorkload_ShouldUseSearchPool_ForAnyTransactionType() throws Exception {
+        DataSource routing = new LazyConnectionDataSourceProxy(new ReadWriteRoutingDataSource(
+                h2("routing-primary"), null, h2("routing-search"), meterRegistry));
+        JdbcTemplate searchJdbc = new JdbcTemplate(routing);
+        TransactionTemplate readOnlyTx = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        readOnlyTx.setReadOnly(true);
+        String query = "SELECT name FROM instance";
+        searchJdbc.queryForObject(query, String.class);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setTaskDecorator(WorkloadContext.searchDecorator());
+        executor.initialize();
+        try {
+            String searchTarget = executor.submit(() -> readOnlyTx.execute(status -> searchJdbc.queryForObject(query, String.class))).get();
+            assertThat(searchTarget).isEqualTo("routing-search");
+        } finally {
+            executor.shutdown();
+        }
+        // Without a replica, read-only work outside the bulkhead stays on the primary
+        String readOnlyTarget = readOnlyTx.execute(status -> searchJdbc.queryForObject(query, String.class));
+        assertThat(readOnlyTarget).isEqualTo("routing-primary");
+        assertThat(connections("search")).isEqualTo(1);
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("datasource.routing.connections").tag("target", target).counter().count();
+    }
+
+    private String whoAmI() {
+        return jdbcTemplate.queryForObject("SELECT name FROM instance", String.class);
+    }
+
+    private static DataSource h2(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE IF NOT EXISTS instance (name VARCHAR(50))");
+        jdbc.execute("DELETE FROM instance");
+        jdbc.update("INSERT INTO instance VALUES (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,44 @@
+package com.arrayindex.productmanagementapi.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchedulingConfigTest {
+
+    @Test
+    void blockedJob_ShouldNotStopOtherScheduledJobs() throws InterruptedException {
+        try (AnnotationConfigApplicationContext context =
+                     new AnnotationConfigApplicationContext(SchedulingConfig.class, Jobs.class)) {
+            Jobs jobs = context.getBean(Jobs.class);
+
+            assertThat(jobs.blocked.await(5, TimeUnit.SECONDS)).isTrue();
+            // Stands in for the cache invalidation flush
+            assertThat(jobs.flushes.await(5, TimeUnit.SECONDS)).isTrue();
+            jobs.release.countDown();
+        }
+    }
+
+    static class Jobs {
+
+        final CountDownLatch blocked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch flushes = new CountDownLatch(3);
+
+        @Scheduled(fixedDelay = 60_000)
+        public void longJob() throws InterruptedException {
+            blocked.countDown();
+            release.await(10, TimeUnit.SECONDS);
+        }
+
+        @Scheduled(fixedDelay = 20, initialDelay = 100)
+        public void flush() {
+            flushes.countDown();
+        }
+    }
+}
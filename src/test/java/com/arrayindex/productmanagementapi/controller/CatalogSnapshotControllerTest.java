@@ -0,0 +1,130 @@
+package com.arrayindex.productmanagementapi.controller;
+
+import com.arrayindex.productmanagementapi.service.CatalogSnapshotService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogSnapshotControllerTest {
+
+    private static final byte[] CONTENT = "0123456789abcdefghij".getBytes(StandardCharsets.US_ASCII);
+    private static final long LAST_MODIFIED = 1_700_000_000_000L;
+
+    @TempDir
+    Path directory;
+
+    private final CatalogSnapshotService snapshotService = mock(CatalogSnapshotService.class);
+    private final CatalogSnapshotController controller =
+            new CatalogSnapshotController(snapshotService, new SimpleMeterRegistry());
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/snapshot");
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        Path file = Files.write(directory.resolve("catalog-abc.json.gz"), CONTENT);
+        when(snapshotService.getCurrent()).thenReturn(
+                new CatalogSnapshotService.Snapshot(file, CONTENT.length, "\"abc\"", LAST_MODIFIED, 3));
+    }
+
+    @Test
+    void noRange_ShouldTransferWholeFile() throws IOException {
+        controller.downloadSnapshot(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+        assertThat(response.getContentLengthLong()).isEqualTo(CONTENT.length);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo("\"abc\"");
+        assertThat(response.getHeader(HttpHeaders.ACCEPT_RANGES)).isEqualTo("bytes");
+        assertThat(response.getContentType()).isEqualTo(CatalogSnapshotController.MEDIA_TYPE);
+    }
+
+    @Test
+    void singleRange_ShouldTransferPartialContent() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+
+        controller.downloadSnapshot(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("56789");
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes 5-9/20");
+    }
+
+    @Test
+    void suffixRange_ShouldResumeFromEnd() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=15-");
+
+        controller.downloadSnapshot(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(206);
+        assertThat(response.getContentAsString()).isEqualTo("fghij");
+    }
+
+    @Test
+    void rangePastEnd_ShouldAnswerRangeNotSatisfiable() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=50-60");
+
+        controller.downloadSnapshot(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(416);
+        assertThat(response.getHeader(HttpHeaders.CONTENT_RANGE)).isEqualTo("bytes */20");
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void staleIfRange_ShouldIgnoreRangeAndSendWholeFile() throws IOException {
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+        request.addHeader(HttpHeaders.IF_RANGE, "\"older\"");
+
+        controller.downloadSnapshot(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).isEqualTo(CONTENT);
+    }
+
+    @Test
+    void matchingIfNoneMatch_ShouldAnswerNotModified() throws IOException {
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"abc\"");
+
+        controller.downloadSnapshot(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    void sendfileSupport_ShouldHandFileToContainer() throws IOException {
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        request.addHeader(HttpHeaders.RANGE, "bytes=5-9");
+
+        controller.downloadSnapshot(request, response);
+
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(5L);
+        assertThat(request.getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(10L);
+        assertThat(response.getContentLengthLong()).isEqualTo(5);
+    }
+
+    @Test
+    void noSnapshotYet_ShouldAnswerServiceUnavailable() throws IOException {
+        when(snapshotService.getCurrent()).thenReturn(null);
+
+        controller.downloadSnapshot(request, response);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("5");
+    }
+}
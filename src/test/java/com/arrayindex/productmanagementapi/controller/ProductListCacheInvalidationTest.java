@@ -0,0 +1,89 @@
+package com.arrayindex.productmanagementapi.controller;
+
+import com.arrayindex.productmanagementapi.ProductManagementApplication;
+import com.arrayindex.productmanagementapi.config.EmbeddedKafkaConfig;
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.PriceHistoryRepository;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The encoded list responses and their ETags must change with every product write, stock changes included.
+ */
+@SpringBootTest(classes = ProductManagementApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(EmbeddedKafkaConfig.class)
+@EmbeddedKafka(partitions = 1, topics = {"products"})
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "product.cache.warmup.enabled=false",
+        "product.cache.invalidation.enabled=false"
+})
+class ProductListCacheInvalidationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PriceHistoryRepository priceHistoryRepository;
+
+    private Long id;
+
+    @BeforeEach
+    void setUp() {
+        priceHistoryRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        Product product = new Product();
+        product.setName("Listed product");
+        product.setPrice(10.0);
+        product.setCategory("Books");
+        product.setStockQuantity(5);
+        id = productRepository.save(product).getId();
+    }
+
+    @Test
+    void listEndpoints_ShouldServeNewStockAfterStockUpdate() throws Exception {
+        String allEtag = etag("/api/products");
+        String activeEtag = etag("/api/products/active");
+        String categoryEtag = etag("/api/products/category/Books");
+
+        mockMvc.perform(put("/api/products/{id}/stock", id).param("quantity", "3").param("operation", "DECREASE"))
+                .andExpect(status().isOk());
+
+        expectNewStock("/api/products", allEtag);
+        expectNewStock("/api/products/active", activeEtag);
+        expectNewStock("/api/products/category/Books", categoryEtag);
+    }
+
+    private String etag(String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].stockQuantity").value(5))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private void expectNewStock(String path, String previousEtag) throws Exception {
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, previousEtag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].stockQuantity").value(2));
+    }
+}
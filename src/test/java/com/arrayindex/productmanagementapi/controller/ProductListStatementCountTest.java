@@ -0,0 +1,144 @@
+package com.arrayindex.productmanagementapi.controller;
+
+import com.arrayindex.productmanagementapi.ProductManagementApplication;
+import com.arrayindex.productmanagementapi.cache.EncodedResponseCache;
+import com.arrayindex.productmanagementapi.config.EmbeddedKafkaConfig;
+import com.arrayindex.productmanagementapi.model.PriceHistory;
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.PriceHistoryRepository;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * GET /api/products must cost the same number of SQL statements for a small and a large catalog,
+ * with every product carrying price history that a lazy load per row would fetch. Writes that publish
+ * the product must not load that history either.
+ */
+@SpringBootTest(classes = ProductManagementApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(EmbeddedKafkaConfig.class)
+@EmbeddedKafka(partitions = 1, topics = {"products"})
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "product.cache.warmup.enabled=false",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class ProductListStatementCountTest {
+
+    private static final int PRICE_CHANGES_PER_PRODUCT = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PriceHistoryRepository priceHistoryRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        priceHistoryRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getAllProducts_IssuesOneStatementWhateverTheCatalogSize() throws Exception {
+        addProducts(5);
+        long small = statementsForGetAllProducts(5);
+
+        addProducts(95);
+        long large = statementsForGetAllProducts(100);
+
+        assertThat(small).isEqualTo(1);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void stockUpdate_DoesNotLoadPriceHistory() throws Exception {
+        addProducts(1);
+        Long id = productRepository.findAll().get(0).getId();
+        statistics.clear();
+
+        // Publishes the product from inside the request; printing the entity used to walk priceHistory
+        mockMvc.perform(put("/api/products/{id}/stock", id).param("quantity", "2").param("operation", "INCREASE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.priceHistory").doesNotExist());
+
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    private long statementsForGetAllProducts(int expectedProducts) throws Exception {
+        clearCache("products");
+        clearCache(EncodedResponseCache.CACHE_NAME);
+        statistics.clear();
+
+        mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedProducts))
+                .andExpect(jsonPath("$[0].priceHistory").doesNotExist());
+
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addProducts(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Product product = new Product();
+            product.setName("Product " + i);
+            product.setPrice(10.0 + i);
+            product.setCategory("category-" + (i % 5));
+            products.add(product);
+        }
+        List<PriceHistory> changes = new ArrayList<>();
+        for (Product product : productRepository.saveAll(products)) {
+            for (int i = 0; i < PRICE_CHANGES_PER_PRODUCT; i++) {
+                changes.add(new PriceHistory(null, product, product.getPrice() + i, product.getPrice() + i + 1,
+                        "test", null, "test"));
+            }
+        }
+        priceHistoryRepository.saveAll(changes);
+    }
+
+    private void clearCache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.arrayindex.productmanagementapi.performance;
+
+import com.arrayindex.productmanagementapi.config.AdaptivePoolSizing;
+import com.arrayindex.productmanagementapi.config.ConnectionPoolObservers;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput of fixed-size Hikari pools and of {@link AdaptivePoolSizing} at increasing client concurrency.
+ * Each borrow runs a query against a simulated database that serves {@code DB_CAPACITY} queries in
+ * parallel at full speed; past that, queries share the capacity and lose time to contention, so a pool
+ * much larger than the database's capacity serves fewer queries, not more. Results are written to
+ * {@code target/load-reports/connection-pool-sizing.txt}.
+ */
+@Tag("benchmark")
+@DisplayName("Connection pool sizing benchmark")
+class ConnectionPoolSizingBenchmarkTest {
+
+    private static final int[] CLIENTS = {8, 32, 128};
+    private static final int[] FIXED_SIZES = {4, 16, 64};
+    private static final int ADAPTIVE_INITIAL = 10;
+    private static final int ADAPTIVE_MIN = 2;
+    private static final int ADAPTIVE_MAX = 64;
+
+    private static final int DB_CAPACITY = 8;
+    private static final long SERVICE_MICROS = 2_000;
+    private static final double CONTENTION_PENALTY = 0.1;
+
+    private static final Duration WARMUP = Duration.ofMillis(300);
+    private static final Duration ADAPTIVE_WARMUP = Duration.ofSeconds(3);
+    private static final Duration MEASURE = Duration.ofSeconds(2);
+    private static final long SIZING_INTERVAL_MS = 100;
+
+    private final AtomicInteger poolSequence = new AtomicInteger();
+
+    @Test
+    @DisplayName("Adaptive pool should outperform an oversized fixed pool under high concurrency")
+    void adaptivePool_ShouldOutperformOversizedPoolUnderHighConcurrency() throws Exception {
+        List<Result> results = new ArrayList<>();
+        for (int clients : CLIENTS) {
+            for (int size : FIXED_SIZES) {
+                results.add(run(clients, "fixed", size, false));
+            }
+            results.add(run(clients, "adaptive", ADAPTIVE_INITIAL, true));
+        }
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-8s %-9s %5s %9s %10s %10s", "clients", "pool", "size", "ops/s", "wait ms", "query ms"));
+        results.forEach(result -> lines.add(String.format("%-8d %-9s %5d %9.0f %10.2f %10.2f", result.clients(),
+                result.kind(), result.finalSize(), result.throughput(), result.meanWaitMs(), result.meanQueryMs())));
+        ReportFiles.writeLines("connection-pool-sizing", lines);
+
+        int highest = CLIENTS[CLIENTS.length - 1];
+        Result adaptive = find(results, highest, "adaptive", -1);
+        Result oversized = find(results, highest, "fixed", FIXED_SIZES[FIXED_SIZES.length - 1]);
+        assertThat(adaptive.finalSize()).isBetween(ADAPTIVE_MIN, ADAPTIVE_MAX);
+        assertThat(adaptive.throughput()).isGreaterThan(oversized.throughput());
+    }
+
+    private Result run(int clients, String kind, int initialSize, boolean adaptive) throws Exception {
+        String poolName = kind + "-" + poolSequence.incrementAndGet();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ConnectionPoolObservers observers = new ConnectionPoolObservers(
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class),
+                false, 100);
+        SimulatedDatabase database = new SimulatedDatabase();
+        LongAdder completed = new LongAdder();
+        LongAdder waitNanos = new LongAdder();
+        LongAdder queryNanos = new LongAdder();
+        Measurement measurement = new Measurement();
+
+        ExecutorService clientThreads = Executors.newFixedThreadPool(clients);
+        ScheduledExecutorService sizingThread = Executors.newSingleThreadScheduledExecutor();
+        try (HikariDataSource dataSource = new HikariDataSource()) {
+            dataSource.setJdbcUrl("jdbc:h2:mem:pool-benchmark;DB_CLOSE_DELAY=-1");
+            dataSource.setPoolName(poolName);
+            dataSource.setMaximumPoolSize(initialSize);
+            dataSource.setConnectionTimeout(10_000);
+            observers.observe(dataSource);
+            if (adaptive) {
+                AdaptivePoolSizing sizing = new AdaptivePoolSizing(observers, meterRegistry, List.of(poolName),
+                        ADAPTIVE_MIN, ADAPTIVE_MAX, 5, 2.0, 2, 30);
+                sizingThread.scheduleWithFixedDelay(sizing::adjust, SIZING_INTERVAL_MS, SIZING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            }
+
+            for (int i = 0; i < clients; i++) {
+                clientThreads.execute(() -> {
+                    while (!measurement.stopped) {
+                        long start = System.nanoTime();
+                        try (Connection connection = dataSource.getConnection()) {
+                            long acquired = System.nanoTime();
+                            database.query();
+                            if (measurement.measuring) {
+                                completed.increment();
+                                waitNanos.add(acquired - start);
+                                queryNanos.add(System.nanoTime() - acquired);
+                            }
+                        } catch (Exception e) {
+                            if (!measurement.stopped) {
+                                throw new IllegalStateException(e);
+                            }
+                        }
+                    }
+                });
+            }
+
+            Thread.sleep((adaptive ? ADAPTIVE_WARMUP : WARMUP).toMillis());
+            measurement.measuring = true;
+            Thread.sleep(MEASURE.toMillis());
+            measurement.measuring = false;
+            measurement.stopped = true;
+            clientThreads.shutdown();
+            assertThat(clientThreads.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+            sizingThread.shutdownNow();
+
+            long count = completed.sum();
+            return new Result(clients, kind, dataSource.getMaximumPoolSize(), count / (MEASURE.toMillis() / 1000.0),
+                    count > 0 ? waitNanos.sum() / count / 1e6 : 0, count > 0 ? queryNanos.sum() / count / 1e6 : 0);
+        } finally {
+            clientThreads.shutdownNow();
+            sizingThread.shutdownNow();
+        }
+    }
+
+    private static Result find(List<Result> results, int clients, String kind, int size) {
+        return results.stream()
+                .filter(result -> result.clients() == clients && result.kind().equals(kind)
+                        && (size < 0 || result.finalSize() == size))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * Full speed up to {@code DB_CAPACITY} concurrent queries; beyond it each query gets a proportional share
+     * of the capacity and a contention penalty per excess query.
+     */
+    private static final class SimulatedDatabase {
+        private final AtomicInteger running = new AtomicInteger();
+
+        void query() throws InterruptedException {
+            int concurrent = running.incrementAndGet();
+            try {
+                int excess = Math.max(0, concurrent - DB_CAPACITY);
+                double slowdown = Math.max(1.0, (double) concurrent / DB_CAPACITY) * (1 + CONTENTION_PENALTY * excess);
+                TimeUnit.MICROSECONDS.sleep((long) (SERVICE_MICROS * slowdown));
+            } finally {
+                running.decrementAndGet();
+            }
+        }
+    }
+
+    private static final class Measurement {
+        volatile boolean measuring;
+        volatile boolean stopped;
+    }
+
+    private record Result(int clients, String kind, int finalSize, double throughput, double meanWaitMs,
+                          double meanQueryMs) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.arrayindex.productmanagementapi.performance;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model HTTP load generator for the product API.
+ * <p>
+ * Requests are issued on a fixed arrival schedule ({@code rate} per second) regardless of how fast
+ * responses come back, and each latency is measured from the request's <em>intended</em> start time,
+ * so a stalled server shows up in the percentiles instead of silently lowering the offered load
+ * (coordinated omission). Latencies go into one HdrHistogram per operation of the request mix.
+ */
+class LoadGenerator {
+
+    enum Operation { READ, SEARCH, STOCK, CREATE }
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final Map<Operation, Integer> mix;
+    private final int totalWeight;
+    private final String runId = Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+    private final List<Long> productIds = new ArrayList<>();
+    private final AtomicLong createSequence = new AtomicLong();
+
+    LoadGenerator(String baseUrl, Map<Operation, Integer> mix) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.mix = new LinkedHashMap<>(mix);
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Request mix needs at least one positive weight");
+        }
+        ExecutorService callbacks = Executors.newFixedThreadPool(4, runnable -> {
+            Thread thread = new Thread(runnable, "LoadGenerator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.client = HttpClient.newBuilder()
+                .executor(callbacks)
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    /**
+     * Parses a mix such as {@code read=70,search=10,stock=15,create=5}.
+     */
+    static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Invalid request mix entry: " + part);
+            }
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * Creates the products that reads, searches and stock updates target.
+     */
+    void seed(int products) throws Exception {
+        for (int i = 0; i < products; i++) {
+            HttpResponse<String> response = client.send(createRequest(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 201 && response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with HTTP " + response.statusCode() + ": " + response.body());
+            }
+            productIds.add(extractId(response.body()));
+        }
+    }
+
+    /**
+     * Offers {@code rate} requests per second for {@code duration} and returns per-operation results.
+     */
+    LoadReport run(String name, double rate, Duration duration) throws InterruptedException {
+        Map<Operation, Histogram> histograms = new LinkedHashMap<>();
+        Map<Operation, AtomicLong> errors = new LinkedHashMap<>();
+        Map<Operation, AtomicLong> rejected = new LinkedHashMap<>();
+        for (Operation operation : mix.keySet()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+            rejected.put(operation, new AtomicLong());
+        }
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long requests = (long) (rate * duration.toNanos() / TimeUnit.SECONDS.toNanos(1));
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        long start = System.nanoTime();
+
+        for (long i = 0; i < requests; i++) {
+            long intendedStart = start + i * intervalNanos;
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Operation operation = pick();
+            inFlight.add(client.sendAsync(request(operation), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedStart);
+                        histograms.get(operation).recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                        if (failure == null && response.statusCode() == 503) {
+                            // Shed by the concurrency limiter or a bulkhead: reported apart from errors
+                            rejected.get(operation).incrementAndGet();
+                        } else if (failure != null || response.statusCode() >= 400) {
+                            errors.get(operation).incrementAndGet();
+                        }
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(CompletableFuture[]::new)).join();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        LoadReport report = new LoadReport(name, baseUrl, rate, duration.toSeconds(), elapsedSeconds);
+        for (Operation operation : mix.keySet()) {
+            report.add(operation.name().toLowerCase(), mix.get(operation), histograms.get(operation),
+                    errors.get(operation).get(), rejected.get(operation).get());
+        }
+        return report;
+    }
+
+    private Operation pick() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    private HttpRequest request(Operation operation) {
+        long id = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        return switch (operation) {
+            case READ -> HttpRequest.newBuilder(uri("/api/products/" + id)).GET().build();
+            case SEARCH -> HttpRequest.newBuilder(uri("/api/products/search/name?name=Load%20" + (id % 100))).GET().build();
+            case STOCK -> HttpRequest.newBuilder(uri("/api/products/" + id + "/stock?quantity=1&operation=INCREASE"))
+                    .PUT(HttpRequest.BodyPublishers.noBody()).build();
+            case CREATE -> createRequest();
+        };
+    }
+
+    private HttpRequest createRequest() {
+        long n = createSequence.incrementAndGet();
+        String body = "{\"name\":\"Load " + n + "\",\"description\":\"Load test product " + n + "\","
+                + "\"price\":" + (10 + n % 90) + ".5,\"category\":\"Load " + (n % 10) + "\","
+                + "\"stockQuantity\":1000,\"sku\":\"SKU-LT" + runId + n + "\"}";
+        return HttpRequest.newBuilder(uri("/api/products"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static long extractId(String json) {
+        int key = json.indexOf("\"id\":");
+        if (key < 0) {
+            throw new IllegalStateException("No id in response: " + json);
+        }
+        int start = key + 5;
+        int end = start;
+        while (end < json.length() && Character.isDigit(json.charAt(end))) {
+            end++;
+        }
+        return Long.parseLong(json.substring(start, end));
+    }
+}
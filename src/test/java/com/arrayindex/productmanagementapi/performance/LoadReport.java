@@ -0,0 +1,120 @@
+package com.arrayindex.productmanagementapi.performance;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of one {@link LoadGenerator} run: percentiles per operation in milliseconds, plus the
+ * compressed histogram so runs can be re-analysed or merged later. Written as JSON with a fixed key
+ * order, so reports from two builds can be diffed directly or with {@link #compareTo(Path)}.
+ */
+class LoadReport {
+
+    private static final double[] PERCENTILES = {50.0, 90.0, 99.0, 99.9};
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Object> summary = new LinkedHashMap<>();
+    private final Map<String, Map<String, Object>> operations = new LinkedHashMap<>();
+
+    LoadReport(String name, String baseUrl, double targetRate, long durationSeconds, double elapsedSeconds) {
+        summary.put("name", name);
+        summary.put("baseUrl", baseUrl);
+        summary.put("targetRatePerSecond", targetRate);
+        summary.put("durationSeconds", durationSeconds);
+        summary.put("elapsedSeconds", round(elapsedSeconds));
+    }
+
+    void add(String operation, int weight, Histogram histogram, long errors, long rejected) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("weight", weight);
+        stats.put("count", histogram.getTotalCount());
+        stats.put("errors", errors);
+        stats.put("rejected", rejected);
+        stats.put("meanMs", round(histogram.getMean() / 1000.0));
+        for (double percentile : PERCENTILES) {
+            stats.put(percentileKey(percentile), round(histogram.getValueAtPercentile(percentile) / 1000.0));
+        }
+        stats.put("maxMs", round(histogram.getMaxValue() / 1000.0));
+        stats.put("histogram", encode(histogram));
+        operations.put(operation, stats);
+    }
+
+    long totalErrors() {
+        return operations.values().stream().mapToLong(stats -> (Long) stats.get("errors")).sum();
+    }
+
+    long count(String operation) {
+        Map<String, Object> stats = operations.get(operation);
+        return stats == null ? 0 : (Long) stats.get("count");
+    }
+
+    Path write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(summary.get("name") + ".json");
+        Map<String, Object> document = new LinkedHashMap<>(summary);
+        document.put("operations", operations);
+        MAPPER.writeValue(file.toFile(), document);
+        return file;
+    }
+
+    /**
+     * One line per operation and percentile: baseline, this run and the relative change.
+     */
+    List<String> compareTo(Path baselineFile) throws IOException {
+        JsonNode baseline = MAPPER.readTree(baselineFile.toFile()).path("operations");
+        List<String> lines = new ArrayList<>();
+        operations.forEach((operation, stats) -> {
+            for (double percentile : PERCENTILES) {
+                String key = percentileKey(percentile);
+                JsonNode before = baseline.path(operation).path(key);
+                if (before.isMissingNode()) {
+                    continue;
+                }
+                double after = (Double) stats.get(key);
+                double change = before.asDouble() == 0 ? 0 : (after - before.asDouble()) / before.asDouble() * 100;
+                lines.add(String.format("%-7s %-7s %9.2f ms -> %9.2f ms (%+.1f%%)",
+                        operation, key.replace("Ms", ""), before.asDouble(), after, change));
+            }
+        });
+        return lines;
+    }
+
+    List<String> lines() {
+        List<String> lines = new ArrayList<>();
+        operations.forEach((operation, stats) -> lines.add(String.format(
+                "%-7s n=%-6d err=%-4d shed=%-4d p50 %8.2f  p90 %8.2f  p99 %8.2f  p99.9 %8.2f  max %8.2f ms",
+                operation, stats.get("count"), stats.get("errors"), stats.get("rejected"),
+                stats.get("p50Ms"), stats.get("p90Ms"), stats.get("p99Ms"), stats.get("p99_9Ms"), stats.get("maxMs"))));
+        return lines;
+    }
+
+    private static String percentileKey(double percentile) {
+        String label = percentile == Math.rint(percentile)
+                ? String.valueOf((int) percentile)
+                : String.valueOf(percentile).replace('.', '_');
+        return "p" + label + "Ms";
+    }
+
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,97 @@
+package com.arrayindex.productmanagementapi.performance;
+
+import com.arrayindex.productmanagementapi.cache.OffHeapProductCache;
+import com.arrayindex.productmanagementapi.model.Product;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares retained heap and GC time of the off-heap productById tier against the
+ * default {@link ConcurrentMapCacheManager} for the same catalog.
+ */
+@Tag("benchmark")
+@DisplayName("Off-heap cache footprint comparison")
+class OffHeapCacheFootprintTest {
+
+    private static final int PRODUCTS = 200_000;
+
+    @Test
+    @DisplayName("Off-heap cache should retain far less heap than ConcurrentMapCacheManager")
+    void offHeapCache_ShouldRetainLessHeapThanConcurrentMapCache() throws IOException {
+        Result offHeap = measure(() -> new OffHeapProductCache("productById", 128 * 1024 * 1024, PRODUCTS));
+        Result onHeap = measure(() -> {
+            ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+            cacheManager.setAllowNullValues(false);
+            return cacheManager.getCache("productById");
+        });
+
+        ReportFiles.writeLines("off-heap-cache-footprint", List.of(
+                String.format("ConcurrentMapCache: retained heap %d MB, GC time %d ms", onHeap.heapBytes / 1024 / 1024, onHeap.gcMillis),
+                String.format("OffHeapProductCache: retained heap %d MB, GC time %d ms", offHeap.heapBytes / 1024 / 1024, offHeap.gcMillis)));
+
+        assertThat(offHeap.heapBytes).isLessThan(onHeap.heapBytes / 2);
+    }
+
+    private Result measure(Supplier<Cache> cacheFactory) {
+        long heapBefore = usedHeapAfterGc();
+        long gcBefore = totalGcMillis();
+        Cache cache = cacheFactory.get();
+
+        for (long id = 1; id <= PRODUCTS; id++) {
+            cache.put(id, product(id));
+        }
+        // Touch every entry once so both variants pay their read path
+        for (long id = 1; id <= PRODUCTS; id++) {
+            assertThat(cache.get(id)).isNotNull();
+        }
+
+        long gcMillis = totalGcMillis() - gcBefore;
+        long heapBytes = usedHeapAfterGc() - heapBefore;
+        // Keep the cache reachable until after the measurement
+        assertThat(cache.get(1L)).isNotNull();
+        return new Result(heapBytes, gcMillis);
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long totalGcMillis() {
+        return ManagementFactory.getGarbageCollectorMXBeans().stream()
+                .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+                .filter(time -> time > 0)
+                .sum();
+    }
+
+    private static Product product(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setDescription("Generated product used to compare cache footprints");
+        product.setPrice(10.0 + id % 100);
+        product.setCategory("Category " + id % 20);
+        product.setStockQuantity((int) (id % 500));
+        product.setSku("SKU-" + (1_000_000 + id));
+        product.setCreatedAt(LocalDateTime.now());
+        product.setUpdatedAt(LocalDateTime.now());
+        return product;
+    }
+
+    private record Result(long heapBytes, long gcMillis) {
+    }
+}
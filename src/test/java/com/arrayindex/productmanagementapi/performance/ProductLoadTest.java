@@ -0,0 +1,87 @@
+package com.arrayindex.productmanagementapi.performance;
+
+import com.arrayindex.productmanagementapi.ProductManagementApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the product API over HTTP with {@link LoadGenerator} and writes a JSON latency report.
+ * <p>
+ * By default the application is started in-process on a random port with a short, light run.
+ * Point it at a deployed instance and scale it up with system properties, e.g.
+ * {@code mvn test -Pbenchmark -Dtest=ProductLoadTest -Dloadtest.base-url=http://host:8080 -Dloadtest.rate=500
+ * -Dloadtest.duration=120 -Dloadtest.baseline=previous/product-load.json}.
+ */
+@Tag("benchmark")
+@DisplayName("Product API load test")
+class ProductLoadTest {
+
+    @Test
+    @DisplayName("Should sustain the configured arrival rate and record latency percentiles per operation")
+    void productApi_ShouldSustainArrivalRate() throws Exception {
+        String baseUrl = System.getProperty("loadtest.base-url");
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "50"));
+        Duration duration = Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.duration", "10")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(System.getProperty("loadtest.warmup", "3")));
+        int seedProducts = Integer.parseInt(System.getProperty("loadtest.seed-products", "200"));
+        Map<LoadGenerator.Operation, Integer> mix = LoadGenerator.parseMix(
+                System.getProperty("loadtest.mix", "read=70,search=10,stock=15,create=5"));
+        Path reportDir = ReportFiles.directory();
+        String name = System.getProperty("loadtest.name", "product-load");
+
+        ConfigurableApplicationContext context = baseUrl == null ? start() : null;
+        try {
+            if (context != null) {
+                baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            }
+            LoadGenerator generator = new LoadGenerator(baseUrl, mix);
+            generator.seed(seedProducts);
+            // Warm up JIT, pools and caches; the warm-up report is discarded
+            generator.run(name + "-warmup", rate, warmup);
+            LoadReport report = generator.run(name, rate, duration);
+
+            report.write(reportDir);
+            List<String> summary = new ArrayList<>(report.lines());
+            String baseline = System.getProperty("loadtest.baseline");
+            if (baseline != null && Files.exists(Paths.get(baseline))) {
+                summary.add("Compared with " + baseline + ":");
+                summary.addAll(report.compareTo(Paths.get(baseline)));
+            }
+            ReportFiles.writeLines(name, summary);
+
+            assertThat(report.totalErrors()).isZero();
+            for (LoadGenerator.Operation operation : mix.keySet()) {
+                assertThat(report.count(operation.name().toLowerCase())).isPositive();
+            }
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        // Command line arguments, so they override application.properties
+        return new SpringApplicationBuilder(ProductManagementApplication.class)
+                .run("--server.port=0",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+                        "--spring.kafka.admin.auto-create=false",
+                        "--spring.kafka.enabled=false",
+                        "--logging.level.com.arrayindex.productmanagementapi=WARN");
+    }
+}
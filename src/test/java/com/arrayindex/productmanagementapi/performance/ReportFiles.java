@@ -0,0 +1,30 @@
+package com.arrayindex.productmanagementapi.performance;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Where benchmark results go: plain-text files next to the JSON load reports, instead of the test output.
+ */
+final class ReportFiles {
+
+    private ReportFiles() {
+    }
+
+    static Path directory() {
+        return Paths.get(System.getProperty("loadtest.report-dir", "target/load-reports"));
+    }
+
+    /**
+     * Writes {@code lines} to {@code <report dir>/<name>.txt}, replacing an earlier run's file.
+     */
+    static Path writeLines(String name, List<String> lines) throws IOException {
+        Path directory = directory();
+        Files.createDirectories(directory);
+        return Files.write(directory.resolve(name + ".txt"), lines, StandardCharsets.UTF_8);
+    }
+}
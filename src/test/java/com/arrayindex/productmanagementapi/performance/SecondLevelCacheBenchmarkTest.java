@@ -0,0 +1,156 @@
+package com.arrayindex.productmanagementapi.performance;
+
+import com.arrayindex.productmanagementapi.config.HibernateCacheConfig;
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the same mixed read/write workload against method-level result caching (every write
+ * clears all cached results, as {@code @CacheEvict(allEntries = true)} does) and against the
+ * Hibernate second-level and query cache, and compares the SQL statements each one issues.
+ */
+@DataJpaTest
+@Import(HibernateCacheConfig.class)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "product.cache.mode=hibernate",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("benchmark")
+@DisplayName("Second-level cache vs method-level cache benchmark")
+class SecondLevelCacheBenchmarkTest {
+
+    private static final int PRODUCTS = 1_000;
+    private static final int CATEGORIES = 20;
+    private static final int OPERATIONS = 5_000;
+    // 60% reads by id, 30% reads by category, 10% price updates
+    private static final double BY_ID = 0.6;
+    private static final double BY_CATEGORY = 0.9;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (productRepository.count() == 0) {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < PRODUCTS; i++) {
+                    Product product = new Product();
+                    product.setName("Product " + i);
+                    product.setPrice(10.0 + i);
+                    product.setCategory("Category " + (i % CATEGORIES));
+                    product.setStockQuantity(100);
+                    product.setSku("BENCH-" + i);
+                    entityManager.persist(product);
+                }
+            });
+        }
+    }
+
+    @Test
+    @DisplayName("Hibernate L2 cache should issue fewer statements than method-level caching")
+    void secondLevelCache_ShouldIssueFewerStatementsThanMethodCache() throws IOException {
+        Result method = run("method-level", CacheMode.IGNORE, new MethodLevelCache());
+        Result hibernate = run("hibernate L2", CacheMode.NORMAL, null);
+
+        ReportFiles.writeLines("second-level-cache", List.of(
+                String.format("%-13s %6d statements %6d ms", "method-level", method.statements, method.millis),
+                String.format("%-13s %6d statements %6d ms (L2 hits %d, query cache hits %d)", "hibernate L2",
+                        hibernate.statements, hibernate.millis, hibernate.secondLevelHits, hibernate.queryCacheHits)));
+
+        assertThat(hibernate.secondLevelHits).isPositive();
+        assertThat(hibernate.statements).isLessThan(method.statements);
+    }
+
+    private Result run(String name, CacheMode cacheMode, MethodLevelCache methodCache) {
+        Random random = new Random(42);
+        statistics.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < OPERATIONS; i++) {
+            double operation = random.nextDouble();
+            long id = 1 + random.nextInt(PRODUCTS);
+            String category = "Category " + random.nextInt(CATEGORIES);
+            transactionTemplate.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setCacheMode(cacheMode);
+                if (operation < BY_ID) {
+                    Product product = methodCache != null
+                            ? methodCache.byId.computeIfAbsent(id, key -> productRepository.findById(key).orElseThrow())
+                            : productRepository.findById(id).orElseThrow();
+                    assertThat(product.getId()).isEqualTo(id);
+                } else if (operation < BY_CATEGORY) {
+                    List<Product> products = methodCache != null
+                            ? methodCache.byCategory.computeIfAbsent(category, productRepository::findByCategory)
+                            : productRepository.findByCategory(category);
+                    assertThat(products).isNotEmpty();
+                } else {
+                    Product product = productRepository.findById(id).orElseThrow();
+                    product.setPrice(product.getPrice() + 1);
+                    productRepository.save(product);
+                    if (methodCache != null) {
+                        methodCache.clear();
+                    }
+                }
+            });
+        }
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        return new Result(statistics.getPrepareStatementCount(), millis,
+                statistics.getSecondLevelCacheHitCount(), statistics.getQueryCacheHitCount());
+    }
+
+    private static final class MethodLevelCache {
+
+        private final Map<Long, Product> byId = new HashMap<>();
+        private final Map<String, List<Product>> byCategory = new HashMap<>();
+
+        private void clear() {
+            byId.clear();
+            byCategory.clear();
+        }
+    }
+
+    private record Result(long statements, long millis, long secondLevelHits, long queryCacheHits) {
+    }
+}
@@ -0,0 +1,133 @@
+package com.arrayindex.productmanagementapi.performance;
+
+import com.arrayindex.productmanagementapi.ProductManagementApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares time-to-first-request of the default and {@code fast-start} modes. Each mode runs in a
+ * fresh JVM started from the test class path, and the time from process launch to the first
+ * successful {@code GET /api/products} is written to {@code target/load-reports/startup.json}.
+ * <p>
+ * The fast-start run uses the profile's lazy initialization, deferred Hibernate bootstrap and deferred
+ * topic creation. Add {@code -Dstartup.aot=true} after building with {@code -Pfast-start} to include
+ * the AOT-processed context as well; AOT freezes bean conditions at build time, so for the local H2
+ * database the build needs {@code -Dspring-boot.aot.jvmArguments=-Dspring.flyway.enabled=false}.
+ * The class-data-sharing archive is only produced in the Docker image build.
+ * <p>
+ * Tagged {@code benchmark}, so it only runs with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DisplayName("Start-up mode comparison")
+class StartupModeComparisonTest {
+
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(3);
+
+    @Test
+    @DisplayName("Should serve the first request in both default and fast-start modes and report the time taken")
+    void startupModes_ShouldReportTimeToFirstRequest() throws Exception {
+        int runs = Integer.parseInt(System.getProperty("startup.runs", "1"));
+        boolean aot = Boolean.getBoolean("startup.aot");
+        Path reportDir = ReportFiles.directory();
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runs", runs);
+        report.put("cpus", Runtime.getRuntime().availableProcessors());
+        Map<String, List<Long>> modes = new LinkedHashMap<>();
+        modes.put("default", new ArrayList<>());
+        modes.put("fast-start", new ArrayList<>());
+        for (int run = 0; run < runs; run++) {
+            modes.get("default").add(timeToFirstRequest("default", List.of(), reportDir));
+            List<String> fastStartJvmArgs = aot ? List.of("-Dspring.aot.enabled=true") : List.of();
+            modes.get("fast-start").add(timeToFirstRequest("fast-start", fastStartJvmArgs, reportDir));
+        }
+        modes.forEach((mode, times) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("aot", aot && mode.equals("fast-start"));
+            stats.put("timeToFirstRequestMs", times);
+            stats.put("medianMs", times.stream().sorted().toList().get(times.size() / 2));
+            report.put(mode, stats);
+        });
+
+        Files.createDirectories(reportDir);
+        Path file = reportDir.resolve("startup.json");
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+
+        modes.values().forEach(times -> assertThat(times).hasSize(runs).allMatch(time -> time > 0));
+    }
+
+    private long timeToFirstRequest(String mode, List<String> jvmArgs, Path logDir) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(ProductManagementApplication.class.getName());
+        command.add("--server.port=" + port);
+        command.add("--spring.flyway.enabled=false");
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup;DB_CLOSE_DELAY=-1");
+        if (mode.equals("fast-start")) {
+            command.add("--spring.profiles.active=fast-start");
+        }
+
+        Files.createDirectories(logDir);
+        Path log = logDir.resolve("startup-" + mode + ".log");
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/products"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start();
+        try {
+            while (System.nanoTime() - start < START_TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode + " JVM exited with " + process.exitValue() + ", see " + log);
+                }
+                try {
+                    if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(20);
+            }
+            throw new IllegalStateException(mode + " JVM did not serve a request within " + START_TIMEOUT + ", see " + log);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
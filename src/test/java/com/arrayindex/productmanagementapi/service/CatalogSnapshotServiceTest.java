@@ -0,0 +1,109 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CatalogSnapshotServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private List<Product> products = List.of(product(1L, "Laptop"), product(2L, "Phone"));
+
+    private CatalogSnapshotService service;
+
+    @BeforeEach
+    void setUp() {
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(productRepository.streamAllOrderById()).thenAnswer(invocation -> products.stream());
+        service = new CatalogSnapshotService(productRepository, mock(EntityManager.class), transactionManager,
+                objectMapper, new SimpleMeterRegistry(), true, directory.toString(), 1000, 5000, 600000);
+    }
+
+    @Test
+    void regenerate_ShouldWriteGzippedCatalog() throws IOException {
+        CatalogSnapshotService.Snapshot snapshot = service.regenerate();
+
+        assertThat(service.getCurrent()).isSameAs(snapshot);
+        assertThat(snapshot.productCount()).isEqualTo(2);
+        assertThat(snapshot.length()).isEqualTo(Files.size(snapshot.file()));
+        JsonNode catalog = read(snapshot.file());
+        assertThat(catalog).hasSize(2);
+        assertThat(catalog.get(1).get("name").asText()).isEqualTo("Phone");
+    }
+
+    @Test
+    void unchangedCatalog_ShouldKeepSnapshot() throws IOException {
+        CatalogSnapshotService.Snapshot first = service.regenerate();
+
+        assertThat(service.regenerate()).isSameAs(first);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).containsExactly(first.file());
+        }
+    }
+
+    @Test
+    void changedCatalog_ShouldKeepPreviousFileForInFlightDownloads() throws IOException {
+        CatalogSnapshotService.Snapshot first = service.regenerate();
+        products = List.of(product(1L, "Laptop"));
+        CatalogSnapshotService.Snapshot second = service.regenerate();
+        products = List.of(product(3L, "Tablet"));
+        CatalogSnapshotService.Snapshot third = service.regenerate();
+
+        assertThat(second.etag()).isNotEqualTo(first.etag());
+        assertThat(read(third.file())).hasSize(1);
+        assertThat(first.file()).doesNotExist();
+        assertThat(second.file()).exists();
+    }
+
+    @Test
+    void isDue_ShouldWaitForQuietPeriodAfterWrites() throws IOException {
+        service.regenerate();
+        long now = System.nanoTime();
+        assertThat(service.isDue(now)).isFalse();
+
+        service.markStale();
+
+        assertThat(service.isDue(System.nanoTime())).isFalse();
+        assertThat(service.isDue(System.nanoTime() + 1_000_000_000L)).isTrue();
+    }
+
+    private JsonNode read(Path file) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(file))) {
+            return objectMapper.readTree(in);
+        }
+    }
+
+    private static Product product(Long id, String name) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName(name);
+        product.setPrice(10.0);
+        return product;
+    }
+}
@@ -0,0 +1,43 @@
+package com.arrayindex.productmanagementapi.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void next_ShouldSplitQuotedFieldsAndTrackLines() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+                "name,description\r\n"
+                        + "Laptop,\"Fast, light\"\r\n"
+                        + "\n"
+                        + "Desk,\"Oak \"\"standing\"\" desk\nwith drawers\"\n"
+                        + "Lamp,"));
+
+        assertThat(reader.next()).containsExactly("name", "description");
+        assertThat(reader.next()).containsExactly("Laptop", "Fast, light");
+        assertThat(reader.getRecordLine()).isEqualTo(2);
+        assertThat(reader.next()).containsExactly("Desk", "Oak \"standing\" desk\nwith drawers");
+        assertThat(reader.getRecordLine()).isEqualTo(4);
+        assertThat(reader.next()).containsExactly("Lamp", "");
+        assertThat(reader.getRecordLine()).isEqualTo(6);
+        assertThat(reader.next()).isNull();
+    }
+
+    @Test
+    void unterminatedQuote_ShouldFail() {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("name\n\"Laptop\n"));
+
+        assertThatThrownBy(() -> {
+            List<String> header = reader.next();
+            assertThat(header).containsExactly("name");
+            reader.next();
+        }).isInstanceOf(IOException.class).hasMessageContaining("line 2");
+    }
+}
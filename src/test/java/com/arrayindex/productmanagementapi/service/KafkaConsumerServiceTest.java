@@ -0,0 +1,52 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.ProductChangeEvent;
+import com.arrayindex.productmanagementapi.model.Product;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class KafkaConsumerServiceTest {
+
+    @Mock
+    private ProductService productService;
+
+    @Mock
+    private ProductChangeFeed productChangeFeed;
+
+    @Mock
+    private SkuBloomFilter skuBloomFilter;
+
+    @InjectMocks
+    private KafkaConsumerService kafkaConsumerService;
+
+    @Test
+    void productChange_ShouldAddSkuToTheLocalFilter() {
+        Product product = new Product();
+        product.setId(7L);
+        product.setSku("SKU-REMOTE");
+        product.setCategory("Books");
+        ConsumerRecord<String, Product> record = new ConsumerRecord<>("products", 0, 42L, "7", product);
+        record.headers().add(KafkaProducerService.CHANGE_TYPE_HEADER,
+                ProductChangeEvent.Type.CREATED.name().getBytes(StandardCharsets.UTF_8));
+
+        kafkaConsumerService.consumeProductChange(record);
+
+        // Created through another node: a later create with the same SKU here must not be answered "definitely new"
+        verify(skuBloomFilter).add("SKU-REMOTE");
+        ArgumentCaptor<ProductChangeEvent> event = ArgumentCaptor.forClass(ProductChangeEvent.class);
+        verify(productChangeFeed).publish(event.capture());
+        assertThat(event.getValue().getType()).isEqualTo(ProductChangeEvent.Type.CREATED);
+        assertThat(event.getValue().getProductId()).isEqualTo(7L);
+    }
+}
@@ -0,0 +1,162 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.PriceChangeEvent;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceHistoryWriteBehindTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void submit_ShouldInsertQueuedChangesInBatches() {
+        PriceHistoryWriteBehind writeBehind = writeBehind(3);
+        writeBehind.start();
+
+        for (long id = 1; id <= 7; id++) {
+            writeBehind.submit(event(id));
+        }
+        writeBehind.stop();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<PriceChangeEvent>> batches = ArgumentCaptor.forClass(Collection.class);
+        verify(jdbcTemplate, atLeast(3)).batchUpdate(anyString(), batches.capture(), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(batches.getAllValues()).allSatisfy(batch -> assertThat(batch).hasSizeLessThanOrEqualTo(3));
+        assertThat(batches.getAllValues().stream().mapToInt(Collection::size).sum()).isEqualTo(7);
+    }
+
+    @Test
+    void submit_WhenWriterNotRunning_ShouldInsertSynchronouslyInNewTransaction() {
+        PriceHistoryWriteBehind writeBehind = writeBehind(10);
+
+        writeBehind.submit(event(1L));
+
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(definition.capture());
+        assertThat(definition.getValue().getPropagationBehavior()).isEqualTo(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        verify(jdbcTemplate).batchUpdate(anyString(), eq(List.of(event(1L))), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void submit_WhenSynchronousInsertFails_ShouldSpillInsteadOfThrowing() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"));
+        PriceHistoryWriteBehind writeBehind = writeBehind(10);
+
+        writeBehind.submit(event(1L));
+
+        verify(transactionManager).rollback(any());
+        assertThat(Files.readAllLines(tempDir.resolve("spill.ndjson"))).hasSize(1);
+    }
+
+    @Test
+    void writeBatch_WhenInsertFails_ShouldSpillAndReplayOnNextStart() throws Exception {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataAccessResourceFailureException("database down"))
+                .thenReturn(new int[][] {{1, 1}});
+        PriceHistoryWriteBehind writeBehind = writeBehind(10);
+
+        writeBehind.writeBatch(List.of(event(1L), event(2L)));
+
+        Path spillFile = tempDir.resolve("spill.ndjson");
+        assertThat(Files.readAllLines(spillFile)).hasSize(2);
+
+        writeBehind.start();
+        writeBehind.stop();
+
+        assertThat(spillFile).doesNotExist();
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), eq(List.of(event(1L), event(2L))), anyInt(), any(ParameterizedPreparedStatementSetter.class));
+    }
+
+    @Test
+    void writeBatch_WhenOneRowIsRejected_ShouldRetryRowsAndDeadLetterOnlyThatRow() throws Exception {
+        // Product 2 was deleted before the flush: its row violates the foreign key, alone or in a batch
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Collection<PriceChangeEvent> rows = invocation.getArgument(1);
+                    if (rows.contains(event(2L))) {
+                        throw new DataIntegrityViolationException("FK_PRICE_HISTORY_PRODUCT");
+                    }
+                    return new int[][] {{1}};
+                });
+        PriceHistoryWriteBehind writeBehind = writeBehind(10);
+
+        writeBehind.writeBatch(List.of(event(1L), event(2L), event(3L)));
+
+        // One transaction for the batch, then one per row
+        verify(transactionManager, times(4)).getTransaction(any());
+        verify(transactionManager, times(2)).rollback(any());
+        verify(jdbcTemplate).batchUpdate(anyString(), eq(List.of(event(1L))), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        verify(jdbcTemplate).batchUpdate(anyString(), eq(List.of(event(3L))), eq(1), any(ParameterizedPreparedStatementSetter.class));
+        assertThat(tempDir.resolve("spill.ndjson")).doesNotExist();
+        assertThat(Files.readAllLines(tempDir.resolve("dead-letter.ndjson")))
+                .containsExactly(objectMapper.writeValueAsString(event(2L)));
+    }
+
+    @Test
+    void replay_ShouldNotSpillRejectedRowsAgain() throws Exception {
+        Files.write(tempDir.resolve("spill.ndjson"), List.of(
+                objectMapper.writeValueAsString(event(1L)), objectMapper.writeValueAsString(event(2L))));
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Collection<PriceChangeEvent> rows = invocation.getArgument(1);
+                    if (rows.contains(event(2L))) {
+                        throw new DataIntegrityViolationException("FK_PRICE_HISTORY_PRODUCT");
+                    }
+                    return new int[][] {{1}};
+                });
+        PriceHistoryWriteBehind writeBehind = writeBehind(10);
+
+        writeBehind.start();
+        writeBehind.stop();
+
+        assertThat(tempDir.resolve("spill.ndjson")).doesNotExist();
+        assertThat(Files.readAllLines(tempDir.resolve("dead-letter.ndjson"))).hasSize(1);
+    }
+
+    private PriceHistoryWriteBehind writeBehind(int batchSize) {
+        return new PriceHistoryWriteBehind(jdbcTemplate, transactionManager, objectMapper, new SimpleMeterRegistry(),
+                true, 100, batchSize, 20, 10, tempDir.resolve("spill.ndjson").toString(),
+                tempDir.resolve("dead-letter.ndjson").toString());
+    }
+
+    private PriceChangeEvent event(Long productId) {
+        return new PriceChangeEvent(productId, 10.0, 12.5, "Product update", LocalDateTime.of(2024, 1, 1, 12, 0));
+    }
+}
@@ -0,0 +1,159 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.PriceHistoryEntryDTO;
+import com.arrayindex.productmanagementapi.dto.PriceHistoryPage;
+import com.arrayindex.productmanagementapi.dto.PriceOhlcDTO;
+import com.arrayindex.productmanagementapi.dto.PricePointDTO;
+import com.arrayindex.productmanagementapi.model.PriceHistoryRollup;
+import com.arrayindex.productmanagementapi.repository.PriceHistoryRepository;
+import com.arrayindex.productmanagementapi.repository.PriceHistoryRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PriceSeriesServiceTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Mock
+    private PriceHistoryRepository priceHistoryRepository;
+
+    @Mock
+    private PriceHistoryRollupRepository rollupRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final List<Runnable> compactionRuns = new ArrayList<>();
+
+    private PriceSeriesService priceSeriesService;
+
+    @BeforeEach
+    void setUp() {
+        priceSeriesService = new PriceSeriesService(priceHistoryRepository, rollupRepository, transactionTemplate,
+                compactionRuns::add, true, Duration.ofDays(30), Duration.ofHours(1), 100, 2, 50);
+    }
+
+    @Test
+    void getOhlc_ShouldCombineRollupsAndRawPointsPerBucket() {
+        LocalDateTime from = DAY;
+        LocalDateTime to = DAY.plusDays(1);
+        when(rollupRepository.findByProductIdAndBucketStartGreaterThanEqualAndBucketStartLessThanOrderByBucketStart(1L, from, to))
+                .thenReturn(List.of(new PriceHistoryRollup(1L, 1L, DAY.plusHours(1), 3600, 10, 14, 9, 12, 70, 6)));
+        when(priceHistoryRepository.findPricePoints(1L, from, to)).thenReturn(List.of(
+                new PricePointDTO(DAY.plusHours(2).plusMinutes(10), 13),
+                new PricePointDTO(DAY.plusHours(7), 20),
+                new PricePointDTO(DAY.plusHours(7).plusMinutes(30), 18)));
+
+        List<PriceOhlcDTO> ohlc = priceSeriesService.getOhlc(1L, from, to, Duration.ofHours(6));
+
+        assertThat(ohlc).hasSize(2);
+        assertThat(ohlc.get(0)).isEqualTo(new PriceOhlcDTO(DAY, 10, 14, 9, 13, 83.0 / 7, 7));
+        assertThat(ohlc.get(1)).isEqualTo(new PriceOhlcDTO(DAY.plusHours(6), 20, 20, 18, 18, 19, 2));
+    }
+
+    @Test
+    void getOhlc_WithTooManyBuckets_ShouldThrowException() {
+        assertThatThrownBy(() -> priceSeriesService.getOhlc(1L, DAY, DAY.plusDays(30), Duration.ofMinutes(1)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Requested range would produce more than 100 buckets");
+    }
+
+    @Test
+    void getPricePoints_WithInvertedRange_ShouldThrowException() {
+        assertThatThrownBy(() -> priceSeriesService.getPricePoints(1L, DAY, DAY.minusDays(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getPriceHistoryPage_ShouldReturnCursorThatResumesAfterLastRow() {
+        LocalDateTime until = DAY.plusDays(1);
+        PriceHistoryEntryDTO newest = entry(9L, DAY.plusHours(5));
+        PriceHistoryEntryDTO middle = entry(7L, DAY.plusHours(3));
+        PriceHistoryEntryDTO oldest = entry(4L, DAY.plusHours(3));
+        when(priceHistoryRepository.findHistoryPage(1L, DAY, until, until, Long.MAX_VALUE, PageRequest.of(0, 3)))
+                .thenReturn(List.of(newest, middle, oldest));
+
+        PriceHistoryPage first = priceSeriesService.getPriceHistoryPage(1L, DAY, until, null, null);
+
+        assertThat(first.getItems()).containsExactly(newest, middle);
+        assertThat(first.getNextCursor()).isNotNull();
+
+        when(priceHistoryRepository.findHistoryPage(1L, DAY, until, DAY.plusHours(3), 7L, PageRequest.of(0, 3)))
+                .thenReturn(List.of(oldest));
+
+        PriceHistoryPage second = priceSeriesService.getPriceHistoryPage(1L, DAY, until, null, first.getNextCursor());
+
+        assertThat(second.getItems()).containsExactly(oldest);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getPriceHistoryPage_WithInvalidLimitOrCursor_ShouldThrowException() {
+        assertThatThrownBy(() -> priceSeriesService.getPriceHistoryPage(1L, null, null, 51, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Limit must be between 1 and 50");
+        assertThatThrownBy(() -> priceSeriesService.getPriceHistoryPage(1L, null, null, 10, "not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid price history cursor");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void compact_ShouldReplaceOldRawRowsWithHourlyRollups() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.getArgument(0, TransactionCallback.class).doInTransaction(null));
+        when(priceHistoryRepository.findProductIdsWithChangesBefore(any())).thenReturn(List.of(5L));
+        when(priceHistoryRepository.findPricePoints(eq(5L), any(), any())).thenReturn(List.of(
+                new PricePointDTO(DAY.plusMinutes(5), 10),
+                new PricePointDTO(DAY.plusMinutes(50), 8),
+                new PricePointDTO(DAY.plusHours(1).plusMinutes(1), 11)));
+        when(rollupRepository.findByProductIdAndBucketStart(eq(5L), any())).thenReturn(Optional.empty());
+        when(priceHistoryRepository.deleteByProductIdAndChangedAtBefore(eq(5L), any())).thenReturn(3);
+
+        priceSeriesService.compact();
+
+        ArgumentCaptor<PriceHistoryRollup> rollups = ArgumentCaptor.forClass(PriceHistoryRollup.class);
+        verify(rollupRepository, times(2)).save(rollups.capture());
+        assertThat(rollups.getAllValues().get(0))
+                .isEqualTo(new PriceHistoryRollup(null, 5L, DAY, 3600, 10, 10, 8, 8, 18, 2));
+        assertThat(rollups.getAllValues().get(1))
+                .isEqualTo(new PriceHistoryRollup(null, 5L, DAY.plusHours(1), 3600, 11, 11, 11, 11, 11, 1));
+        verify(priceHistoryRepository).deleteByProductIdAndChangedAtBefore(eq(5L), any());
+    }
+
+    @Test
+    void scheduleCompaction_ShouldHandTheRunToTheCompactionExecutor() {
+        priceSeriesService.scheduleCompaction();
+
+        // Nothing runs on the scheduler thread
+        verifyNoInteractions(priceHistoryRepository);
+        assertThat(compactionRuns).hasSize(1);
+
+        compactionRuns.get(0).run();
+        verify(priceHistoryRepository).findProductIdsWithChangesBefore(any());
+    }
+
+    private static PriceHistoryEntryDTO entry(Long id, LocalDateTime changedAt) {
+        return new PriceHistoryEntryDTO(id, 10.0, 12.0, "Price update", changedAt, null);
+    }
+}
@@ -0,0 +1,166 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.ProductChangeEvent;
+import com.arrayindex.productmanagementapi.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductChangeFeedTest {
+
+    private final Queue<Runnable> senderTasks = new ArrayDeque<>();
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private ProductChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new ProductChangeFeed(senderTasks::add, new SimpleMeterRegistry(), 5, 3, 0L) {
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @Test
+    void publish_ShouldDeliverOnlyMatchingEvents() {
+        RecordingEmitter electronics = subscribe("Electronics", null, null);
+        RecordingEmitter byId = subscribe(null, Set.of(2L), null);
+
+        feed.publish(event(10, ProductChangeEvent.Type.CREATED, 1L, "Electronics"));
+        feed.publish(event(11, ProductChangeEvent.Type.UPDATED, 2L, "Books"));
+        feed.publish(event(12, ProductChangeEvent.Type.DELETED, 3L, "Electronics"));
+        runSender();
+
+        assertThat(electronics.sent).containsExactly("10:created", "12:deleted");
+        assertThat(byId.sent).containsExactly("11:updated");
+    }
+
+    @Test
+    void publish_ShouldConflateAndDropForSlowSubscriber() {
+        RecordingEmitter slow = subscribe(null, null, null);
+
+        // Nothing is sent until the sender runs: product 1 changes twice, then four other products overflow the buffer of 3
+        feed.publish(event(1, ProductChangeEvent.Type.UPDATED, 1L, "Books"));
+        feed.publish(event(2, ProductChangeEvent.Type.STOCK_CHANGED, 1L, "Books"));
+        feed.publish(event(3, ProductChangeEvent.Type.UPDATED, 2L, "Books"));
+        feed.publish(event(4, ProductChangeEvent.Type.UPDATED, 3L, "Books"));
+        feed.publish(event(5, ProductChangeEvent.Type.UPDATED, 4L, "Books"));
+        assertThat(senderTasks).hasSize(1);
+        runSender();
+
+        assertThat(slow.sent).containsExactly("overflow", "3:updated", "4:updated", "5:updated");
+    }
+
+    @Test
+    void subscribe_ShouldResumeAfterLastEventIdOrReset() {
+        for (long offset = 1; offset <= 7; offset++) {
+            feed.publish(event(offset, ProductChangeEvent.Type.UPDATED, offset, "Books"));
+        }
+
+        // History keeps offsets 3..7
+        RecordingEmitter resumed = subscribe(null, null, "5");
+        RecordingEmitter tooOld = subscribe(null, null, "1");
+        runSender();
+
+        assertThat(resumed.sent).containsExactly("6:updated", "7:updated");
+        assertThat(tooOld.sent).containsExactly("reset");
+        assertThatThrownBy(() -> feed.subscribe(null, null, "abc")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void publish_ShouldRemoveSubscriberThatFailsToReceive() {
+        RecordingEmitter gone = subscribe(null, null, null);
+        gone.failing = true;
+
+        feed.publish(event(1, ProductChangeEvent.Type.CREATED, 1L, "Books"));
+        runSender();
+
+        assertThat(feed.getSubscriberCount()).isZero();
+    }
+
+    @Test
+    void heartbeat_ShouldQueueKeepaliveBehindPendingEvents() {
+        RecordingEmitter idle = subscribe("Electronics", null, null);
+        RecordingEmitter busy = subscribe("Books", null, null);
+        RecordingEmitter gone = subscribe("Toys", null, null);
+        gone.failing = true;
+        feed.publish(event(1, ProductChangeEvent.Type.UPDATED, 1L, "Books"));
+
+        feed.heartbeat();
+        feed.heartbeat();
+
+        // Nothing is written on the scheduler thread; one drain per subscriber, the busy one already had its drain
+        assertThat(idle.sent).isEmpty();
+        assertThat(senderTasks).hasSize(3);
+        runSender();
+
+        assertThat(idle.sent).containsExactly(":keepalive");
+        assertThat(busy.sent).containsExactly("1:updated", ":keepalive");
+        assertThat(feed.getSubscriberCount()).isEqualTo(2);
+    }
+
+    private RecordingEmitter subscribe(String category, Set<Long> ids, String lastEventId) {
+        feed.subscribe(category, ids, lastEventId);
+        return emitters.get(emitters.size() - 1);
+    }
+
+    private void runSender() {
+        Runnable task;
+        while ((task = senderTasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static ProductChangeEvent event(long offset, ProductChangeEvent.Type type, Long productId, String category) {
+        Product product = new Product();
+        product.setId(productId);
+        product.setCategory(category);
+        return new ProductChangeEvent(offset, type, productId, category, product);
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<String> sent = new ArrayList<>();
+        private boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            String text = builder.build().stream()
+                    .map(part -> String.valueOf(part.getData()))
+                    .collect(Collectors.joining());
+            String id = field(text, "id:");
+            String name = field(text, "event:");
+            if (id != null) {
+                sent.add(id + ":" + name);
+            } else {
+                sent.add(name != null ? name : ":" + field(text, ":"));
+            }
+        }
+
+        private static String field(String text, String prefix) {
+            return text.lines()
+                    .filter(line -> line.startsWith(prefix))
+                    .map(line -> line.substring(prefix.length()))
+                    .findFirst()
+                    .orElse(null);
+        }
+    }
+}
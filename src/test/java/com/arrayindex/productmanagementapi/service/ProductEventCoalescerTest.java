@@ -0,0 +1,185 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.ProductChangeEvent;
+import com.arrayindex.productmanagementapi.model.Product;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProductEventCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    private final BiConsumer<Product, ProductChangeEvent.Type> publisher =
+            (product, type) -> events.add(product.getId() + ":" + type + ":" + product.getStockQuantity());
+
+    private ProductEventCoalescer coalescer;
+
+    @AfterEach
+    void tearDown() {
+        coalescer.stop();
+    }
+
+    @Test
+    void burstOfStockChanges_ShouldBePublishedOnceWithFinalState() throws InterruptedException {
+        start(200, 1000, 100);
+
+        for (int stock = 1; stock <= 10; stock++) {
+            assertThat(coalescer.submit(product(1L, stock), ProductChangeEvent.Type.STOCK_CHANGED, publisher)).isTrue();
+        }
+        coalescer.submit(product(2L, 7), ProductChangeEvent.Type.STOCK_CHANGED, publisher);
+        assertThat(events).isEmpty();
+
+        awaitEvents(2);
+        assertThat(events).containsExactlyInAnyOrder("1:STOCK_CHANGED:10", "2:STOCK_CHANGED:7");
+        assertThat(meterRegistry.get("product.events.coalescing.received").counter().count()).isEqualTo(11);
+        assertThat(meterRegistry.get("product.events.coalescing.published").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("product.events.coalescing.changes").summary().max()).isEqualTo(10);
+    }
+
+    @Test
+    void stockChangeMergedWithUpdate_ShouldBePublishedAsUpdate() throws InterruptedException {
+        start(50, 250, 100);
+
+        coalescer.submit(product(1L, 1), ProductChangeEvent.Type.STOCK_CHANGED, publisher);
+        coalescer.submit(product(1L, 2), ProductChangeEvent.Type.UPDATED, publisher);
+        coalescer.submit(product(1L, 3), ProductChangeEvent.Type.STOCK_CHANGED, publisher);
+
+        awaitEvents(1);
+        assertThat(events).containsExactly("1:UPDATED:3");
+    }
+
+    @Test
+    void delete_ShouldPublishPendingChangeFirst() {
+        start(10_000, 10_000, 100);
+
+        coalescer.submit(product(1L, 5), ProductChangeEvent.Type.STOCK_CHANGED, publisher);
+        coalescer.submit(product(1L, 5), ProductChangeEvent.Type.DELETED, publisher);
+
+        assertThat(events).containsExactly("1:STOCK_CHANGED:5", "1:DELETED:5");
+    }
+
+    @Test
+    void blockedSend_ShouldNotHoldUpOtherProducts() throws InterruptedException {
+        start(10_000, 10_000, 100);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BiConsumer<Product, ProductChangeEvent.Type> blocking = (product, type) -> {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            publisher.accept(product, type);
+        };
+
+        Thread blocked = new Thread(() -> coalescer.submit(product(1L, 1), ProductChangeEvent.Type.DELETED, blocking));
+        blocked.start();
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 17 lands in the same map bin as 1
+        Thread other = new Thread(() -> coalescer.submit(product(17L, 1), ProductChangeEvent.Type.DELETED, publisher));
+        other.start();
+        other.join(5000);
+        assertThat(events).containsExactly("17:DELETED:1");
+
+        release.countDown();
+        blocked.join(5000);
+        assertThat(events).containsExactly("17:DELETED:1", "1:DELETED:1");
+    }
+
+    @Test
+    void deleteDuringFlush_ShouldWaitForTheFlushedChange() throws InterruptedException {
+        start(20, 20, 100);
+        CountDownLatch sending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BiConsumer<Product, ProductChangeEvent.Type> blocking = (product, type) -> {
+            sending.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            publisher.accept(product, type);
+        };
+
+        coalescer.submit(product(1L, 4), ProductChangeEvent.Type.STOCK_CHANGED, blocking);
+        assertThat(sending.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread delete = new Thread(() -> coalescer.submit(product(1L, 4), ProductChangeEvent.Type.DELETED, publisher));
+        delete.start();
+        delete.join(200);
+        assertThat(events).isEmpty();
+
+        release.countDown();
+        delete.join(5000);
+        assertThat(events).containsExactly("1:STOCK_CHANGED:4", "1:DELETED:4");
+    }
+
+    @Test
+    void continuousChanges_ShouldStillBePublishedWithinMaxDelay() throws InterruptedException {
+        start(100, 200, 100);
+
+        long end = System.currentTimeMillis() + 1000;
+        int stock = 0;
+        while (System.currentTimeMillis() < end) {
+            coalescer.submit(product(1L, ++stock), ProductChangeEvent.Type.STOCK_CHANGED, publisher);
+            Thread.sleep(20);
+        }
+
+        // Without the cap every change would extend the window and nothing would be published until the burst ends
+        assertThat(events).hasSizeGreaterThanOrEqualTo(3);
+    }
+
+    @Test
+    void fullCoalescer_ShouldLeaveNewProductsToTheCaller() {
+        start(10_000, 10_000, 2);
+
+        assertThat(coalescer.submit(product(1L, 1), ProductChangeEvent.Type.UPDATED, publisher)).isTrue();
+        assertThat(coalescer.submit(product(2L, 1), ProductChangeEvent.Type.UPDATED, publisher)).isTrue();
+        assertThat(coalescer.submit(product(3L, 1), ProductChangeEvent.Type.UPDATED, publisher)).isFalse();
+        // Products already pending are still merged
+        assertThat(coalescer.submit(product(1L, 2), ProductChangeEvent.Type.UPDATED, publisher)).isTrue();
+        assertThat(meterRegistry.get("product.events.coalescing.bypassed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void stop_ShouldFlushPendingChanges() {
+        start(10_000, 10_000, 100);
+        coalescer.submit(product(1L, 3), ProductChangeEvent.Type.UPDATED, publisher);
+
+        coalescer.stop();
+
+        assertThat(events).containsExactly("1:UPDATED:3");
+        assertThat(coalescer.submit(product(1L, 4), ProductChangeEvent.Type.UPDATED, publisher)).isFalse();
+    }
+
+    private void start(long windowMs, long maxDelayMs, int maxPending) {
+        coalescer = new ProductEventCoalescer(meterRegistry, true, windowMs, maxDelayMs, maxPending);
+        coalescer.start();
+    }
+
+    private void awaitEvents(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (events.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Product product(long id, int stock) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setStockQuantity(stock);
+        return product;
+    }
+}
@@ -0,0 +1,149 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.ProductChangeEvent;
+import com.arrayindex.productmanagementapi.model.Product;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductEventSpillQueueTest {
+
+    @Mock
+    private KafkaTemplate<String, Product> kafkaTemplate;
+
+    @TempDir
+    Path tempDir;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductEventSpillQueue spillQueue;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        spillQueue = new ProductEventSpillQueue(kafkaTemplate, new ObjectMapper().findAndRegisterModules(), meterRegistry,
+                true, tempDir.toString(), 4096, false, 0.8, 1000, 10, 50);
+    }
+
+    @AfterEach
+    void tearDown() {
+        spillQueue.stop();
+    }
+
+    @Test
+    void spilledEvents_ShouldBeReplayedInOrderOnceKafkaRecovers() throws Exception {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        spillQueue.start();
+
+        for (long id = 1; id <= 3; id++) {
+            assertThat(spillQueue.spill(product(id), ProductChangeEvent.Type.UPDATED)).isTrue();
+        }
+        assertThat(spillQueue.isBackedUp()).isTrue();
+
+        awaitDrained();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, Product>> records = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(5)).send(records.capture());
+        List<String> keys = records.getAllValues().stream().map(ProducerRecord::key).toList();
+        // The first event is retried until the broker accepts it, the rest follow in order
+        assertThat(keys).containsExactly("1", "1", "1", "2", "3");
+        assertThat(spillQueue.isBackedUp()).isFalse();
+        assertThat(meterRegistry.get("product.events.spill.replayed").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void eventRejectedByKafka_ShouldBeDroppedWithoutBlockingTheQueue() throws Exception {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new RecordTooLargeException("too large")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        spillQueue.start();
+
+        spillQueue.spill(product(1L), ProductChangeEvent.Type.CREATED);
+        spillQueue.spill(product(2L), ProductChangeEvent.Type.CREATED);
+        awaitDrained();
+
+        assertThat(meterRegistry.get("product.events.spill.dropped").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("product.events.spill.replayed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void pendingEvents_ShouldSurviveRestart() throws Exception {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")));
+        spillQueue.start();
+        spillQueue.spill(product(1L), ProductChangeEvent.Type.DELETED);
+        spillQueue.stop();
+
+        reset(kafkaTemplate);
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        spillQueue.start();
+        assertThat(spillQueue.getPending()).isEqualTo(1);
+        awaitDrained();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, Product>> record = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(record.capture());
+        assertThat(new String(record.getValue().headers().lastHeader(KafkaProducerService.CHANGE_TYPE_HEADER).value()))
+                .isEqualTo("DELETED");
+    }
+
+    @Test
+    void sendProduct_ShouldSpillWhenBrokerIsUnavailable() throws Exception {
+        when(kafkaTemplate.send(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("metadata not available")));
+        spillQueue.start();
+        KafkaProducerService producerService = new KafkaProducerService(kafkaTemplate, spillQueue,
+                new ProductEventCoalescer(meterRegistry, false, 50, 250, 10000));
+        ReflectionTestUtils.setField(producerService, "kafkaEnabled", true);
+
+        producerService.sendProduct(product(1L), ProductChangeEvent.Type.UPDATED);
+        // Backed up now: the next event goes straight to disk, behind the first one
+        producerService.sendProduct(product(2L), ProductChangeEvent.Type.UPDATED);
+
+        assertThat(meterRegistry.get("product.events.spill.spilled").counter().count()).isEqualTo(2);
+        assertThat(spillQueue.isBackedUp()).isTrue();
+    }
+
+    private void awaitDrained() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (spillQueue.getPending() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(spillQueue.getPending()).isZero();
+    }
+
+    private static Product product(long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setCategory("Electronics");
+        product.setPrice(9.99);
+        return product;
+    }
+}
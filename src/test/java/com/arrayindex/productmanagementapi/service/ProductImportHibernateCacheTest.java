@@ -0,0 +1,91 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.ProductManagementApplication;
+import com.arrayindex.productmanagementapi.config.EmbeddedKafkaConfig;
+import com.arrayindex.productmanagementapi.dto.ImportJobStatus;
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.PriceHistoryRepository;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk imports insert with plain JDBC, behind Hibernate's back; the cached query results must still see them.
+ */
+@SpringBootTest(classes = ProductManagementApplication.class)
+@ActiveProfiles("test")
+@Import(EmbeddedKafkaConfig.class)
+@EmbeddedKafka(partitions = 1, topics = {"products"})
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "product.cache.warmup.enabled=false",
+        "product.cache.mode=hibernate",
+        "product.import.publish-events=false"
+})
+class ProductImportHibernateCacheTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductImportService productImportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PriceHistoryRepository priceHistoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        priceHistoryRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void import_ShouldInvalidateCachedQueryResults() throws Exception {
+        Product existing = new Product();
+        existing.setName("Existing");
+        existing.setPrice(10.0);
+        existing.setCategory("Books");
+        existing.setStockQuantity(1);
+        productRepository.save(existing);
+
+        assertThat(productService.getProductsByCategory("Books")).hasSize(1);
+        assertThat(productService.getActiveProducts()).hasSize(1);
+        assertThat(productService.getLowStockProducts(5)).hasSize(1);
+
+        String csv = "name,price,category,stock_quantity\n"
+                + "Imported one,12.50,Books,2\n"
+                + "Imported two,14.00,Books,3\n";
+        ImportJobStatus status = productImportService.submit(
+                new MockMultipartFile("file", "products.csv", "text/csv", csv.getBytes(StandardCharsets.UTF_8)), null);
+        assertThat(awaitFinished(status.getJobId()).getImported()).isEqualTo(2);
+
+        assertThat(productService.getProductsByCategory("Books")).hasSize(3);
+        assertThat(productService.getActiveProducts()).hasSize(3);
+        assertThat(productService.getLowStockProducts(5)).hasSize(3);
+    }
+
+    private ImportJobStatus awaitFinished(String jobId) throws InterruptedException {
+        for (int attempt = 0; attempt < 200; attempt++) {
+            ImportJobStatus status = productImportService.getStatus(jobId);
+            if (status.getState() == ImportJobStatus.State.COMPLETED || status.getState() == ImportJobStatus.State.FAILED) {
+                return status;
+            }
+            Thread.sleep(50);
+        }
+        throw new AssertionError("Import job " + jobId + " did not finish");
+    }
+}
@@ -0,0 +1,179 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.dto.ImportJobStatus;
+import com.arrayindex.productmanagementapi.dto.ImportRowError;
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ProductImportServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductService productService = mock(ProductService.class);
+    private final SkuBloomFilter skuBloomFilter = mock(SkuBloomFilter.class);
+
+    private JdbcTemplate jdbcTemplate;
+    private ThreadPoolTaskExecutor workers;
+    private ProductImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:import-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE products (id BIGINT AUTO_INCREMENT PRIMARY KEY, name VARCHAR(255) NOT NULL, "
+                + "description VARCHAR(500), price DOUBLE NOT NULL, category VARCHAR(50), stock_quantity INT, "
+                + "sku VARCHAR(50) UNIQUE, created_at TIMESTAMP, updated_at TIMESTAMP, is_active BOOLEAN)");
+        jdbcTemplate.update("INSERT INTO products (name, price, sku) VALUES ('Existing', 1.0, 'SKU-EXISTS1')");
+        when(skuBloomFilter.mightContain(anyString())).thenReturn(true);
+        when(productRepository.findExistingSkus(any())).thenAnswer(invocation -> {
+            List<String> existing = new ArrayList<>();
+            for (String sku : invocation.<java.util.Collection<String>>getArgument(0)) {
+                if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE sku = ?", Integer.class, sku) > 0) {
+                    existing.add(sku);
+                }
+            }
+            return existing;
+        });
+
+        workers = new ThreadPoolTaskExecutor();
+        workers.setCorePoolSize(2);
+        workers.setMaxPoolSize(2);
+        workers.initialize();
+        // Jobs run on the calling thread so the test sees the finished job
+        importService = new ProductImportService(productRepository, productService, jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), new ObjectMapper().findAndRegisterModules(),
+                Validation.buildDefaultValidatorFactory().getValidator(), skuBloomFilter, Runnable::run, workers,
+                new SimpleMeterRegistry(), directory.toString(), 2, 2, 100, true, 60000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        workers.shutdown();
+    }
+
+    @Test
+    void csvImport_ShouldInsertValidRowsAndReportRejectedLines() throws IOException {
+        String csv = "name,description,price,category,stock_quantity,sku,is_active\n"
+                + "Laptop,\"Fast, light\",999.99,Electronics,5,SKU-LAPTOP1,true\n"
+                + "X,,10.00,Electronics,1,,\n"
+                + "Phone,,abc,Electronics,1,,\n"
+                + "Desk,,150.00,Furniture,2,SKU-EXISTS1,\n"
+                + "Chair,,50.00,Furniture,0,,false\n";
+
+        ImportJobStatus status = importService.submit(upload("products.csv", csv), null);
+        ImportJobStatus finished = importService.getStatus(status.getJobId());
+
+        assertThat(finished.getState()).isEqualTo(ImportJobStatus.State.COMPLETED);
+        assertThat(finished.getRowsRead()).isEqualTo(5);
+        assertThat(finished.getImported()).isEqualTo(2);
+        assertThat(finished.getFailed()).isEqualTo(3);
+        assertThat(finished.getErrors()).extracting(ImportRowError::getLine).containsExactly(3L, 4L, 5L);
+        assertThat(finished.getErrors().get(0).getMessage()).contains("name");
+        assertThat(finished.getErrors().get(2).getMessage()).contains("SKU-EXISTS1");
+        assertThat(jdbcTemplate.queryForObject("SELECT description FROM products WHERE sku = 'SKU-LAPTOP1'", String.class))
+                .isEqualTo("Fast, light");
+        assertThat(jdbcTemplate.queryForObject("SELECT is_active FROM products WHERE name = 'Chair'", Boolean.class)).isFalse();
+        assertThat(jdbcTemplate.queryForObject("SELECT sku FROM products WHERE name = 'Chair'", String.class))
+                .matches("^SKU-[A-Z0-9]{6,}$");
+        assertThat(Files.list(directory)).isEmpty();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ndjsonImport_ShouldRegisterInsertedProductsWithTheirIds() throws IOException {
+        String ndjson = "{\"name\":\"Laptop\",\"price\":999.99,\"category\":\"Electronics\",\"stockQuantity\":5}\n"
+                + "\n"
+                + "{\"name\":\"Phone\",\"price\":599.0,\"category\":\"Electronics\",\"stockQuantity\":3}\n"
+                + "{not json}\n";
+
+        ImportJobStatus status = importService.submit(upload("products.ndjson", ndjson), null);
+        ImportJobStatus finished = importService.getStatus(status.getJobId());
+
+        assertThat(finished.getImported()).isEqualTo(2);
+        assertThat(finished.getErrors()).extracting(ImportRowError::getLine).containsExactly(4L);
+        ArgumentCaptor<List<Product>> registered = ArgumentCaptor.forClass(List.class);
+        verify(productService, atLeastOnce()).registerImported(registered.capture(), anyBoolean());
+        assertThat(registered.getAllValues().stream().flatMap(List::stream))
+                .extracting(Product::getName).containsExactlyInAnyOrder("Laptop", "Phone");
+        assertThat(registered.getAllValues().stream().flatMap(List::stream))
+                .allSatisfy(product -> assertThat(product.getId()).isNotNull());
+    }
+
+    @Test
+    void skuRepeatedAcrossChunks_ShouldRejectOnlyTheRepeatedRow() throws IOException {
+        // Batch size 2: the repeat lands in the next chunk, where the unique constraint fails the batch
+        String csv = "name,price,category,stockQuantity,sku\n"
+                + "Laptop,10.00,Electronics,1,SKU-SAME01\n"
+                + "Phone,10.00,Electronics,1,SKU-OTHER1\n"
+                + "Tablet,10.00,Electronics,1,SKU-TABLET\n"
+                + "Laptop again,10.00,Electronics,1,SKU-SAME01\n";
+        when(skuBloomFilter.mightContain(anyString())).thenReturn(false);
+
+        ImportJobStatus status = importService.submit(upload("products.csv", csv), "csv");
+        ImportJobStatus finished = importService.getStatus(status.getJobId());
+
+        assertThat(finished.getImported()).isEqualTo(3);
+        // The chunks run on two workers, so either copy may be the one committed first
+        assertThat(finished.getErrors()).extracting(ImportRowError::getLine).hasSize(1).containsAnyOf(2L, 5L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM products WHERE sku = 'SKU-SAME01'", Integer.class))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForList("SELECT name FROM products WHERE sku LIKE 'SKU-T%'", String.class))
+                .containsExactly("Tablet");
+    }
+
+    @Test
+    void csvWithoutProductColumns_ShouldFailJob() throws IOException {
+        ImportJobStatus status = importService.submit(upload("products.csv", "foo,bar\n1,2\n"), null);
+
+        ImportJobStatus finished = importService.getStatus(status.getJobId());
+        assertThat(finished.getState()).isEqualTo(ImportJobStatus.State.FAILED);
+        assertThat(finished.getMessage()).contains("header");
+    }
+
+    @Test
+    void unknownFormat_ShouldBeRejected() {
+        assertThatThrownBy(() -> importService.submit(upload("products.xlsx", "x"), null))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(ProductImportService.resolveFormat(null, "supplier", "application/x-ndjson"))
+                .isEqualTo(ProductImportService.Format.NDJSON);
+        assertThat(Set.of(ProductImportService.Format.values())).hasSize(2);
+    }
+
+    private static MockMultipartFile upload(String name, String content) {
+        return new MockMultipartFile("file", name, null, content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,56 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.ProductManagementApplication;
+import com.arrayindex.productmanagementapi.config.EmbeddedKafkaConfig;
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Writes must evict this node's cached reads even when the cluster-wide invalidation bus is off.
+ */
+@SpringBootTest(classes = ProductManagementApplication.class)
+@ActiveProfiles("test")
+@Import(EmbeddedKafkaConfig.class)
+@EmbeddedKafka(partitions = 1, topics = {"products"})
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=false",
+        "product.cache.warmup.enabled=false",
+        "product.cache.invalidation.enabled=false"
+})
+class ProductServiceCacheInvalidationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Test
+    void updateStock_ShouldEvictCachedProductWithInvalidationBusDisabled() {
+        Product product = new Product();
+        product.setName("Cached product");
+        product.setPrice(10.0);
+        product.setCategory("Books");
+        product.setStockQuantity(5);
+        Long id = productRepository.save(product).getId();
+
+        assertThat(productService.getProductById(id)).get().extracting(Product::getStockQuantity).isEqualTo(5);
+        assertThat(productService.getProductsByCategory("Books")).extracting(Product::getStockQuantity).contains(5);
+
+        productService.updateStock(id, 3, "INCREASE");
+
+        assertThat(productService.getProductById(id)).get().extracting(Product::getStockQuantity).isEqualTo(8);
+        assertThat(productService.getProductsByCategory("Books"))
+                .filteredOn(cached -> cached.getId().equals(id))
+                .extracting(Product::getStockQuantity).containsExactly(8);
+    }
+}
@@ -0,0 +1,96 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.cache.BulkCacheOperations;
+import com.arrayindex.productmanagementapi.dto.ProductBatchResponse;
+import com.arrayindex.productmanagementapi.dto.ProductResponse;
+import com.arrayindex.productmanagementapi.model.Product;
+import com.arrayindex.productmanagementapi.repository.PriceHistoryRepository;
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceMultiGetTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PriceHistoryRepository priceHistoryRepository;
+
+    @Mock
+    private KafkaProducerService kafkaProducerService;
+
+    @Mock
+    private SkuBloomFilter skuBloomFilter;
+
+    @Mock
+    private BulkCacheOperations bulkCacheOperations;
+
+    @InjectMocks
+    private ProductService productService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(productService, "multiGetMaxIds", 10);
+        ReflectionTestUtils.setField(productService, "multiGetChunkSize", 2);
+    }
+
+    @Test
+    void getProductsByIds_ShouldMergeCacheHitsAndChunkedQueryInRequestOrder() {
+        when(bulkCacheOperations.getAll("productById", List.of(4L, 1L, 3L, 2L, 9L), Product.class))
+                .thenReturn(Map.of(1L, product(1L)));
+        when(productRepository.findAllById(List.of(4L, 3L))).thenReturn(List.of(product(3L), product(4L)));
+        when(productRepository.findAllById(List.of(2L, 9L))).thenReturn(List.of(product(2L)));
+
+        ProductBatchResponse response = productService.getProductsByIds(List.of(4L, 1L, 3L, 1L, 2L, 9L));
+
+        assertThat(response.getProducts()).extracting(ProductResponse::getId).containsExactly(4L, 1L, 3L, 2L);
+        assertThat(response.getMissingIds()).containsExactly(9L);
+        verify(productRepository, times(2)).findAllById(anyList());
+        verify(bulkCacheOperations).putAll(eq("productById"), eq(Map.of(2L, product(2L), 3L, product(3L), 4L, product(4L))));
+    }
+
+    @Test
+    void getProductsByIds_WhenAllCached_ShouldNotQueryRepository() {
+        when(bulkCacheOperations.getAll("productById", List.of(1L, 2L), Product.class))
+                .thenReturn(Map.of(1L, product(1L), 2L, product(2L)));
+
+        ProductBatchResponse response = productService.getProductsByIds(List.of(1L, 2L));
+
+        assertThat(response.getProducts()).hasSize(2);
+        assertThat(response.getMissingIds()).isEmpty();
+        verify(productRepository, never()).findAllById(anyList());
+    }
+
+    @Test
+    void getProductsByIds_WhenTooManyIds_ShouldThrowException() {
+        List<Long> ids = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L);
+
+        assertThatThrownBy(() -> productService.getProductsByIds(ids))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cannot fetch more than 10 products at once");
+    }
+
+    private Product product(Long id) {
+        Product product = new Product();
+        product.setId(id);
+        product.setName("Product " + id);
+        product.setPrice(10.0);
+        return product;
+    }
+}
@@ -0,0 +1,68 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.config.AsyncConfig;
+import com.arrayindex.productmanagementapi.config.WorkloadContext;
+import com.arrayindex.productmanagementapi.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SearchBulkheadTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ThreadPoolTaskExecutor executor;
+    private SearchBulkhead bulkhead;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        executor = new AsyncConfig().searchExecutor(1, 1);
+        bulkhead = new SearchBulkhead(executor, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    void supply_ShouldRejectOnceThreadsAndQueueAreFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> running = bulkhead.supply(() -> await(release, "first"));
+        CompletableFuture<String> queued = bulkhead.supply(() -> "second");
+
+        assertThatThrownBy(() -> bulkhead.supply(() -> "third"))
+                .isInstanceOf(BulkheadFullException.class);
+        assertThat(meterRegistry.counter("bulkhead.rejected", "bulkhead", "search").count()).isEqualTo(1.0);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    @Test
+    void supply_ShouldRunOnSearchThreadsMarkedAsSearchWork() throws Exception {
+        String thread = bulkhead.supply(() -> Thread.currentThread().getName()
+                + ":" + WorkloadContext.isSearch()).get(5, TimeUnit.SECONDS);
+
+        assertThat(thread).startsWith("ProductSearch-").endsWith(":true");
+    }
+
+    private static String await(CountDownLatch latch, String value) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
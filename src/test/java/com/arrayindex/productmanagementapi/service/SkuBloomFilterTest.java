@@ -0,0 +1,69 @@
+package com.arrayindex.productmanagementapi.service;
+
+import com.arrayindex.productmanagementapi.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SkuBloomFilterTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private SkuBloomFilter skuBloomFilter;
+
+    @BeforeEach
+    void setUp() {
+        skuBloomFilter = new SkuBloomFilter(productRepository, 10_000, 0.01);
+    }
+
+    @Test
+    void mightContain_BeforeLoad_ShouldReportEverySkuAsPossibleMatch() {
+        assertThat(skuBloomFilter.isReady()).isFalse();
+        assertThat(skuBloomFilter.mightContain("SKU-UNKNOWN")).isTrue();
+    }
+
+    @Test
+    void loadExistingSkus_ShouldContainAllStoredSkus() {
+        when(productRepository.streamAllSkus()).thenReturn(Stream.of("SKU-AAAAAA", "SKU-BBBBBB"));
+
+        skuBloomFilter.loadExistingSkus();
+
+        assertThat(skuBloomFilter.isReady()).isTrue();
+        assertThat(skuBloomFilter.mightContain("SKU-AAAAAA")).isTrue();
+        assertThat(skuBloomFilter.mightContain("SKU-BBBBBB")).isTrue();
+        assertThat(skuBloomFilter.getInsertions()).isEqualTo(2);
+    }
+
+    @Test
+    void add_AfterLoad_ShouldBeVisibleImmediately() {
+        when(productRepository.streamAllSkus()).thenReturn(Stream.empty());
+        skuBloomFilter.loadExistingSkus();
+
+        assertThat(skuBloomFilter.mightContain("SKU-NEW001")).isFalse();
+        skuBloomFilter.add("SKU-NEW001");
+        assertThat(skuBloomFilter.mightContain("SKU-NEW001")).isTrue();
+    }
+
+    @Test
+    void mightContain_ShouldKeepFalsePositiveRateNearConfiguredValue() {
+        when(productRepository.streamAllSkus())
+                .thenReturn(IntStream.range(0, 10_000).mapToObj(i -> "SKU-STORED" + i));
+        skuBloomFilter.loadExistingSkus();
+
+        long falsePositives = IntStream.range(0, 10_000)
+                .filter(i -> skuBloomFilter.mightContain("SKU-MISSING" + i))
+                .count();
+
+        assertThat(falsePositives).isLessThan(300);
+    }
+}
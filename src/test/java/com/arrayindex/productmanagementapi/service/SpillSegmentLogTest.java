@@ -0,0 +1,100 @@
+package com.arrayindex.productmanagementapi.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpillSegmentLogTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void records_ShouldBeConsumedInAppendOrderAcrossSegments() throws IOException {
+        SpillSegmentLog log = new SpillSegmentLog(tempDir, 64, false);
+        for (int i = 0; i < 10; i++) {
+            log.append(bytes("event-" + i));
+        }
+        assertThat(log.getPending()).isEqualTo(10);
+        assertThat(segmentFiles()).hasSizeGreaterThan(1);
+
+        assertThat(drain(log)).containsExactly("event-0", "event-1", "event-2", "event-3", "event-4",
+                "event-5", "event-6", "event-7", "event-8", "event-9");
+        assertThat(log.isEmpty()).isTrue();
+        assertThat(log.peek()).isNull();
+        // Fully consumed segments are deleted, only the one being written remains
+        assertThat(segmentFiles()).hasSize(1);
+    }
+
+    @Test
+    void reopen_ShouldResumeAfterLastAcknowledgedRecord() throws IOException {
+        SpillSegmentLog log = new SpillSegmentLog(tempDir, 64, false);
+        for (int i = 0; i < 5; i++) {
+            log.append(bytes("event-" + i));
+        }
+        log.peek();
+        log.acknowledge();
+        log.peek();
+        log.acknowledge();
+        // Peeked but not acknowledged: must be delivered again
+        log.peek();
+        log.close();
+
+        SpillSegmentLog reopened = new SpillSegmentLog(tempDir, 64, false);
+        assertThat(reopened.getPending()).isEqualTo(3);
+        reopened.append(bytes("event-5"));
+        assertThat(drain(reopened)).containsExactly("event-2", "event-3", "event-4", "event-5");
+    }
+
+    @Test
+    void reopen_ShouldDiscardTornTailRecord() throws IOException {
+        SpillSegmentLog log = new SpillSegmentLog(tempDir, 1024, false);
+        log.append(bytes("complete"));
+        log.append(bytes("torn"));
+        log.close();
+
+        // Corrupt the payload of the second record as if the page had not reached the disk
+        Path segment = segmentFiles().get(0);
+        int secondPayload = 8 + "complete".length() + 8;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes("XXXX")), secondPayload);
+        }
+
+        SpillSegmentLog reopened = new SpillSegmentLog(tempDir, 1024, false);
+        assertThat(reopened.getPending()).isEqualTo(1);
+        reopened.append(bytes("after"));
+        assertThat(drain(reopened)).containsExactly("complete", "after");
+    }
+
+    private List<String> drain(SpillSegmentLog log) throws IOException {
+        List<String> records = new ArrayList<>();
+        byte[] payload;
+        while ((payload = log.peek()) != null) {
+            records.add(new String(payload, StandardCharsets.UTF_8));
+            log.acknowledge();
+        }
+        return records;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.filter(file -> file.toString().endsWith(".seg")).sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}